@@ -23,6 +23,8 @@ import java.util.Map;
 import org.apache.servicecomb.foundation.protobuf.RootDeserializer;
 import org.apache.servicecomb.foundation.protobuf.internal.bean.PropertyWrapper;
 
+import io.netty.buffer.ByteBuf;
+
 public class RequestRootDeserializer<T> {
   private boolean wrapArgument;
 
@@ -36,11 +38,18 @@ public class RequestRootDeserializer<T> {
     this.parameterName = parameterName;
   }
 
-  @SuppressWarnings("unchecked")
   public Map<String, Object> deserialize(byte[] bytes) throws IOException {
+    return toArguments(rootDeserializer.deserialize(bytes));
+  }
+
+  public Map<String, Object> deserialize(ByteBuf byteBuf) throws IOException {
+    return toArguments(rootDeserializer.deserialize(byteBuf));
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> toArguments(Object obj) {
     if (!wrapArgument) {
       Map<String, Object> result = new HashMap<>(1);
-      Object obj = rootDeserializer.deserialize(bytes);
       if (obj instanceof PropertyWrapper) {
         obj = ((PropertyWrapper) obj).getValue();
       }
@@ -50,7 +59,7 @@ public class RequestRootDeserializer<T> {
       result.put(parameterName, obj);
       return result;
     } else {
-      return (Map<String, Object>) rootDeserializer.deserialize(bytes);
+      return (Map<String, Object>) obj;
     }
   }
 }
@@ -17,6 +17,7 @@
 package org.apache.servicecomb.codec.protobuf.definition;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Map;
 
 import org.apache.servicecomb.foundation.protobuf.RootSerializer;
@@ -36,16 +37,23 @@ public class RequestRootSerializer {
     this.isWrap = isWrapp;
   }
 
-  @SuppressWarnings("unchecked")
   public byte[] serialize(Object value) throws IOException {
+    return this.rootSerializer.serialize(toSerializeValue(value));
+  }
+
+  public void serialize(OutputStream outputStream, Object value) throws IOException {
+    this.rootSerializer.serialize(outputStream, toSerializeValue(value));
+  }
+
+  @SuppressWarnings("unchecked")
+  private Object toSerializeValue(Object value) {
     if (noTypesInfo && !isWrap) {
       Object param = ((Map<String, Object>) value).values().iterator().next();
       if (param instanceof JsonObject) {
         param = ((JsonObject) param).getMap();
       }
-      return this.rootSerializer.serialize(param);
-    } else {
-      return this.rootSerializer.serialize(value);
+      return param;
     }
+    return value;
   }
 }
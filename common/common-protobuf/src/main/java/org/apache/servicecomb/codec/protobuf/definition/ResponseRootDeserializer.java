@@ -25,6 +25,8 @@ import org.apache.servicecomb.foundation.protobuf.internal.bean.PropertyWrapper;
 
 import com.fasterxml.jackson.databind.JavaType;
 
+import io.netty.buffer.ByteBuf;
+
 public class ResponseRootDeserializer<T> {
   private RootDeserializer<T> rootDeserializer;
 
@@ -35,14 +37,21 @@ public class ResponseRootDeserializer<T> {
     this.empty = empty;
   }
 
-  @SuppressWarnings("unchecked")
   public T deserialize(byte[] bytes, JavaType invocationTimeType) throws IOException {
+    return convert(rootDeserializer.deserialize(bytes), invocationTimeType);
+  }
+
+  public T deserialize(ByteBuf byteBuf, JavaType invocationTimeType) throws IOException {
+    return convert(rootDeserializer.deserialize(byteBuf), invocationTimeType);
+  }
+
+  @SuppressWarnings("unchecked")
+  private T convert(Object obj, JavaType invocationTimeType) {
+    // always read buffers even empty, to make sure the whole body is consumed
     if (empty) {
-      rootDeserializer.deserialize(bytes); // read buffers if possible.
       return null;
     }
 
-    Object obj = rootDeserializer.deserialize(bytes);
     if (obj instanceof PropertyWrapper) {
       obj = ((PropertyWrapper) obj).getValue();
     }
@@ -17,6 +17,7 @@
 package org.apache.servicecomb.codec.protobuf.definition;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -36,13 +37,21 @@ public class ResponseRootSerializer {
   }
 
   public byte[] serialize(Object value) throws IOException {
+    return this.rootSerializer.serialize(toSerializeValue(value));
+  }
+
+  public void serialize(OutputStream outputStream, Object value) throws IOException {
+    this.rootSerializer.serialize(outputStream, toSerializeValue(value));
+  }
+
+  private Object toSerializeValue(Object value) {
     if (noTypesInfo && !isWrap) {
-      return this.rootSerializer.serialize(value);
-    } else {
-      Map<String, Object> responseValue = new HashMap<>(1);
-      // key is fixed to "value" in IDL
-      responseValue.put("value", value);
-      return this.rootSerializer.serialize(responseValue);
+      return value;
     }
+
+    Map<String, Object> responseValue = new HashMap<>(1);
+    // key is fixed to "value" in IDL
+    responseValue.put("value", value);
+    return responseValue;
   }
 }
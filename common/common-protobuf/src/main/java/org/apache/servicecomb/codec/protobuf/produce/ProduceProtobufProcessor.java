@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.codec.protobuf.produce;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.servicecomb.codec.protobuf.definition.OperationProtobuf;
+import org.apache.servicecomb.codec.protobuf.definition.ProtobufManager;
+import org.apache.servicecomb.common.rest.codec.produce.ProduceProcessor;
+import org.apache.servicecomb.core.Invocation;
+
+import com.fasterxml.jackson.databind.JavaType;
+
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * rest body in the same protobuf format with highway, messages are derived from the swagger of the operation,
+ * so can only encode and decode with invocation, without invocation a checked {@link IOException} is thrown
+ * and the caller converts it to a failed response like any other codec failure.
+ */
+public class ProduceProtobufProcessor implements ProduceProcessor {
+  public static final String APPLICATION_PROTOBUF = "application/x-protobuf";
+
+  @Override
+  public String getName() {
+    return APPLICATION_PROTOBUF;
+  }
+
+  @Override
+  public String getContentType() {
+    return APPLICATION_PROTOBUF;
+  }
+
+  @Override
+  public void encodeResponse(Invocation invocation, int statusCode, OutputStream output, Object result)
+      throws Exception {
+    if (result == null) {
+      return;
+    }
+
+    if (invocation == null) {
+      throw createInvocationRequiredException("encode");
+    }
+
+    OperationProtobuf operationProtobuf = ProtobufManager.getOrCreateOperation(invocation);
+    operationProtobuf.findResponseRootSerializer(statusCode).serialize(output, result);
+  }
+
+  @Override
+  public Object decodeResponse(Invocation invocation, int statusCode, Buffer buffer, JavaType type)
+      throws Exception {
+    if (buffer.length() == 0) {
+      return null;
+    }
+
+    if (invocation == null) {
+      throw createInvocationRequiredException("decode");
+    }
+
+    OperationProtobuf operationProtobuf = ProtobufManager.getOrCreateOperation(invocation);
+    return operationProtobuf.findResponseRootDeserializer(statusCode).deserialize(buffer.getByteBuf(), type);
+  }
+
+  @Override
+  public void doEncodeResponse(OutputStream output, Object result) throws IOException {
+    throw createInvocationRequiredException("encode");
+  }
+
+  @Override
+  public Object doDecodeResponse(InputStream input, JavaType type) throws IOException {
+    throw createInvocationRequiredException("decode");
+  }
+
+  private IOException createInvocationRequiredException(String action) {
+    return new IOException(String.format(
+        "can not %s %s body without invocation, message schema is derived from the operation.",
+        action, APPLICATION_PROTOBUF));
+  }
+
+  @Override
+  public int getOrder() {
+    return 0;
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.codec.protobuf.produce;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import org.apache.servicecomb.codec.protobuf.definition.ProtobufManager;
+import org.apache.servicecomb.codec.protobuf.internal.converter.model.ProtoSchema;
+import org.apache.servicecomb.core.Invocation;
+import org.apache.servicecomb.core.definition.InvocationRuntimeType;
+import org.apache.servicecomb.core.definition.MicroserviceMeta;
+import org.apache.servicecomb.core.definition.OperationMeta;
+import org.apache.servicecomb.core.definition.SchemaMeta;
+import org.apache.servicecomb.foundation.test.scaffolding.model.User;
+import org.apache.servicecomb.foundation.vertx.stream.BufferOutputStream;
+import org.apache.servicecomb.swagger.engine.SwaggerEnvironment;
+import org.apache.servicecomb.swagger.engine.SwaggerProducer;
+import org.apache.servicecomb.swagger.engine.SwaggerProducerOperation;
+import org.apache.servicecomb.swagger.generator.springmvc.SpringmvcSwaggerGenerator;
+import org.apache.servicecomb.swagger.invocation.InvocationType;
+import org.apache.servicecomb.swagger.invocation.exception.CommonExceptionData;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import io.swagger.models.Swagger;
+import io.vertx.core.buffer.Buffer;
+import mockit.Expectations;
+import mockit.Injectable;
+
+public class TestProduceProtobufProcessor {
+  @Injectable
+  private MicroserviceMeta providerMicroserviceMeta;
+
+  @Injectable
+  private MicroserviceMeta consumerMicroserviceMeta;
+
+  private SchemaMeta providerSchemaMeta;
+
+  private SchemaMeta consumerSchemaMeta;
+
+  private final ProduceProtobufProcessor processor = new ProduceProtobufProcessor();
+
+  private final JavaType userType = TypeFactory.defaultInstance().constructType(User.class);
+
+  @Before
+  public void setUp() {
+    ProtobufManager.clear();
+
+    new Expectations() {
+      {
+        providerMicroserviceMeta.getMicroserviceName();
+        result = "test";
+        providerMicroserviceMeta.getExtData(ProtobufManager.EXT_ID);
+        result = null;
+        minTimes = 0;
+        consumerMicroserviceMeta.getMicroserviceName();
+        result = "test";
+        consumerMicroserviceMeta.getExtData(ProtobufManager.EXT_ID);
+        result = null;
+        minTimes = 0;
+      }
+    };
+    Swagger swagger = new SpringmvcSwaggerGenerator(ProtoSchema.class).generate();
+    providerSchemaMeta = new SchemaMeta(providerMicroserviceMeta, "ProtoSchema", swagger);
+    SwaggerProducer swaggerProducer = new SwaggerEnvironment().createProducer(new ProtoSchema(), swagger);
+    for (SwaggerProducerOperation producerOperation : swaggerProducer.getAllOperations()) {
+      providerSchemaMeta.ensureFindOperation(producerOperation.getOperationId())
+          .setSwaggerProducerOperation(producerOperation);
+    }
+    consumerSchemaMeta = new SchemaMeta(consumerMicroserviceMeta, "ProtoSchema", swagger);
+  }
+
+  private Invocation mockInvocation(SchemaMeta schemaMeta, InvocationType invocationType) {
+    OperationMeta operationMeta = schemaMeta.getOperations().get("user");
+    InvocationRuntimeType invocationRuntimeType = InvocationType.CONSUMER == invocationType ?
+        operationMeta.buildBaseConsumerRuntimeType() : operationMeta.buildBaseProviderRuntimeType();
+
+    Invocation invocation = Mockito.mock(Invocation.class);
+    Mockito.when(invocation.getSchemaMeta()).thenReturn(schemaMeta);
+    Mockito.when(invocation.getOperationMeta()).thenReturn(operationMeta);
+    Mockito.when(invocation.getInvocationRuntimeType()).thenReturn(invocationRuntimeType);
+    Mockito.when(invocation.findResponseType(200)).thenReturn(invocationRuntimeType.findResponseType(200));
+    Mockito.when(invocation.getInvocationType()).thenReturn(invocationType);
+    Mockito.when(invocation.getMicroserviceMeta()).thenReturn(operationMeta.getMicroserviceMeta());
+    Mockito.when(invocation.isConsumer()).thenReturn(InvocationType.CONSUMER == invocationType);
+    return invocation;
+  }
+
+  @Test
+  public void contentTypeWithoutCharset() {
+    Assert.assertEquals(ProduceProtobufProcessor.APPLICATION_PROTOBUF, processor.getContentType());
+  }
+
+  @Test
+  public void encodeDecodeRoundTrip() throws Exception {
+    Invocation providerInvocation = mockInvocation(providerSchemaMeta, InvocationType.PRODUCER);
+    Invocation consumerInvocation = mockInvocation(consumerSchemaMeta, InvocationType.CONSUMER);
+
+    User user = new User();
+    user.name = "user";
+    User friend = new User();
+    friend.name = "friend";
+    user.friends = new ArrayList<>();
+    user.friends.add(friend);
+
+    Buffer buffer;
+    try (BufferOutputStream output = new BufferOutputStream()) {
+      processor.encodeResponse(providerInvocation, 200, output, user);
+      buffer = output.getBuffer();
+    }
+
+    User decodedUser = (User) processor.decodeResponse(consumerInvocation, 200, buffer, userType);
+    Assert.assertEquals("user", decodedUser.name);
+    Assert.assertEquals(1, decodedUser.friends.size());
+    Assert.assertEquals("friend", decodedUser.friends.get(0).name);
+  }
+
+  @Test
+  public void encodeDecodeErrorResponse() throws Exception {
+    Invocation providerInvocation = mockInvocation(providerSchemaMeta, InvocationType.PRODUCER);
+    Invocation consumerInvocation = mockInvocation(consumerSchemaMeta, InvocationType.CONSUMER);
+
+    Buffer buffer;
+    try (BufferOutputStream output = new BufferOutputStream()) {
+      processor.encodeResponse(providerInvocation, 490, output, new CommonExceptionData("failed"));
+      buffer = output.getBuffer();
+    }
+
+    JavaType errorType = TypeFactory.defaultInstance().constructType(CommonExceptionData.class);
+    CommonExceptionData data = (CommonExceptionData) processor.decodeResponse(consumerInvocation, 490, buffer,
+        errorType);
+    Assert.assertEquals("failed", data.getMessage());
+  }
+
+  @Test
+  public void encodeDecodeNull() throws Exception {
+    Invocation providerInvocation = mockInvocation(providerSchemaMeta, InvocationType.PRODUCER);
+
+    try (BufferOutputStream output = new BufferOutputStream()) {
+      processor.encodeResponse(providerInvocation, 200, output, null);
+      Assert.assertEquals(0, output.getBuffer().length());
+    }
+
+    Assert.assertNull(processor.decodeResponse(null, 200, Buffer.buffer(), userType));
+  }
+
+  @Test
+  public void encodeWithoutInvocation() throws Exception {
+    try (BufferOutputStream output = new BufferOutputStream()) {
+      processor.encodeResponse(null, 200, output, new User());
+      Assert.fail("must throw exception");
+    } catch (IOException e) {
+      Assert.assertEquals(
+          "can not encode application/x-protobuf body without invocation, message schema is derived from the operation.",
+          e.getMessage());
+    }
+  }
+
+  @Test
+  public void decodeWithoutInvocation() throws Exception {
+    try {
+      processor.decodeResponse(Buffer.buffer("body"), userType);
+      Assert.fail("must throw exception");
+    } catch (IOException e) {
+      Assert.assertEquals(
+          "can not decode application/x-protobuf body without invocation, message schema is derived from the operation.",
+          e.getMessage());
+    }
+  }
+}
@@ -40,6 +40,7 @@ import org.apache.servicecomb.core.Handler;
 import org.apache.servicecomb.core.Invocation;
 import org.apache.servicecomb.core.definition.MicroserviceMeta;
 import org.apache.servicecomb.core.definition.OperationMeta;
+import org.apache.servicecomb.core.executor.AdaptiveConcurrencyLimiters;
 import org.apache.servicecomb.foundation.common.Holder;
 import org.apache.servicecomb.foundation.common.utils.JsonUtils;
 import org.apache.servicecomb.foundation.vertx.http.HttpServletRequestEx;
@@ -143,6 +144,13 @@ public abstract class AbstractRestInvocation {
       return;
     }
 
+    try {
+      AdaptiveConcurrencyLimiters.acquire(invocation, operationMeta.getExecutor());
+    } catch (Throwable e) {
+      sendFailResponse(e);
+      return;
+    }
+
     try {
       operationMeta.getExecutor().execute(() -> {
         synchronized (this.requestEx) {
@@ -156,6 +164,8 @@ public abstract class AbstractRestInvocation {
               LOGGER.error("Rest request already timeout, abandon execute, method {}, operation {}.",
                   operationMeta.getHttpMethod(),
                   operationMeta.getMicroserviceQualifiedName());
+              // no response will be sent, so must release here
+              invocation.releaseConcurrencyLimiter();
               return;
             }
 
@@ -25,6 +25,7 @@ import org.apache.servicecomb.foundation.common.utils.SPIServiceUtils;
 
 import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 
 /**
  * Manage RestObjectMapper instances. Give users an option to specify custom mappers.
@@ -36,9 +37,13 @@ public class RestObjectMapperFactory {
 
   private static AbstractRestObjectMapper consumerWriterMapper = defaultMapper;
 
+  // same features and modules with defaultMapper, but read and write CBOR
+  private static AbstractRestObjectMapper cborMapper = new RestObjectMapper(new CBORFactory());
+
   static {
     registerModules(defaultMapper);
     registerModules(viewMapper);
+    registerModules(cborMapper);
   }
 
   private static void registerModules(ObjectMapper mapper) {
@@ -60,6 +65,10 @@ public class RestObjectMapperFactory {
     return viewMapper;
   }
 
+  public static AbstractRestObjectMapper getCborObjectMapper() {
+    return cborMapper;
+  }
+
   public static void setConsumerWriterMapper(AbstractRestObjectMapper customMapper) {
     registerModules(customMapper);
     consumerWriterMapper = customMapper;
@@ -31,6 +31,8 @@ import org.apache.commons.io.IOUtils;
 import org.apache.servicecomb.common.rest.RestConst;
 import org.apache.servicecomb.common.rest.codec.RestClientRequest;
 import org.apache.servicecomb.common.rest.codec.RestObjectMapperFactory;
+import org.apache.servicecomb.common.rest.codec.produce.ProduceCborProcessor;
+import org.apache.servicecomb.foundation.common.utils.AbstractRestObjectMapper;
 import org.apache.servicecomb.foundation.vertx.stream.BufferOutputStream;
 import org.apache.servicecomb.swagger.SwaggerUtils;
 import org.apache.servicecomb.swagger.converter.ConverterMgr;
@@ -119,14 +121,17 @@ public class BodyProcessorCreator implements ParamValueProcessorCreator {
         return null;
       }
 
-      if (!contentType.isEmpty() && !contentType.startsWith(MediaType.APPLICATION_JSON)) {
+      AbstractRestObjectMapper mapper = RestObjectMapperFactory.getRestObjectMapper();
+      if (contentType.startsWith(ProduceCborProcessor.APPLICATION_CBOR)) {
+        mapper = RestObjectMapperFactory.getCborObjectMapper();
+      } else if (!contentType.isEmpty() && !contentType.startsWith(MediaType.APPLICATION_JSON)) {
         // TODO: we should consider body encoding
         return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
       }
       try {
         ObjectReader reader = serialViewClass != null
-            ? RestObjectMapperFactory.getRestObjectMapper().readerWithView(serialViewClass)
-            : RestObjectMapperFactory.getRestObjectMapper().reader();
+            ? mapper.readerWithView(serialViewClass)
+            : mapper.reader();
         if (decodeAsObject) {
           return reader.forType(OBJECT_TYPE).readValue(inputStream);
         }
@@ -167,8 +172,11 @@ public class BodyProcessorCreator implements ParamValueProcessorCreator {
         return new BufferImpl().appendBytes(((String) arg).getBytes());
       }
 
+      AbstractRestObjectMapper mapper = ProduceCborProcessor.APPLICATION_CBOR.equals(contentType)
+          ? RestObjectMapperFactory.getCborObjectMapper()
+          : RestObjectMapperFactory.getConsumerWriterMapper();
       try (BufferOutputStream output = new BufferOutputStream()) {
-        RestObjectMapperFactory.getConsumerWriterMapper().writeValue(output, arg);
+        mapper.writeValue(output, arg);
         return output.getBuffer();
       }
     }
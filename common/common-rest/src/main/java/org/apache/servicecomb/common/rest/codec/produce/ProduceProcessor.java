@@ -20,6 +20,7 @@ package org.apache.servicecomb.common.rest.codec.produce;
 import java.io.InputStream;
 import java.io.OutputStream;
 
+import org.apache.servicecomb.core.Invocation;
 import org.apache.servicecomb.foundation.vertx.stream.BufferInputStream;
 import org.apache.servicecomb.foundation.vertx.stream.BufferOutputStream;
 
@@ -32,6 +33,13 @@ public interface ProduceProcessor {
 
   int getOrder();
 
+  /**
+   * value of Content-Type header, text formats declare the charset, binary formats must not
+   */
+  default String getContentType() {
+    return getName() + "; charset=utf-8";
+  }
+
   default String getSerializationView() {
     return ProduceProcessorManager.DEFAULT_SERIAL_CLASS;
   }
@@ -50,6 +58,15 @@ public interface ProduceProcessor {
 
   void doEncodeResponse(OutputStream output, Object result) throws Exception;
 
+  /**
+   * for formats that depend on the operation schema, eg: protobuf
+   * @param invocation maybe null if failed before invocation created
+   */
+  default void encodeResponse(Invocation invocation, int statusCode, OutputStream output, Object result)
+      throws Exception {
+    encodeResponse(output, result);
+  }
+
   default Buffer encodeResponse(Object result) throws Exception {
     if (null == result) {
       return null;
@@ -67,6 +84,14 @@ public interface ProduceProcessor {
 
   Object doDecodeResponse(InputStream input, JavaType type) throws Exception;
 
+  /**
+   * for formats that depend on the operation schema, eg: protobuf
+   */
+  default Object decodeResponse(Invocation invocation, int statusCode, Buffer buffer, JavaType type)
+      throws Exception {
+    return decodeResponse(buffer, type);
+  }
+
   default Object decodeResponse(Buffer buffer, JavaType type) throws Exception {
     if (buffer.length() == 0) {
       return null;
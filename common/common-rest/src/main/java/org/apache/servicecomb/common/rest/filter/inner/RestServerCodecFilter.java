@@ -89,12 +89,17 @@ public class RestServerCodecFilter implements ProducerFilter {
     HttpServletResponseEx responseEx = transportContext.getResponseEx();
     boolean download = isDownloadFileResponseType(invocation, response);
 
-    return encodeResponse(response, download, produceProcessor, responseEx);
+    return encodeResponse(invocation, response, download, produceProcessor, responseEx);
   }
 
-  @SuppressWarnings("deprecation")
   public static CompletableFuture<Response> encodeResponse(Response response, boolean download,
       ProduceProcessor produceProcessor, HttpServletResponseEx responseEx) {
+    return encodeResponse(null, response, download, produceProcessor, responseEx);
+  }
+
+  @SuppressWarnings("deprecation")
+  public static CompletableFuture<Response> encodeResponse(Invocation invocation, Response response,
+      boolean download, ProduceProcessor produceProcessor, HttpServletResponseEx responseEx) {
     responseEx.setStatus(response.getStatusCode(), response.getReasonPhrase());
     copyHeadersToHttpResponse(response.getHeaders(), responseEx);
 
@@ -102,9 +107,9 @@ public class RestServerCodecFilter implements ProducerFilter {
       return CompletableFuture.completedFuture(response);
     }
 
-    responseEx.setContentType(produceProcessor.getName() + "; charset=utf-8");
+    responseEx.setContentType(produceProcessor.getContentType());
     try (BufferOutputStream output = new BufferOutputStream(Unpooled.compositeBuffer())) {
-      produceProcessor.encodeResponse(output, response.getResult());
+      produceProcessor.encodeResponse(invocation, response.getStatusCode(), output, response.getResult());
 
       responseEx.setBodyBuffer(output.getBuffer());
 
@@ -78,11 +78,11 @@ public class ServerRestArgsFilter implements HttpServerFilter {
       return responseEx.sendPart(PartUtils.getSinglePart(null, body));
     }
 
-    responseEx.setContentType(produceProcessor.getName() + "; charset=utf-8");
+    responseEx.setContentType(produceProcessor.getContentType());
 
     CompletableFuture<Void> future = new CompletableFuture<>();
     try (BufferOutputStream output = new BufferOutputStream(Unpooled.compositeBuffer())) {
-      produceProcessor.encodeResponse(output, body);
+      produceProcessor.encodeResponse(invocation, response.getStatusCode(), output, body);
 
       responseEx.setBodyBuffer(output.getBuffer());
       future.complete(null);
@@ -42,9 +42,16 @@ public class MicroservicePaths {
   // 运行阶段,以path优先级,从高到低排列的operation列表
   protected List<RestOperationMeta> dynamicPathOperationsList = new ArrayList<>();
 
+  // 静态path去掉最后的/作为key,请求path不以/结尾时,不必拼接/再查找
+  protected Map<String, OperationGroup> staticPathOperationsWithoutSlash = new HashMap<>();
+
+  // 根据dynamicPathOperationsList创建,增加operation或者重新排序后需要重建
+  private volatile OperationPathTrie dynamicPathTrie;
+
   public void sortPath() {
     RestOperationComparator comparator = new RestOperationComparator();
     Collections.sort(this.dynamicPathOperationsList, comparator);
+    dynamicPathTrie = null;
   }
 
   public void addResource(RestOperationMeta swaggerRestOperation) {
@@ -55,6 +62,7 @@ public class MicroservicePaths {
     }
 
     dynamicPathOperationsList.add(swaggerRestOperation);
+    dynamicPathTrie = null;
   }
 
   protected void addStaticPathResource(RestOperationMeta operation) {
@@ -65,6 +73,7 @@ public class MicroservicePaths {
       group = new OperationGroup();
       group.register(httpMethod, operation);
       staticPathOperations.put(path, group);
+      staticPathOperationsWithoutSlash.put(removeLastSlash(path), group);
       return;
     }
 
@@ -77,10 +86,37 @@ public class MicroservicePaths {
         String.format("operation with url %s, method %s is duplicated.", path, httpMethod));
   }
 
+  private static String removeLastSlash(String path) {
+    if (path.length() > 1 && path.endsWith("/")) {
+      return path.substring(0, path.length() - 1);
+    }
+    return path;
+  }
+
   public Map<String, OperationGroup> getStaticPathOperationMap() {
     return staticPathOperations;
   }
 
+  /**
+   * @param path request path, with or without the last slash
+   */
+  public OperationGroup findStaticPathOperations(String path) {
+    OperationGroup group = staticPathOperations.get(path);
+    if (group != null) {
+      return group;
+    }
+    return staticPathOperationsWithoutSlash.get(path);
+  }
+
+  public OperationPathTrie getDynamicPathTrie() {
+    OperationPathTrie trie = dynamicPathTrie;
+    if (trie == null) {
+      trie = new OperationPathTrie(dynamicPathOperationsList);
+      dynamicPathTrie = trie;
+    }
+    return trie;
+  }
+
   public List<RestOperationMeta> getDynamicPathOperationList() {
     return dynamicPathOperationsList;
   }
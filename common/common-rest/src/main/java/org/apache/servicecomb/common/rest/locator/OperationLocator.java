@@ -51,16 +51,17 @@ public class OperationLocator {
   }
 
   // 先在静态路径operation list中查找；如果找不到，则在动态路径operation list中查找
+  // path可以不以/结尾，不必再拼接成标准path
   public void locate(String microserviceName, String path, String httpMethod, MicroservicePaths microservicePaths) {
     // 在静态路径中查找
-    operation = locateStaticPathOperation(path, httpMethod, microservicePaths.getStaticPathOperationMap());
+    operation = locateStaticPathOperation(path, httpMethod, microservicePaths);
     if (operation != null) {
       // 全部定位完成
       return;
     }
 
     // 在动态路径中查找
-    operation = locateDynamicPathOperation(path, microservicePaths.getDynamicPathOperationList(), httpMethod);
+    operation = microservicePaths.getDynamicPathTrie().locate(path, httpMethod, this);
     if (operation != null) {
       return;
     }
@@ -77,9 +78,17 @@ public class OperationLocator {
     throw new InvocationException(status, status.getReasonPhrase());
   }
 
+  protected RestOperationMeta locateStaticPathOperation(String path, String httpMethod,
+      MicroservicePaths microservicePaths) {
+    return findOperation(microservicePaths.findStaticPathOperations(path), httpMethod);
+  }
+
   protected RestOperationMeta locateStaticPathOperation(String path, String httpMethod,
       Map<String, OperationGroup> staticPathOperations) {
-    OperationGroup group = staticPathOperations.get(path);
+    return findOperation(staticPathOperations.get(path), httpMethod);
+  }
+
+  private RestOperationMeta findOperation(OperationGroup group, String httpMethod) {
     if (group == null) {
       return null;
     }
@@ -107,7 +116,6 @@ public class OperationLocator {
     return operation.getHttpMethod().equals(httpMethod);
   }
 
-  // TODO: almost always change path, this make performance lower.
   // Path: /a/b/c -> /a/b/c/
   static String getStandardPath(String path) {
     if (path.length() > 0 && !path.endsWith(SLASH)) {
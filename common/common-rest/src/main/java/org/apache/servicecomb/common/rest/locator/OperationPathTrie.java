@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.common.rest.locator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.servicecomb.common.rest.definition.RestOperationMeta;
+
+/**
+ * 按path分段建立的前缀树，用于定位动态路径的operation，不必逐个执行正则表达式
+ * <pre>
+ * 1.每一段要么是静态字符，要么是不带正则表达式的完整变量，如/customers/{id}/address
+ * 2.其他path，如/customers/{id : .+}、/customers/a{id}，仍然使用正则表达式匹配
+ * 3.同时匹配多个operation时，按{@link org.apache.servicecomb.common.rest.definition.RestOperationComparator}
+ *   排序后的优先级选择，与逐个匹配的结果相同
+ * </pre>
+ */
+public class OperationPathTrie {
+  private static final char SLASH = '/';
+
+  private static final String DEFAULT_REG_EXP = "[^/]+?";
+
+  static class Node {
+    Map<String, Node> staticChildren;
+
+    Node variableChild;
+
+    List<Route> routes;
+  }
+
+  static class Route {
+    final RestOperationMeta operation;
+
+    // index in sorted operation list, smaller is higher
+    final int priority;
+
+    // segment index of each variable, null for regular expression routes
+    final int[] variableSegments;
+
+    final String[] variableNames;
+
+    Route(RestOperationMeta operation, int priority, int[] variableSegments, String[] variableNames) {
+      this.operation = operation;
+      this.priority = priority;
+      this.variableSegments = variableSegments;
+      this.variableNames = variableNames;
+    }
+  }
+
+  private final Node root = new Node();
+
+  private final List<Route> regExpRoutes = new ArrayList<>();
+
+  /**
+   * @param operations dynamic path operations sorted by priority
+   */
+  public OperationPathTrie(List<RestOperationMeta> operations) {
+    for (int idx = 0; idx < operations.size(); idx++) {
+      addOperation(operations.get(idx), idx);
+    }
+  }
+
+  private void addOperation(RestOperationMeta operation, int priority) {
+    List<String> segments = splitTemplate(operation.getAbsolutePath());
+    if (segments == null) {
+      regExpRoutes.add(new Route(operation, priority, null, null));
+      return;
+    }
+
+    List<Integer> variableSegments = new ArrayList<>();
+    List<String> variableNames = new ArrayList<>();
+    Node node = root;
+    for (int idx = 0; idx < segments.size(); idx++) {
+      String segment = segments.get(idx);
+      String variableName = parseVariableName(segment);
+      if (variableName != null) {
+        variableSegments.add(idx);
+        variableNames.add(variableName);
+        if (node.variableChild == null) {
+          node.variableChild = new Node();
+        }
+        node = node.variableChild;
+        continue;
+      }
+
+      if (node.staticChildren == null) {
+        node.staticChildren = new HashMap<>();
+      }
+      node = node.staticChildren.computeIfAbsent(segment, key -> new Node());
+    }
+
+    if (node.routes == null) {
+      node.routes = new ArrayList<>();
+    }
+    node.routes.add(new Route(operation, priority,
+        variableSegments.stream().mapToInt(Integer::intValue).toArray(),
+        variableNames.toArray(new String[0])));
+  }
+
+  // /a/{id}/b/ -> [a, {id}, b], return null if any segment can not be matched by the trie
+  private static List<String> splitTemplate(String path) {
+    if (path == null || path.isEmpty() || path.charAt(0) != SLASH) {
+      return null;
+    }
+
+    int end = path.charAt(path.length() - 1) == SLASH ? path.length() - 1 : path.length();
+    List<String> segments = new ArrayList<>();
+    int start = 1;
+    while (start <= end) {
+      int next = path.indexOf(SLASH, start);
+      if (next < 0 || next > end) {
+        next = end;
+      }
+      String segment = path.substring(start, next);
+      if (!isTrieSegment(segment)) {
+        return null;
+      }
+      segments.add(segment);
+      start = next + 1;
+    }
+    return segments;
+  }
+
+  private static boolean isTrieSegment(String segment) {
+    int braceIdx = segment.indexOf('{');
+    if (braceIdx < 0) {
+      return segment.indexOf('}') < 0;
+    }
+    return parseVariableName(segment) != null;
+  }
+
+  // {id} or {id : [^/]+?} -> id, others -> null
+  private static String parseVariableName(String segment) {
+    if (segment.length() < 3 || segment.charAt(0) != '{' || segment.charAt(segment.length() - 1) != '}'
+        || segment.indexOf('{', 1) >= 0 || segment.indexOf('}') != segment.length() - 1) {
+      return null;
+    }
+
+    String content = segment.substring(1, segment.length() - 1);
+    int colonIdx = content.indexOf(':');
+    if (colonIdx < 0) {
+      return content.trim();
+    }
+    if (!content.substring(colonIdx + 1).trim().equals(DEFAULT_REG_EXP)) {
+      return null;
+    }
+    return content.substring(0, colonIdx).trim();
+  }
+
+  /**
+   * @param path request path, with or without the last slash
+   * @return operation matched both path and http method, path variables are saved to locator
+   */
+  RestOperationMeta locate(String path, String httpMethod, OperationLocator locator) {
+    Route best = null;
+    if (!path.isEmpty() && path.charAt(0) == SLASH) {
+      int end = path.charAt(path.length() - 1) == SLASH ? path.length() - 1 : path.length();
+      best = search(root, path, 1, end, httpMethod, locator, null);
+    }
+
+    String standardPath = null;
+    for (Route route : regExpRoutes) {
+      if (best != null && best.priority < route.priority) {
+        break;
+      }
+
+      if (standardPath == null) {
+        standardPath = OperationLocator.getStandardPath(path);
+      }
+      Map<String, String> varValues = new HashMap<>();
+      if ("".equals(route.operation.getAbsolutePathRegExp().match(standardPath, varValues))) {
+        locator.resourceFound = true;
+        if (locator.checkHttpMethod(route.operation, httpMethod)) {
+          locator.pathVarMap.putAll(varValues);
+          return route.operation;
+        }
+      }
+    }
+
+    if (best == null) {
+      return null;
+    }
+    fillPathVariables(best, path, locator.pathVarMap);
+    return best.operation;
+  }
+
+  private Route search(Node node, String path, int start, int end, String httpMethod, OperationLocator locator,
+      Route best) {
+    if (start > end) {
+      // all segments are consumed
+      if (node.routes != null) {
+        for (Route route : node.routes) {
+          locator.resourceFound = true;
+          if ((best == null || route.priority < best.priority) && locator.checkHttpMethod(route.operation,
+              httpMethod)) {
+            best = route;
+          }
+        }
+      }
+      return best;
+    }
+
+    int next = path.indexOf(SLASH, start);
+    if (next < 0 || next > end) {
+      next = end;
+    }
+    if (node.staticChildren != null) {
+      Node child = node.staticChildren.get(path.substring(start, next));
+      if (child != null) {
+        best = search(child, path, next + 1, end, httpMethod, locator, best);
+      }
+    }
+    // variable can not be empty
+    if (node.variableChild != null && next > start) {
+      best = search(node.variableChild, path, next + 1, end, httpMethod, locator, best);
+    }
+    return best;
+  }
+
+  // 与正则表达式匹配相同，同名变量后面的覆盖前面的
+  private static void fillPathVariables(Route route, String path, Map<String, String> pathVarMap) {
+    int end = path.charAt(path.length() - 1) == SLASH ? path.length() - 1 : path.length();
+    int segmentIdx = 0;
+    int variableIdx = 0;
+    int start = 1;
+    while (start <= end && variableIdx < route.variableSegments.length) {
+      int next = path.indexOf(SLASH, start);
+      if (next < 0 || next > end) {
+        next = end;
+      }
+      if (route.variableSegments[variableIdx] == segmentIdx) {
+        pathVarMap.put(route.variableNames[variableIdx], path.substring(start, next));
+        variableIdx++;
+      }
+      segmentIdx++;
+      start = next + 1;
+    }
+  }
+}
@@ -78,17 +78,15 @@ public class ServicePathManager {
   }
 
   public OperationLocator consumerLocateOperation(String path, String httpMethod) {
-    String standPath = OperationLocator.getStandardPath(path);
     OperationLocator locator = new OperationLocator();
-    locator.locate(microserviceMeta.getMicroserviceName(), standPath, httpMethod, swaggerPaths);
+    locator.locate(microserviceMeta.getMicroserviceName(), path, httpMethod, swaggerPaths);
 
     return locator;
   }
 
   public OperationLocator producerLocateOperation(String path, String httpMethod) {
-    String standPath = OperationLocator.getStandardPath(path);
     OperationLocator locator = new OperationLocator();
-    locator.locate(microserviceMeta.getMicroserviceName(), standPath, httpMethod, producerPaths);
+    locator.locate(microserviceMeta.getMicroserviceName(), path, httpMethod, producerPaths);
 
     return locator;
   }
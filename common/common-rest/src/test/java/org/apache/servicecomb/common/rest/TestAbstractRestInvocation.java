@@ -55,6 +55,8 @@ import org.apache.servicecomb.core.definition.OperationMeta;
 import org.apache.servicecomb.core.definition.SchemaMeta;
 import org.apache.servicecomb.core.event.InvocationFinishEvent;
 import org.apache.servicecomb.core.event.InvocationStartEvent;
+import org.apache.servicecomb.core.executor.AdaptiveConcurrencyLimiter;
+import org.apache.servicecomb.core.executor.AdaptiveConcurrencyLimiters;
 import org.apache.servicecomb.core.executor.ReactiveExecutor;
 import org.apache.servicecomb.core.provider.consumer.ReferenceConfig;
 import org.apache.servicecomb.foundation.common.Holder;
@@ -1018,6 +1020,45 @@ public class TestAbstractRestInvocation {
     assertEquals("tid", invocation.getTraceId());
   }
 
+  @Test
+  public void scheduleInvocation_abandonReleaseConcurrencyLimiter(@Mocked OperationMeta operationMeta) {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 5, 100, 1.5, 0.2, 10, 1);
+    new MockUp<AdaptiveConcurrencyLimiters>() {
+      @Mock
+      void acquire(Invocation invocation, Executor executor) {
+        Assert.assertTrue(limiter.tryAcquire());
+        invocation.setConcurrencyLimiter(limiter);
+      }
+    };
+
+    Executor executor = new ReactiveExecutor();
+    // request already timeout and recycled by web container
+    requestEx = new AbstractHttpServletRequestForTest();
+    new Expectations() {
+      {
+        restOperation.getOperationMeta();
+        result = operationMeta;
+        operationMeta.getExecutor();
+        result = executor;
+      }
+    };
+
+    Holder<Boolean> result = new Holder<>(false);
+    restInvocation = new AbstractRestInvocationForTest() {
+      @Override
+      protected void runOnExecutor() {
+        result.value = true;
+      }
+    };
+    restInvocation.requestEx = requestEx;
+    restInvocation.restOperationMeta = restOperation;
+
+    restInvocation.scheduleInvocation();
+
+    Assert.assertFalse(result.value);
+    assertEquals(0, limiter.getInFlight());
+  }
+
   @Test
   public void runOnExecutor() {
     long time = 123;
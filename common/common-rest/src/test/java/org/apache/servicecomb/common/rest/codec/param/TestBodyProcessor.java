@@ -33,6 +33,7 @@ import org.apache.servicecomb.common.rest.RestConst;
 import org.apache.servicecomb.common.rest.codec.RestClientRequest;
 import org.apache.servicecomb.common.rest.codec.param.BodyProcessorCreator.BodyProcessor;
 import org.apache.servicecomb.common.rest.codec.param.BodyProcessorCreator.RawJsonBodyProcessor;
+import org.apache.servicecomb.common.rest.codec.produce.ProduceCborProcessor;
 import org.apache.servicecomb.foundation.vertx.stream.BufferInputStream;
 import org.junit.Assert;
 import org.junit.Before;
@@ -215,6 +216,27 @@ public class TestBodyProcessor {
     }
   }
 
+  @Test
+  public void testSetValueAndGetValueCbor() throws Exception {
+    createClientRequest();
+    createProcessor(Integer.class);
+    headers.add(HttpHeaders.CONTENT_TYPE, ProduceCborProcessor.APPLICATION_CBOR);
+
+    processor.setValue(clientRequest, 1);
+    Assert.assertEquals(ProduceCborProcessor.APPLICATION_CBOR, headers.get(HttpHeaders.CONTENT_TYPE));
+
+    initInputStream();
+    inputBodyByteBuf.writeBytes(outputBodyBuffer.getBytes());
+    new Expectations() {
+      {
+        request.getContentType();
+        result = ProduceCborProcessor.APPLICATION_CBOR;
+      }
+    };
+
+    Assert.assertEquals(1, processor.getValue(request));
+  }
+
   @Test
   public void testGetParameterPath() {
     createProcessor(String.class);
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.common.rest.codec.produce;
+
+import static org.apache.servicecomb.common.rest.codec.produce.ProduceProcessorManager.DEFAULT_SERIAL_CLASS;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import io.vertx.core.buffer.Buffer;
+
+public class TestProduceCborProcessor {
+  ProduceProcessor pp = ProduceProcessorManager.INSTANCE
+      .findProcessor(ProduceCborProcessor.APPLICATION_CBOR, null);
+
+  JavaType stringType = TypeFactory.defaultInstance().constructType(String.class);
+
+  @Test
+  public void testFindProcessor() {
+    Assert.assertTrue(pp instanceof ProduceCborProcessor);
+    Assert.assertEquals(ProduceCborProcessor.APPLICATION_CBOR, pp.getName());
+  }
+
+  @Test
+  public void testEncodeResponseNull() throws Exception {
+    Buffer buffer = pp.encodeResponse(null);
+    Assert.assertNull(buffer);
+
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    pp.encodeResponse(os, null);
+    Assert.assertEquals(0, os.size());
+  }
+
+  @Test
+  public void testDecodeResponseNull() throws Exception {
+    Object result = pp.decodeResponse(Buffer.buffer(), TypeFactory.unknownType());
+    Assert.assertNull(result);
+  }
+
+  @Test
+  public void testBufferNormal() throws Exception {
+    String value = "abc";
+    Buffer buffer = pp.encodeResponse(value);
+    // text string with length 3, see RFC 8949
+    Assert.assertArrayEquals(new byte[] {0x63, 'a', 'b', 'c'}, buffer.getBytes());
+
+    Object result = pp.decodeResponse(buffer, stringType);
+    Assert.assertEquals(value, result);
+  }
+
+  @Test
+  public void testStreamNormal() throws Exception {
+    Map<String, Object> value = Collections.singletonMap("name", "abc");
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+    pp.encodeResponse(os, value);
+
+    ByteArrayInputStream is = new ByteArrayInputStream(os.toByteArray());
+    Object result = pp.decodeResponse(is, TypeFactory.defaultInstance().constructType(Map.class));
+    Assert.assertEquals(value, result);
+
+    os.close();
+    is.close();
+  }
+
+  @Test
+  public void testSetSerializationView() {
+    ProduceProcessor processor = new ProduceCborProcessor();
+    Assert.assertEquals(DEFAULT_SERIAL_CLASS, processor.getSerializationView());
+
+    processor.setSerializationView(null);
+    Assert.assertEquals(DEFAULT_SERIAL_CLASS, processor.getSerializationView());
+
+    processor.setSerializationView(Object.class);
+    Assert.assertEquals(Object.class.getCanonicalName(), processor.getSerializationView());
+  }
+}
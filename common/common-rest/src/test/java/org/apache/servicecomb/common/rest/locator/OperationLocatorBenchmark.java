@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.common.rest.locator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.servicecomb.common.rest.definition.RestOperationComparator;
+import org.apache.servicecomb.common.rest.definition.RestOperationMeta;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * compare locating dynamic path operations one by one with regular expressions and by {@link OperationPathTrie}
+ * <p>not a unit test, run it by the main method</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperationLocatorBenchmark {
+  static class BenchmarkOperationMeta extends RestOperationMeta {
+    private final String httpMethod;
+
+    BenchmarkOperationMeta(String absolutePath, String httpMethod) {
+      this.httpMethod = httpMethod;
+      setAbsolutePath(absolutePath);
+    }
+
+    @Override
+    public String getHttpMethod() {
+      return httpMethod;
+    }
+  }
+
+  // every resource has 6 operations
+  @Param({"10", "100"})
+  public int resourceCount;
+
+  private List<RestOperationMeta> operations;
+
+  private OperationPathTrie trie;
+
+  private String[] paths;
+
+  private int pathIdx;
+
+  @Setup
+  public void setup() {
+    operations = new ArrayList<>();
+    for (int idx = 0; idx < resourceCount; idx++) {
+      String resource = "/api/v1/resource" + idx + "/{id}";
+      operations.add(new BenchmarkOperationMeta(resource + "/", "GET"));
+      operations.add(new BenchmarkOperationMeta(resource + "/", "PUT"));
+      operations.add(new BenchmarkOperationMeta(resource + "/", "DELETE"));
+      operations.add(new BenchmarkOperationMeta(resource + "/items/", "GET"));
+      operations.add(new BenchmarkOperationMeta(resource + "/items/{itemId}/", "GET"));
+      operations.add(new BenchmarkOperationMeta(resource + "/items/{itemId}/", "DELETE"));
+    }
+    Collections.sort(operations, new RestOperationComparator());
+    trie = new OperationPathTrie(operations);
+
+    paths = new String[] {
+        "/api/v1/resource0/1",
+        "/api/v1/resource" + (resourceCount / 2) + "/1/items",
+        "/api/v1/resource" + (resourceCount - 1) + "/1/items/2",
+        "/api/v1/resource" + (resourceCount - 1) + "/1/not-found"
+    };
+  }
+
+  private String nextPath() {
+    pathIdx = (pathIdx + 1) & 3;
+    return paths[pathIdx];
+  }
+
+  @Benchmark
+  public RestOperationMeta regExp() {
+    OperationLocator locator = new OperationLocator();
+    return locator.locateDynamicPathOperation(OperationLocator.getStandardPath(nextPath()), operations, "GET");
+  }
+
+  @Benchmark
+  public RestOperationMeta trie() {
+    OperationLocator locator = new OperationLocator();
+    return trie.locate(nextPath(), "GET", locator);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options options = new OptionsBuilder()
+        .include(OperationLocatorBenchmark.class.getSimpleName())
+        .build();
+    new Runner(options).run();
+  }
+}
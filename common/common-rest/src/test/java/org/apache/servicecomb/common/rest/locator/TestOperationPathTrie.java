@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.common.rest.locator;
+
+import javax.ws.rs.core.Response.Status;
+
+import org.apache.servicecomb.config.ConfigUtil;
+import org.apache.servicecomb.core.SCBEngine;
+import org.apache.servicecomb.core.bootstrap.SCBBootstrap;
+import org.apache.servicecomb.foundation.test.scaffolding.config.ArchaiusUtils;
+import org.apache.servicecomb.swagger.invocation.exception.InvocationException;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class TestOperationPathTrie {
+  static SCBEngine scbEngine;
+
+  static ServicePathManager spm;
+
+  @BeforeClass
+  public static void setup() {
+    ConfigUtil.installDynamicConfig();
+    scbEngine = SCBBootstrap.createSCBEngineForTest()
+        .addProducerMeta("sid1", new TestPathTrieSchema())
+        .run();
+
+    spm = ServicePathManager.getServicePathManager(scbEngine.getProducerMicroserviceMeta());
+  }
+
+  @AfterClass
+  public static void teardown() {
+    scbEngine.destroy();
+    ArchaiusUtils.resetConfig();
+  }
+
+  private OperationLocator locate(String path, String httpMethod) {
+    return spm.producerLocateOperation(path, httpMethod);
+  }
+
+  private void checkLocateFailed(String path, String httpMethod, Status status) {
+    try {
+      locate(path, httpMethod);
+      Assert.fail("must throw exception");
+    } catch (InvocationException e) {
+      Assert.assertEquals(status.getStatusCode(), e.getStatusCode());
+    }
+  }
+
+  @Test
+  public void locateVariable() {
+    OperationLocator locator = locate("/users/1", "GET");
+    Assert.assertEquals("getUser", locator.getOperation().getOperationMeta().getOperationId());
+    Assert.assertEquals("1", locator.getPathVarMap().get("id"));
+
+    locator = locate("/users/1/", "DELETE");
+    Assert.assertEquals("deleteUser", locator.getOperation().getOperationMeta().getOperationId());
+    Assert.assertEquals("1", locator.getPathVarMap().get("id"));
+
+    locator = locate("/users/1/orders/2", "GET");
+    Assert.assertEquals("getOrder", locator.getOperation().getOperationMeta().getOperationId());
+    Assert.assertEquals("1", locator.getPathVarMap().get("id"));
+    Assert.assertEquals("2", locator.getPathVarMap().get("orderId"));
+  }
+
+  @Test
+  public void locateByPriority() {
+    OperationLocator locator = locate("/users/1/profile", "GET");
+    Assert.assertEquals("getProfile", locator.getOperation().getOperationMeta().getOperationId());
+
+    locator = locate("/users/1/name", "GET");
+    Assert.assertEquals("getField", locator.getOperation().getOperationMeta().getOperationId());
+    Assert.assertEquals("name", locator.getPathVarMap().get("field"));
+
+    // same static chars and variables, regular expression is preferred
+    locator = locate("/docs/1", "GET");
+    Assert.assertEquals("getDocPath", locator.getOperation().getOperationMeta().getOperationId());
+    Assert.assertEquals("1", locator.getPathVarMap().get("path"));
+  }
+
+  @Test
+  public void locateRegExp() {
+    OperationLocator locator = locate("/files/a/b/c", "GET");
+    Assert.assertEquals("getFile", locator.getOperation().getOperationMeta().getOperationId());
+    Assert.assertEquals("a/b/c", locator.getPathVarMap().get("path"));
+  }
+
+  @Test
+  public void locateFailed() {
+    checkLocateFailed("/users/1", "PUT", Status.METHOD_NOT_ALLOWED);
+    checkLocateFailed("/users/1/a/b", "GET", Status.NOT_FOUND);
+    checkLocateFailed("/users//", "GET", Status.NOT_FOUND);
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.common.rest.locator;
+
+import javax.ws.rs.DELETE;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+
+@Path("/")
+public class TestPathTrieSchema {
+  @Path("/users/{id}")
+  @GET
+  public void getUser(@PathParam("id") String id) {
+
+  }
+
+  @Path("/users/{id}")
+  @DELETE
+  public void deleteUser(@PathParam("id") String id) {
+
+  }
+
+  @Path("/users/{id}/profile")
+  @GET
+  public void getProfile(@PathParam("id") String id) {
+
+  }
+
+  @Path("/users/{id}/{field}")
+  @GET
+  public void getField(@PathParam("id") String id, @PathParam("field") String field) {
+
+  }
+
+  @Path("/users/{id}/orders/{orderId}")
+  @GET
+  public void getOrder(@PathParam("id") String id, @PathParam("orderId") String orderId) {
+
+  }
+
+  @Path("/files/{path : .+}")
+  @GET
+  public void getFile(@PathParam("path") String path) {
+
+  }
+
+  @Path("/docs/{id}")
+  @GET
+  public void getDoc(@PathParam("id") String id) {
+
+  }
+
+  @Path("/docs/{path : .+}")
+  @GET
+  public void getDocPath(@PathParam("path") String path) {
+
+  }
+}
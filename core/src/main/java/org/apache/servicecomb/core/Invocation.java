@@ -43,6 +43,7 @@ import org.apache.servicecomb.core.event.InvocationRunInExecutorStartEvent;
 import org.apache.servicecomb.core.event.InvocationStartEvent;
 import org.apache.servicecomb.core.event.InvocationStartSendRequestEvent;
 import org.apache.servicecomb.core.event.InvocationTimeoutCheckEvent;
+import org.apache.servicecomb.core.executor.AdaptiveConcurrencyLimiter;
 import org.apache.servicecomb.core.invocation.InvocationStageTrace;
 import org.apache.servicecomb.core.provider.consumer.InvokerUtils;
 import org.apache.servicecomb.core.provider.consumer.ReferenceConfig;
@@ -103,6 +104,9 @@ public class Invocation extends SwaggerInvocation {
 
   private boolean finished;
 
+  // producer invocation admitted by the limiter of executor, released when finished
+  private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
   // not extend InvocationType
   // because isEdge() only affect to apm/metrics output, no need to change so many logic
   private boolean edge;
@@ -442,6 +446,26 @@ public class Invocation extends SwaggerInvocation {
     invocationStageTrace.finish();
     EventManager.post(new InvocationFinishEvent(this, response));
     finished = true;
+
+    if (concurrencyLimiter != null) {
+      concurrencyLimiter.release(System.nanoTime() - invocationStageTrace.getStartSchedule());
+      concurrencyLimiter = null;
+    }
+  }
+
+  public void setConcurrencyLimiter(AdaptiveConcurrencyLimiter concurrencyLimiter) {
+    this.concurrencyLimiter = concurrencyLimiter;
+  }
+
+  /**
+   * for invocations abandoned without response, so {@link #onFinish(Response)} will not release the limiter<br>
+   * latency of abandoned invocation is meaningless, not sampled
+   */
+  public void releaseConcurrencyLimiter() {
+    if (concurrencyLimiter != null) {
+      concurrencyLimiter.release(0);
+      concurrencyLimiter = null;
+    }
   }
 
   public boolean isFinished() {
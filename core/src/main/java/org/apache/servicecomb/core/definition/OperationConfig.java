@@ -111,6 +111,13 @@ public class OperationConfig {
   @InjectProperty(keys = {"governance.${op-any-priority}.matchType", "governance.matchType"}, defaultValue = "rest")
   private String governanceMatchType;
 
+  /**
+   * media type that rest consumer prefer to accept, eg: application/x-protobuf, application/cbor
+   * only works when producer declared it in produces
+   */
+  @InjectProperty(keys = "references.rest.accept${op-priority}")
+  private String restAccept;
+
   public boolean isSlowInvocationEnabled() {
     return slowInvocationEnabled;
   }
@@ -218,6 +225,14 @@ public class OperationConfig {
     this.clientRequestHeaderFilterEnabled = clientRequestHeaderFilterEnabled;
   }
 
+  public String getRestAccept() {
+    return restAccept;
+  }
+
+  public void setRestAccept(String restAccept) {
+    this.restAccept = restAccept;
+  }
+
   public String getTransport() {
     return transport;
   }
@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.core.executor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.netflix.config.DynamicPropertyFactory;
+
+/**
+ * limit requests in flight of an executor, the limit is adjusted by latency, just like gradient2 of
+ * netflix concurrency-limits:<br>
+ * <ul>
+ *   <li>longRtt is an exponential average of latency, represent the latency when there is no queueing</li>
+ *   <li>when average latency of recent requests (shortRtt) grows, means requests begin to queue up, reduce the limit by
+ *   gradient longRtt / shortRtt</li>
+ *   <li>otherwise, increase the limit by sqrt(limit), to probe more capacity</li>
+ * </ul>
+ * requests that exceed the limit should be rejected immediately, instead of waiting in the queue until timeout<br>
+ * samples are collected into windows of shortWindow requests without lock, and only the thread that fills a window
+ * updates the limit, by CAS of an immutable state
+ */
+public class AdaptiveConcurrencyLimiter {
+  public static final String PREFIX = "servicecomb.executor.adaptiveLimit.";
+
+  public static final String KEY_ENABLED = PREFIX + "enabled";
+
+  public static final String KEY_INITIAL_LIMIT = PREFIX + "initialLimit";
+
+  public static final String KEY_MIN_LIMIT = PREFIX + "minLimit";
+
+  public static final String KEY_MAX_LIMIT = PREFIX + "maxLimit";
+
+  public static final String KEY_TOLERANCE = PREFIX + "tolerance";
+
+  public static final String KEY_SMOOTHING = PREFIX + "smoothing";
+
+  public static final String KEY_LONG_WINDOW = PREFIX + "longWindow";
+
+  public static final String KEY_SHORT_WINDOW = PREFIX + "shortWindow";
+
+  static class SampleWindow {
+    static final SampleWindow EMPTY = new SampleWindow(0, 0, 0);
+
+    final long sumRtt;
+
+    final int count;
+
+    final int maxInFlight;
+
+    SampleWindow(long sumRtt, int count, int maxInFlight) {
+      this.sumRtt = sumRtt;
+      this.count = count;
+      this.maxInFlight = maxInFlight;
+    }
+
+    SampleWindow add(long nanoRtt, int inFlight) {
+      return new SampleWindow(sumRtt + nanoRtt, count + 1, Math.max(maxInFlight, inFlight));
+    }
+  }
+
+  static class LimitState {
+    final double estimatedLimit;
+
+    final double longRtt;
+
+    final int samples;
+
+    LimitState(double estimatedLimit, double longRtt, int samples) {
+      this.estimatedLimit = estimatedLimit;
+      this.longRtt = longRtt;
+      this.samples = samples;
+    }
+  }
+
+  private final int minLimit;
+
+  private final int maxLimit;
+
+  // how much latency grows are tolerated before reduce limit
+  private final double tolerance;
+
+  private final double smoothing;
+
+  private final int longWindow;
+
+  private final int shortWindow;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  private final AtomicInteger rejectedCount = new AtomicInteger();
+
+  private final AtomicReference<SampleWindow> window = new AtomicReference<>(SampleWindow.EMPTY);
+
+  private final AtomicReference<LimitState> state;
+
+  public AdaptiveConcurrencyLimiter() {
+    this(DynamicPropertyFactory.getInstance().getIntProperty(KEY_INITIAL_LIMIT, 100).get(),
+        DynamicPropertyFactory.getInstance().getIntProperty(KEY_MIN_LIMIT, 20).get(),
+        DynamicPropertyFactory.getInstance().getIntProperty(KEY_MAX_LIMIT, 1000).get(),
+        DynamicPropertyFactory.getInstance().getDoubleProperty(KEY_TOLERANCE, 1.5).get(),
+        DynamicPropertyFactory.getInstance().getDoubleProperty(KEY_SMOOTHING, 0.2).get(),
+        DynamicPropertyFactory.getInstance().getIntProperty(KEY_LONG_WINDOW, 600).get(),
+        DynamicPropertyFactory.getInstance().getIntProperty(KEY_SHORT_WINDOW, 10).get());
+  }
+
+  public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing,
+      int longWindow, int shortWindow) {
+    if (minLimit <= 0 || maxLimit < minLimit) {
+      throw new IllegalArgumentException(
+          String.format("invalid adaptive limit range, minLimit=%d, maxLimit=%d.", minLimit, maxLimit));
+    }
+
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.tolerance = tolerance;
+    this.smoothing = smoothing;
+    this.longWindow = Math.max(1, longWindow);
+    this.shortWindow = Math.max(1, shortWindow);
+    double estimatedLimit = Math.min(maxLimit, Math.max(minLimit, initialLimit));
+    this.state = new AtomicReference<>(new LimitState(estimatedLimit, 0, 0));
+  }
+
+  public static boolean isEnabled() {
+    return DynamicPropertyFactory.getInstance().getBooleanProperty(KEY_ENABLED, false).get();
+  }
+
+  /**
+   * @return false means exceed the limit, and the request should be rejected
+   */
+  public boolean tryAcquire() {
+    int limit = getLimit();
+    for (; ; ) {
+      int current = inFlight.get();
+      if (current >= limit) {
+        rejectedCount.incrementAndGet();
+        return false;
+      }
+
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * must be invoked once for every successful {@link #tryAcquire()}
+   * @param nanoRtt latency of the request, include time waiting in the queue
+   */
+  public void release(long nanoRtt) {
+    int current = inFlight.getAndDecrement();
+    onSample(nanoRtt, current);
+  }
+
+  @VisibleForTesting
+  void onSample(long nanoRtt, int currentInFlight) {
+    if (nanoRtt <= 0) {
+      return;
+    }
+
+    for (; ; ) {
+      SampleWindow current = window.get();
+      SampleWindow next = current.add(nanoRtt, currentInFlight);
+      if (next.count < shortWindow) {
+        if (window.compareAndSet(current, next)) {
+          return;
+        }
+        continue;
+      }
+
+      // this thread owns the full window
+      if (window.compareAndSet(current, SampleWindow.EMPTY)) {
+        updateLimit((double) next.sumRtt / next.count, next.maxInFlight);
+        return;
+      }
+    }
+  }
+
+  private void updateLimit(double shortRtt, int maxInFlight) {
+    for (; ; ) {
+      LimitState current = state.get();
+      LimitState next = calcLimit(current, shortRtt, maxInFlight);
+      if (state.compareAndSet(current, next)) {
+        return;
+      }
+    }
+  }
+
+  private LimitState calcLimit(LimitState current, double shortRtt, int maxInFlight) {
+    double longRtt = current.longRtt;
+    int samples = current.samples;
+    if (samples < longWindow) {
+      // warm up, simple average
+      samples++;
+      longRtt += (shortRtt - longRtt) / samples;
+    } else {
+      longRtt += (shortRtt - longRtt) * 2 / (longWindow + 1);
+    }
+
+    // latency of short term is much lower than long term, long term value is polluted by a previous overload,
+    // decay it faster to recover
+    if (longRtt / shortRtt > 2) {
+      longRtt *= 0.95;
+    }
+
+    double estimatedLimit = current.estimatedLimit;
+    // requests are too few to tell if the limit is suitable
+    if (maxInFlight < estimatedLimit / 2) {
+      return new LimitState(estimatedLimit, longRtt, samples);
+    }
+
+    double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+    double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+    newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+    newLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    return new LimitState(newLimit, longRtt, samples);
+  }
+
+  public int getLimit() {
+    return (int) state.get().estimatedLimit;
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  public int getRejectedCount() {
+    return rejectedCount.get();
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.core.executor;
+
+import java.util.concurrent.Executor;
+
+import javax.ws.rs.core.Response.Status;
+
+import org.apache.servicecomb.core.Invocation;
+import org.apache.servicecomb.core.exception.ExceptionCodes;
+import org.apache.servicecomb.core.exception.Exceptions;
+import org.apache.servicecomb.foundation.common.concurrent.ConcurrentHashMapEx;
+import org.apache.servicecomb.swagger.invocation.exception.InvocationException;
+
+/**
+ * adaptive concurrency limiters of producer executors, shared by the filter chain and the handler chain
+ */
+public final class AdaptiveConcurrencyLimiters {
+  // one limiter for each executor, because the capacity belongs to executor, not operation
+  private static final ConcurrentHashMapEx<Executor, AdaptiveConcurrencyLimiter> LIMITERS =
+      new ConcurrentHashMapEx<>();
+
+  private AdaptiveConcurrencyLimiters() {
+  }
+
+  /**
+   * must be invoked before schedule the invocation to the executor,
+   * the limiter is released by {@link Invocation#onFinish}
+   *
+   * @throws InvocationException 503 if exceed the limit of the executor
+   */
+  public static void acquire(Invocation invocation, Executor executor) {
+    if (!AdaptiveConcurrencyLimiter.isEnabled()) {
+      return;
+    }
+
+    AdaptiveConcurrencyLimiter limiter = LIMITERS.computeIfAbsent(executor, e -> new AdaptiveConcurrencyLimiter());
+    if (!limiter.tryAcquire()) {
+      throw Exceptions.create(Status.SERVICE_UNAVAILABLE, ExceptionCodes.GENERIC_SERVER,
+          "Request rejected by adaptive concurrency limit " + limiter.getLimit() + ".");
+    }
+    invocation.setConcurrencyLimiter(limiter);
+  }
+}
@@ -33,14 +33,22 @@ public class ExecutorManager {
 
   public static final String EXECUTOR_GROUP_THREADPOOL = "servicecomb.executor.groupThreadPool";
 
+  public static final String EXECUTOR_SHARED_THREADPOOL = "servicecomb.executor.sharedThreadPool";
+
   public static final String EXECUTOR_REACTIVE = "servicecomb.executor.reactive";
 
+  // only available when jdk support virtual thread
+  public static final String EXECUTOR_VIRTUAL_THREAD = "servicecomb.executor.virtualThread";
+
   public static final String EXECUTOR_DEFAULT = EXECUTOR_GROUP_THREADPOOL;
 
   private Map<String, Executor> executors = new ConcurrentHashMapEx<>();
 
   public ExecutorManager() {
     registerExecutor(EXECUTOR_REACTIVE, new ReactiveExecutor());
+    if (VirtualThreadExecutor.isSupported()) {
+      registerExecutor(EXECUTOR_VIRTUAL_THREAD, new VirtualThreadExecutor());
+    }
   }
 
   public void registerExecutor(String id, Executor executor) {
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.core.executor;
+
+import java.util.Collection;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * lock free version of {@link LinkedBlockingQueueEx}<br>
+ * LinkedBlockingQueue use a put lock and a take lock, when there are many producers and consumers, the locks become
+ * hot spots, LinkedTransferQueue is lock free, and the capacity is controlled by a counter
+ */
+public class LinkedTransferQueueEx extends LinkedTransferQueue<Runnable> implements ThreadPoolQueue {
+  private static final long serialVersionUID = -1L;
+
+  private final int capacity;
+
+  // LinkedTransferQueue.size is O(n)
+  private final AtomicInteger count = new AtomicInteger();
+
+  private transient volatile ThreadPoolExecutorEx owner = null;
+
+  public LinkedTransferQueueEx(int capacity) {
+    this.capacity = capacity;
+  }
+
+  @Override
+  public void setOwner(ThreadPoolExecutorEx owner) {
+    this.owner = owner;
+  }
+
+  @Override
+  public boolean offer(Runnable runnable) {
+    // task can come before owner available
+    if (owner == null) {
+      return offerWithCapacity(runnable);
+    }
+    // can not create more thread, just queue the task
+    if (owner.getPoolSize() == owner.getMaximumPoolSize()) {
+      return offerWithCapacity(runnable);
+    }
+    // no need to create more thread, just queue the task
+    if (owner.getNotFinished() <= owner.getPoolSize()) {
+      return offerWithCapacity(runnable);
+    }
+    // all threads are busy, and can create new thread, not queue the task
+    return false;
+  }
+
+  @Override
+  public boolean force(Runnable runnable) {
+    if (owner == null || owner.isShutdown()) {
+      throw new RejectedExecutionException("queue is not running.");
+    }
+    return offerWithCapacity(runnable);
+  }
+
+  private boolean offerWithCapacity(Runnable runnable) {
+    if (count.incrementAndGet() > capacity) {
+      count.decrementAndGet();
+      return false;
+    }
+
+    super.offer(runnable);
+    return true;
+  }
+
+  @Override
+  public boolean offer(Runnable runnable, long timeout, TimeUnit unit) {
+    return offerWithCapacity(runnable);
+  }
+
+  @Override
+  public boolean add(Runnable runnable) {
+    if (!offerWithCapacity(runnable)) {
+      throw new IllegalStateException("Queue full");
+    }
+    return true;
+  }
+
+  @Override
+  public void put(Runnable runnable) {
+    add(runnable);
+  }
+
+  @Override
+  public Runnable poll() {
+    return afterTake(super.poll());
+  }
+
+  @Override
+  public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+    return afterTake(super.poll(timeout, unit));
+  }
+
+  @Override
+  public Runnable take() throws InterruptedException {
+    return afterTake(super.take());
+  }
+
+  private Runnable afterTake(Runnable runnable) {
+    if (runnable != null) {
+      count.decrementAndGet();
+    }
+    return runnable;
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    if (super.remove(o)) {
+      count.decrementAndGet();
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public int drainTo(Collection<? super Runnable> c) {
+    return drainTo(c, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public int drainTo(Collection<? super Runnable> c, int maxElements) {
+    int n = 0;
+    for (Runnable runnable; n < maxElements && (runnable = poll()) != null; n++) {
+      c.add(runnable);
+    }
+    return n;
+  }
+
+  @Override
+  public int size() {
+    return count.get();
+  }
+
+  @Override
+  public int remainingCapacity() {
+    return capacity - count.get();
+  }
+}
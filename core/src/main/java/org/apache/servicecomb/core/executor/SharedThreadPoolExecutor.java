@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.core.executor;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.config.DynamicPropertyFactory;
+
+/**
+ * alternative of {@link GroupExecutor}<br>
+ * GroupExecutor bind every network thread to one group, a busy network thread can make it's group busy while other
+ * groups are idle.<br>
+ * this executor is one thread pool shared by all network threads, any idle thread can take any task, and the queue is
+ * lock free, so not need to split into groups to avoid queue contention.
+ */
+public class SharedThreadPoolExecutor extends ThreadPoolExecutorEx {
+  private static final Logger LOGGER = LoggerFactory.getLogger(SharedThreadPoolExecutor.class);
+
+  public static final String KEY_CORE_THREADS = "servicecomb.executor.shared.coreThreads";
+
+  public static final String KEY_MAX_THREADS = "servicecomb.executor.shared.maxThreads";
+
+  public static final String KEY_MAX_IDLE_SECOND = "servicecomb.executor.shared.maxIdleSecond";
+
+  public static final String KEY_MAX_QUEUE_SIZE = "servicecomb.executor.shared.maxQueueSize";
+
+  public SharedThreadPoolExecutor(int coreThreads, int maxThreads, int maxIdleInSecond, int maxQueueSize) {
+    super(coreThreads, maxThreads, maxIdleInSecond, TimeUnit.SECONDS, new LinkedTransferQueueEx(maxQueueSize),
+        new GroupThreadFactory("shared"));
+  }
+
+  public static SharedThreadPoolExecutor create() {
+    // same with the total of default GroupExecutor
+    int coreThreads = DynamicPropertyFactory.getInstance().getIntProperty(KEY_CORE_THREADS, 50).get();
+    int maxThreads = DynamicPropertyFactory.getInstance().getIntProperty(KEY_MAX_THREADS, 200).get();
+    if (coreThreads > maxThreads) {
+      LOGGER.warn("coreThreads is bigger than maxThreads, change from {} to {}.", coreThreads, maxThreads);
+      coreThreads = maxThreads;
+    }
+    int maxIdleInSecond = DynamicPropertyFactory.getInstance().getIntProperty(KEY_MAX_IDLE_SECOND, 60).get();
+    int maxQueueSize = DynamicPropertyFactory.getInstance()
+        .getIntProperty(KEY_MAX_QUEUE_SIZE, Integer.MAX_VALUE).get();
+
+    LOGGER.info("shared executor settings, coreThreads={}, maxThreads={}, maxIdleInSecond={}, maxQueueSize={}.",
+        coreThreads, maxThreads, maxIdleInSecond, maxQueueSize);
+    return new SharedThreadPoolExecutor(coreThreads, maxThreads, maxIdleInSecond, maxQueueSize);
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.core.executor;
+
+import java.io.Closeable;
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.config.DynamicIntProperty;
+import com.netflix.config.DynamicPropertyFactory;
+
+/**
+ * run every task in a new virtual thread, for producers that make blocking calls<br>
+ * only available when running on a jdk that supports virtual thread, created by reflection so that still can be
+ * compiled by jdk 8<br>
+ * virtual threads are cheap, so there is no queue, instead, tasks that not finished are limited by
+ * {@link #KEY_MAX_CONCURRENCY}, exceed tasks are rejected, to protect downstream systems
+ */
+public class VirtualThreadExecutor implements Executor, Closeable {
+  private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadExecutor.class);
+
+  public static final String KEY_MAX_CONCURRENCY = "servicecomb.executor.virtualThread.maxConcurrency";
+
+  private static final ThreadFactory THREAD_FACTORY = createThreadFactory();
+
+  private final DynamicIntProperty maxConcurrency = DynamicPropertyFactory.getInstance()
+      .getIntProperty(KEY_MAX_CONCURRENCY, 1000);
+
+  private final AtomicInteger notFinished = new AtomicInteger();
+
+  private final AtomicInteger rejectedCount = new AtomicInteger();
+
+  private volatile boolean closed;
+
+  public VirtualThreadExecutor() {
+    if (!isSupported()) {
+      throw new IllegalStateException("virtual thread is not supported by current jdk.");
+    }
+  }
+
+  public static boolean isSupported() {
+    return THREAD_FACTORY != null;
+  }
+
+  // Thread.ofVirtual().name("virtual-", 0).factory()
+  private static ThreadFactory createThreadFactory() {
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "virtual-", 0L);
+      Method factory = builderClass.getMethod("factory");
+      return (ThreadFactory) factory.invoke(builder);
+    } catch (Throwable e) {
+      // jdk before 19, or preview feature not enabled
+      LOGGER.debug("virtual thread is not supported, {}.", e.getMessage());
+      return null;
+    }
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    if (closed) {
+      throw new RejectedExecutionException("virtual thread executor is closed.");
+    }
+
+    if (notFinished.incrementAndGet() > maxConcurrency.get()) {
+      notFinished.decrementAndGet();
+      rejectedCount.incrementAndGet();
+      throw new RejectedExecutionException("virtual thread executor exceed max concurrency " + maxConcurrency.get());
+    }
+
+    try {
+      THREAD_FACTORY.newThread(() -> {
+        try {
+          command.run();
+        } finally {
+          notFinished.decrementAndGet();
+        }
+      }).start();
+    } catch (Throwable e) {
+      notFinished.decrementAndGet();
+      rejectedCount.incrementAndGet();
+      throw new RejectedExecutionException("failed to start virtual thread.", e);
+    }
+  }
+
+  public int getNotFinished() {
+    return notFinished.get();
+  }
+
+  public int getRejectedCount() {
+    return rejectedCount.get();
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+  }
+}
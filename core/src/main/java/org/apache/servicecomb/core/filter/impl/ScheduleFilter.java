@@ -23,6 +23,7 @@ import javax.annotation.Nonnull;
 
 import org.apache.servicecomb.core.Invocation;
 import org.apache.servicecomb.core.exception.Exceptions;
+import org.apache.servicecomb.core.executor.AdaptiveConcurrencyLimiters;
 import org.apache.servicecomb.core.filter.FilterNode;
 import org.apache.servicecomb.core.filter.ProducerFilter;
 import org.apache.servicecomb.core.invocation.InvocationStageTrace;
@@ -43,6 +44,14 @@ public class ScheduleFilter implements ProducerFilter {
   public CompletableFuture<Response> onFilter(Invocation invocation, FilterNode next) {
     invocation.getInvocationStageTrace().startSchedule();
     Executor executor = invocation.getOperationMeta().getExecutor();
+    try {
+      AdaptiveConcurrencyLimiters.acquire(invocation, executor);
+    } catch (Throwable e) {
+      CompletableFuture<Response> future = new CompletableFuture<>();
+      future.completeExceptionally(e);
+      return future;
+    }
+
     return CompletableFuture.completedFuture(null)
         .thenComposeAsync(response -> runInExecutor(invocation, next), executor);
   }
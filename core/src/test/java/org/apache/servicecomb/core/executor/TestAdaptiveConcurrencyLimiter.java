@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.core.executor;
+
+import org.apache.servicecomb.core.Invocation;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestAdaptiveConcurrencyLimiter {
+  AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 5, 100, 1.5, 0.2, 10, 1);
+
+  @Test
+  public void invalidRange() {
+    try {
+      new AdaptiveConcurrencyLimiter(10, 5, 4, 1.5, 0.2, 10, 1);
+      Assert.fail("must throw exception");
+    } catch (IllegalArgumentException e) {
+      Assert.assertEquals("invalid adaptive limit range, minLimit=5, maxLimit=4.", e.getMessage());
+    }
+  }
+
+  @Test
+  public void rejectWhenExceedLimit() {
+    for (int idx = 0; idx < 10; idx++) {
+      Assert.assertTrue(limiter.tryAcquire());
+    }
+    Assert.assertFalse(limiter.tryAcquire());
+    Assert.assertEquals(10, limiter.getInFlight());
+    Assert.assertEquals(1, limiter.getRejectedCount());
+
+    limiter.release(100);
+    Assert.assertEquals(9, limiter.getInFlight());
+    Assert.assertTrue(limiter.tryAcquire());
+  }
+
+  @Test
+  public void keepLimitWhenAppLimited() {
+    for (int idx = 0; idx < 20; idx++) {
+      limiter.onSample(idx % 2 == 0 ? 100 : 10000, 1);
+    }
+    Assert.assertEquals(10, limiter.getLimit());
+  }
+
+  @Test
+  public void increaseWhenLatencyStable() {
+    for (int idx = 0; idx < 20; idx++) {
+      limiter.onSample(100, limiter.getLimit());
+    }
+    Assert.assertTrue(limiter.getLimit() > 10);
+  }
+
+  @Test
+  public void decreaseWhenLatencyGrows() {
+    for (int idx = 0; idx < 10; idx++) {
+      limiter.onSample(100, 0);
+    }
+
+    limiter.onSample(1000, 10);
+    Assert.assertEquals(9, limiter.getLimit());
+  }
+
+  @Test
+  public void notLowerThanMinLimit() {
+    limiter = new AdaptiveConcurrencyLimiter(10, 5, 100, 1.5, 1.0, 10, 1);
+    for (int idx = 0; idx < 10; idx++) {
+      limiter.onSample(100, 0);
+    }
+
+    long rtt = 1000;
+    for (int idx = 0; idx < 10; idx++) {
+      rtt *= 2;
+      limiter.onSample(rtt, 10);
+    }
+    Assert.assertEquals(5, limiter.getLimit());
+  }
+
+  @Test
+  public void updateByAverageOfWindow() {
+    limiter = new AdaptiveConcurrencyLimiter(10, 5, 100, 1.5, 0.2, 10, 2);
+    for (int idx = 0; idx < 10; idx++) {
+      limiter.onSample(100, 0);
+    }
+
+    // one slow request in the window is not enough to reduce the limit
+    limiter.onSample(200, 10);
+
+    limiter.onSample(100, 10);
+    Assert.assertEquals(10, limiter.getLimit());
+
+    for (int idx = 0; idx < 6; idx++) {
+      limiter.onSample(1000, 10);
+    }
+    Assert.assertTrue(limiter.getLimit() < 10);
+  }
+
+  @Test
+  public void releaseWhenInvocationFinished() {
+    Invocation invocation = new Invocation();
+    Assert.assertTrue(limiter.tryAcquire());
+    invocation.setConcurrencyLimiter(limiter);
+
+    invocation.onFinish(null);
+    Assert.assertEquals(0, limiter.getInFlight());
+
+    // only once
+    invocation.onFinish(null);
+    Assert.assertEquals(0, limiter.getInFlight());
+  }
+}
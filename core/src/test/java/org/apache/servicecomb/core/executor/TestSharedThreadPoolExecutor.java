@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.core.executor;
+
+import org.apache.servicecomb.foundation.test.scaffolding.config.ArchaiusUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+// run the same schedule rules with lock free queue
+public class TestSharedThreadPoolExecutor extends TestThreadPoolExecutorEx {
+  public TestSharedThreadPoolExecutor() {
+    executorEx = new SharedThreadPoolExecutor(2, 4, 2, 2);
+  }
+
+  @After
+  public void teardown() {
+    ArchaiusUtils.resetConfig();
+  }
+
+  @Test
+  public void create() {
+    ArchaiusUtils.setProperty(SharedThreadPoolExecutor.KEY_CORE_THREADS, 10);
+    ArchaiusUtils.setProperty(SharedThreadPoolExecutor.KEY_MAX_THREADS, 5);
+    ArchaiusUtils.setProperty(SharedThreadPoolExecutor.KEY_MAX_QUEUE_SIZE, 100);
+
+    SharedThreadPoolExecutor executor = SharedThreadPoolExecutor.create();
+    Assert.assertEquals(5, executor.getCorePoolSize());
+    Assert.assertEquals(5, executor.getMaximumPoolSize());
+    Assert.assertEquals(100, executor.getQueue().remainingCapacity());
+    executor.shutdown();
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.core.executor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.servicecomb.foundation.test.scaffolding.config.ArchaiusUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+public class TestVirtualThreadExecutor {
+  @After
+  public void teardown() {
+    ArchaiusUtils.resetConfig();
+  }
+
+  @Test
+  public void notSupported() {
+    Assume.assumeFalse(VirtualThreadExecutor.isSupported());
+
+    try {
+      new VirtualThreadExecutor();
+      Assert.fail("must throw exception");
+    } catch (IllegalStateException e) {
+      Assert.assertEquals("virtual thread is not supported by current jdk.", e.getMessage());
+    }
+  }
+
+  @Test
+  public void maxConcurrency() throws InterruptedException {
+    Assume.assumeTrue(VirtualThreadExecutor.isSupported());
+    ArchaiusUtils.setProperty(VirtualThreadExecutor.KEY_MAX_CONCURRENCY, 1);
+
+    VirtualThreadExecutor executor = new VirtualThreadExecutor();
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch quit = new CountDownLatch(1);
+    executor.execute(() -> {
+      running.countDown();
+      try {
+        quit.await();
+      } catch (InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    Assert.assertTrue(running.await(10, TimeUnit.SECONDS));
+
+    try {
+      executor.execute(() -> {
+      });
+      Assert.fail("must throw exception");
+    } catch (RejectedExecutionException e) {
+      Assert.assertEquals(1, executor.getRejectedCount());
+    }
+
+    quit.countDown();
+    executor.close();
+  }
+}
@@ -17,10 +17,18 @@
 
 package org.apache.servicecomb.foundation.common.utils;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 public abstract class AbstractRestObjectMapper extends ObjectMapper {
   private static final long serialVersionUID = 189026839992490564L;
 
+  public AbstractRestObjectMapper() {
+  }
+
+  public AbstractRestObjectMapper(JsonFactory jsonFactory) {
+    super(jsonFactory);
+  }
+
   abstract public String convertToString(Object value) throws Exception;
 }
@@ -19,6 +19,7 @@ package org.apache.servicecomb.foundation.common.utils;
 
 import java.io.IOException;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser.Feature;
 import com.fasterxml.jackson.databind.DeserializationFeature;
@@ -47,6 +48,14 @@ public class RestObjectMapper extends AbstractRestObjectMapper {
   private static final JavaType STRING_JAVA_TYPE = TypeFactory.defaultInstance().constructType(String.class);
 
   public RestObjectMapper() {
+    this(null);
+  }
+
+  /**
+   * @param jsonFactory null for json, or factories of other formats, eg: CBORFactory
+   */
+  public RestObjectMapper(JsonFactory jsonFactory) {
+    super(jsonFactory);
     getFactory().disable(Feature.AUTO_CLOSE_SOURCE);
     // Enable features that can tolerance errors and not enable those make more constraints for compatible reasons.
     // Developers can use validation api to do more checks.
@@ -18,7 +18,9 @@ package org.apache.servicecomb.foundation.protobuf;
 
 import java.io.IOException;
 
+import io.netty.buffer.ByteBuf;
 import io.protostuff.ByteArrayInputEx;
+import io.protostuff.ByteBufInputEx;
 import io.protostuff.InputEx;
 import io.protostuff.SchemaEx;
 
@@ -37,9 +39,25 @@ public class RootDeserializer<T> {
     this.schema = schema;
   }
 
-  @SuppressWarnings("unchecked")
   public T deserialize(byte[] bytes) throws IOException {
-    InputEx input = new ByteArrayInputEx(bytes);
+    return deserialize(new ByteArrayInputEx(bytes));
+  }
+
+  /**
+   * deserialize the readable bytes of byteBuf without copy them to a new byte array<br>
+   * readerIndex of byteBuf will not be changed
+   */
+  public T deserialize(ByteBuf byteBuf) throws IOException {
+    if (byteBuf.hasArray()) {
+      return deserialize(
+          new ByteArrayInputEx(byteBuf.array(), byteBuf.arrayOffset() + byteBuf.readerIndex(),
+              byteBuf.readableBytes()));
+    }
+
+    return deserialize(new ByteBufInputEx(byteBuf));
+  }
+
+  public T deserialize(InputEx input) throws IOException {
     T instance = schema.newMessage();
     schema.mergeFrom(input, instance);
     return instance;
@@ -32,6 +32,8 @@ import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.rules.ExpectedException;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.protostuff.compiler.model.Field;
 
 public class TestSchemaBase {
@@ -167,5 +169,22 @@ public class TestSchemaBase {
     }
     Assert.assertArrayEquals(protobufBytes, scbMapBytes);
     Assert.assertArrayEquals(protobufBytes, scbRootBytes);
+
+    // 6.deserialize from ByteBuf without copy
+    checkByteBuf(deserializer, mapDeserializer, serializer, Unpooled.directBuffer().writeBytes(protobufBytes));
+    checkByteBuf(deserializer, mapDeserializer, serializer,
+        Unpooled.buffer().writeByte(0).writeBytes(protobufBytes).skipBytes(1));
+  }
+
+  protected <T> void checkByteBuf(RootDeserializer<T> deserializer,
+      RootDeserializer<Map<String, Object>> mapDeserializer, RootSerializer serializer, ByteBuf byteBuf)
+      throws IOException {
+    try {
+      Assert.assertArrayEquals(protobufBytes, serializer.serialize(mapDeserializer.deserialize(byteBuf)));
+      Assert.assertArrayEquals(protobufBytes, serializer.serialize(deserializer.deserialize(byteBuf)));
+      Assert.assertEquals(protobufBytes.length, byteBuf.readableBytes());
+    } finally {
+      byteBuf.release();
+    }
   }
 }
@@ -16,6 +16,8 @@
  */
 package org.apache.servicecomb.registry.consumer;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.apache.servicecomb.registry.api.registry.MicroserviceInstance;
 
 /**
@@ -31,4 +33,15 @@ public interface MicroserviceInstancePing {
    * @return
    */
   boolean ping(MicroserviceInstance instance);
+
+  /**
+   * check if this instance if valid to use, without block the caller thread
+   * default implementation run {@link #ping(MicroserviceInstance)} in a dedicated thread pool, implementations
+   * should override it if there is a non-blocking way
+   * @param instance
+   * @return
+   */
+  default CompletableFuture<Boolean> pingAsync(MicroserviceInstance instance) {
+    return CompletableFuture.supplyAsync(() -> ping(instance), MicroserviceInstancePingExecutor.EXECUTOR);
+  }
 }
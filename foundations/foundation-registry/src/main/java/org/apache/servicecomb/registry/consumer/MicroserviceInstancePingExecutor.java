@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.registry.consumer;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * run blocking {@link MicroserviceInstancePing#ping} of the default pingAsync, not in common pool,
+ * so slow pings will not block other users of common pool, and slow users of common pool will not delay pings
+ */
+final class MicroserviceInstancePingExecutor {
+  private static final int THREAD_COUNT = 8;
+
+  static final Executor EXECUTOR = createExecutor();
+
+  private MicroserviceInstancePingExecutor() {
+  }
+
+  private static Executor createExecutor() {
+    AtomicInteger threadIndex = new AtomicInteger();
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(THREAD_COUNT, THREAD_COUNT, 60, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(), runnable -> {
+      Thread thread = new Thread(runnable, "microservice-instance-ping-" + threadIndex.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+}
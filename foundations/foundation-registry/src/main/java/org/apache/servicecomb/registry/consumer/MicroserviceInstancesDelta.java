@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.registry.consumer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.servicecomb.registry.api.registry.DataCenterInfo;
+import org.apache.servicecomb.registry.api.registry.MicroserviceInstance;
+
+/**
+ * difference between two instance sets of a microservice, key of the maps are instance id
+ */
+public class MicroserviceInstancesDelta {
+  private final List<MicroserviceInstance> added = new ArrayList<>();
+
+  private final List<MicroserviceInstance> removed = new ArrayList<>();
+
+  private final List<MicroserviceInstance> updated = new ArrayList<>();
+
+  // microservice id of all changed instances
+  private final Set<String> serviceIds = new HashSet<>();
+
+  public static MicroserviceInstancesDelta create(Map<String, MicroserviceInstance> oldInstances,
+      Map<String, MicroserviceInstance> newInstances) {
+    if (oldInstances == null) {
+      oldInstances = Collections.emptyMap();
+    }
+
+    MicroserviceInstancesDelta delta = new MicroserviceInstancesDelta();
+    for (MicroserviceInstance instance : newInstances.values()) {
+      MicroserviceInstance oldInstance = oldInstances.get(instance.getInstanceId());
+      if (oldInstance == null) {
+        delta.added.add(instance);
+        delta.serviceIds.add(instance.getServiceId());
+        continue;
+      }
+
+      if (isChanged(oldInstance, instance)) {
+        delta.updated.add(instance);
+        delta.serviceIds.add(oldInstance.getServiceId());
+        delta.serviceIds.add(instance.getServiceId());
+      }
+    }
+
+    for (MicroserviceInstance instance : oldInstances.values()) {
+      if (!newInstances.containsKey(instance.getInstanceId())) {
+        delta.removed.add(instance);
+        delta.serviceIds.add(instance.getServiceId());
+      }
+    }
+    return delta;
+  }
+
+  // stage is deprecated, but old service center still use it to distinguish environment
+  @SuppressWarnings("deprecation")
+  static boolean isChanged(MicroserviceInstance oldInstance, MicroserviceInstance newInstance) {
+    return !Objects.equals(oldInstance.getServiceId(), newInstance.getServiceId())
+        || oldInstance.getStatus() != newInstance.getStatus()
+        || !Objects.equals(oldInstance.getEndpoints(), newInstance.getEndpoints())
+        || !Objects.equals(oldInstance.getProperties(), newInstance.getProperties())
+        || !Objects.equals(oldInstance.getHostName(), newInstance.getHostName())
+        || !Objects.equals(oldInstance.getEnvironment(), newInstance.getEnvironment())
+        || !Objects.equals(oldInstance.getStage(), newInstance.getStage())
+        || isChanged(oldInstance.getDataCenterInfo(), newInstance.getDataCenterInfo());
+  }
+
+  // DataCenterInfo not implement equals, and zone aware filters depend on it
+  static boolean isChanged(DataCenterInfo oldInfo, DataCenterInfo newInfo) {
+    if (oldInfo == null || newInfo == null) {
+      return oldInfo != newInfo;
+    }
+    return !Objects.equals(oldInfo.getName(), newInfo.getName())
+        || !Objects.equals(oldInfo.getRegion(), newInfo.getRegion())
+        || !Objects.equals(oldInfo.getAvailableZone(), newInfo.getAvailableZone());
+  }
+
+  public boolean isEmpty() {
+    return serviceIds.isEmpty();
+  }
+
+  public List<MicroserviceInstance> getAdded() {
+    return added;
+  }
+
+  public List<MicroserviceInstance> getRemoved() {
+    return removed;
+  }
+
+  public List<MicroserviceInstance> getUpdated() {
+    return updated;
+  }
+
+  public Set<String> getServiceIds() {
+    return serviceIds;
+  }
+}
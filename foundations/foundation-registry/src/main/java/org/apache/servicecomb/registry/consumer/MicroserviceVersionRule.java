@@ -107,6 +107,30 @@ public class MicroserviceVersionRule {
     printData(data, allVersions.size(), allInstances.size());
   }
 
+  /**
+   * whether instances of serviceIds changed will change data of this rule
+   *
+   * @param serviceIds microservice id of changed instances
+   * @param allVersions all versions even not belongs to this rule
+   */
+  public boolean isAffected(Collection<String> serviceIds, Map<String, MicroserviceVersion> allVersions) {
+    if (DefinitionConst.VERSION_RULE_LATEST.equals(versionRule.getVersionRule())) {
+      return true;
+    }
+
+    for (String serviceId : serviceIds) {
+      if (data.versions.containsKey(serviceId)) {
+        return true;
+      }
+
+      MicroserviceVersion microserviceVersion = allVersions.get(serviceId);
+      if (microserviceVersion != null && versionRule.isAccept(microserviceVersion.version)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   private void printData(MicroserviceVersionRuleData data, int inputVersionCount, int inputInstanceCount) {
     String latestVersion = data.latestVersion == null ? null : data.latestVersion.getVersion().getVersion();
     if (data.getInstances().isEmpty()) {
@@ -23,7 +23,6 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.stream.Collectors;
 
 import org.apache.servicecomb.foundation.common.VendorExtensions;
@@ -33,6 +32,7 @@ import org.apache.servicecomb.registry.DiscoveryManager;
 import org.apache.servicecomb.registry.api.event.CreateMicroserviceEvent;
 import org.apache.servicecomb.registry.api.event.DestroyMicroserviceEvent;
 import org.apache.servicecomb.registry.api.event.MicroserviceInstanceChangedEvent;
+import org.apache.servicecomb.registry.api.event.MicroserviceInstancesUpdatedEvent;
 import org.apache.servicecomb.registry.api.registry.MicroserviceInstance;
 import org.apache.servicecomb.registry.api.registry.MicroserviceInstanceStatus;
 import org.apache.servicecomb.registry.api.registry.MicroserviceInstances;
@@ -66,6 +66,9 @@ public class MicroserviceVersions {
   //  instances means available instance
   Collection<MicroserviceInstance> instances;
 
+  // key is instance id, used to find out changed instances of next pull
+  private Map<String, MicroserviceInstance> instanceIdMap;
+
   // key is service id
   Map<String, MicroserviceVersion> versions = new ConcurrentHashMapEx<>();
 
@@ -225,20 +228,42 @@ public class MicroserviceVersions {
   private void setInstances(List<MicroserviceInstance> pulledInstances, String rev) {
     synchronized (lock) {
       MergedInstances mergedInstances = mergeInstances(pulledInstances, instances);
-      instances = mergedInstances.instanceIdMap.values();
-      // clear cache
-      versions.entrySet().forEach(versionEntry -> versionEntry.getValue().setInstances(new ArrayList<>()));
-      for (Entry<String, List<MicroserviceInstance>> entry : mergedInstances.microserviceIdMap.entrySet()) {
+      MicroserviceInstancesDelta delta = MicroserviceInstancesDelta
+          .create(instanceIdMap, mergedInstances.instanceIdMap);
+      if (delta.isEmpty()) {
+        // revision changed, but nothing we care about changed
+        revision = rev;
+        return;
+      }
+
+      // only versions of changed instances need to be refreshed
+      for (String serviceId : delta.getServiceIds()) {
+        List<MicroserviceInstance> versionInstances = mergedInstances.microserviceIdMap.get(serviceId);
+        if (versionInstances == null) {
+          MicroserviceVersion microserviceVersion = versions.get(serviceId);
+          if (microserviceVersion != null) {
+            microserviceVersion.setInstances(new ArrayList<>());
+          }
+          continue;
+        }
+
         // ensure microserviceVersion exists
-        versions.computeIfAbsent(entry.getKey(),
-            microserviceId -> createMicroserviceVersion(microserviceId, entry.getValue()))
-            .setInstances(entry.getValue());
+        versions.computeIfAbsent(serviceId,
+            microserviceId -> createMicroserviceVersion(microserviceId, versionInstances))
+            .setInstances(versionInstances);
       }
 
+      instanceIdMap = mergedInstances.instanceIdMap;
+      instances = instanceIdMap.values();
       for (MicroserviceVersionRule microserviceVersionRule : versionRules.values()) {
-        microserviceVersionRule.update(versions, instances);
+        if (microserviceVersionRule.isAffected(delta.getServiceIds(), versions)) {
+          microserviceVersionRule.update(versions, instances);
+        }
       }
       revision = rev;
+
+      // post inside the lock, so that events of concurrent pulls are delivered in the order they are applied
+      appManager.getEventBus().post(new MicroserviceInstancesUpdatedEvent(this, delta));
     }
   }
 
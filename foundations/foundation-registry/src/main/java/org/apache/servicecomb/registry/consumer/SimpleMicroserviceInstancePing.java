@@ -19,15 +19,24 @@ package org.apache.servicecomb.registry.consumer;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.servicecomb.foundation.common.net.IpPort;
 import org.apache.servicecomb.foundation.common.net.NetUtils;
+import org.apache.servicecomb.foundation.vertx.VertxUtils;
 import org.apache.servicecomb.registry.api.registry.MicroserviceInstance;
 
+import io.vertx.core.net.NetClient;
+import io.vertx.core.net.NetClientOptions;
+
 /**
  * Simple implementation of .MicroserviceInstancePing using telnet
  */
 public class SimpleMicroserviceInstancePing implements MicroserviceInstancePing {
+  private static final int CONNECT_TIMEOUT = 3000;
+
+  private volatile NetClient netClient;
+
   @Override
   public int getOrder() {
     return 100;
@@ -38,7 +47,7 @@ public class SimpleMicroserviceInstancePing implements MicroserviceInstancePing
     if (instance.getEndpoints() != null && instance.getEndpoints().size() > 0) {
       IpPort ipPort = NetUtils.parseIpPortFromURI(instance.getEndpoints().get(0));
       try (Socket s = new Socket()) {
-        s.connect(new InetSocketAddress(ipPort.getHostOrIp(), ipPort.getPort()), 3000);
+        s.connect(new InetSocketAddress(ipPort.getHostOrIp(), ipPort.getPort()), CONNECT_TIMEOUT);
         return true;
       } catch (IOException e) {
         // ignore this error
@@ -46,4 +55,33 @@ public class SimpleMicroserviceInstancePing implements MicroserviceInstancePing
     }
     return false;
   }
+
+  @Override
+  public CompletableFuture<Boolean> pingAsync(MicroserviceInstance instance) {
+    if (instance.getEndpoints() == null || instance.getEndpoints().isEmpty()) {
+      return CompletableFuture.completedFuture(false);
+    }
+
+    IpPort ipPort = NetUtils.parseIpPortFromURI(instance.getEndpoints().get(0));
+    CompletableFuture<Boolean> future = new CompletableFuture<>();
+    getNetClient().connect(ipPort.getPort(), ipPort.getHostOrIp(), ar -> {
+      if (ar.succeeded()) {
+        ar.result().close();
+      }
+      future.complete(ar.succeeded());
+    });
+    return future;
+  }
+
+  private NetClient getNetClient() {
+    if (netClient == null) {
+      synchronized (this) {
+        if (netClient == null) {
+          netClient = VertxUtils.getOrCreateVertxByName("transport", null)
+              .createNetClient(new NetClientOptions().setConnectTimeout(CONNECT_TIMEOUT));
+        }
+      }
+    }
+    return netClient;
+  }
 }
@@ -21,8 +21,12 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.servicecomb.foundation.common.cache.VersionedCache;
+import org.apache.servicecomb.foundation.common.concurrent.ConcurrentHashMapEx;
 import org.apache.servicecomb.foundation.common.exceptions.ServiceCombException;
 import org.apache.servicecomb.foundation.common.utils.SPIServiceUtils;
 import org.apache.servicecomb.registry.DiscoveryManager;
@@ -76,9 +80,13 @@ import org.slf4j.LoggerFactory;
 public class DiscoveryTree {
   private static final Logger LOGGER = LoggerFactory.getLogger(DiscoveryTree.class);
 
-  private volatile DiscoveryTreeNode root;
+  // every app/microservice/versionRule has its own root, so that instances changes of one microservice
+  // will not expire the caches of other microservices
+  private final Map<String, DiscoveryTreeNode> roots = new ConcurrentHashMapEx<>();
 
-  private final Object lock = new Object();
+  private final LongAdder rebuildCount = new LongAdder();
+
+  private final LongAdder rebuildNanos = new LongAdder();
 
   private List<DiscoveryFilter> filters = new ArrayList<>();
 
@@ -119,33 +127,49 @@ public class DiscoveryTree {
         .getInstanceCacheManager()
         .getOrCreateVersionedCache(appId, microserviceName, versionRule);
 
-    return discovery(context, instanceVersionedCache);
+    return discovery(context, appId + "/" + microserviceName + "/" + versionRule, instanceVersionedCache);
   }
 
   public DiscoveryTreeNode discovery(DiscoveryContext context, VersionedCache inputCache) {
-    DiscoveryTreeNode tmpRoot = getOrCreateRoot(inputCache);
-    DiscoveryTreeNode parent = tmpRoot.children()
+    return discovery(context, inputCache.name(), inputCache);
+  }
+
+  /**
+   * @param rootKey identify the input cache, input caches with the same key share a root
+   */
+  public DiscoveryTreeNode discovery(DiscoveryContext context, String rootKey, VersionedCache inputCache) {
+    DiscoveryTreeNode tmpRoot = getOrCreateRoot(rootKey, inputCache);
+    DiscoveryTreeNode parent = tmpRoot.children().get(inputCache.name());
+    if (parent != null) {
+      return doDiscovery(context, parent);
+    }
+
+    // first discovery of this version, filters will rebuild their caches
+    long start = System.nanoTime();
+    parent = tmpRoot.children()
         .computeIfAbsent(inputCache.name(), name -> new DiscoveryTreeNode().fromCache(inputCache));
-    return doDiscovery(context, parent);
+    DiscoveryTreeNode result = doDiscovery(context, parent);
+    rebuildCount.increment();
+    rebuildNanos.add(System.nanoTime() - start);
+    return result;
   }
 
-  protected DiscoveryTreeNode getOrCreateRoot(VersionedCache inputCache) {
-    DiscoveryTreeNode tmpRoot = root;
+  protected DiscoveryTreeNode getOrCreateRoot(String rootKey, VersionedCache inputCache) {
+    DiscoveryTreeNode tmpRoot = roots.get(rootKey);
     if (isMatch(tmpRoot, inputCache)) {
       return tmpRoot;
     }
 
-    synchronized (lock) {
-      if (isExpired(root, inputCache)) {
+    // only lock the entry of rootKey
+    tmpRoot = roots.compute(rootKey, (key, existing) -> {
+      if (isExpired(existing, inputCache)) {
         // not initialized or inputCache newer than root, create new root
-        root = new DiscoveryTreeNode().cacheVersion(inputCache.cacheVersion());
-        return root;
-      }
-
-      if (root.isSameVersion(inputCache)) {
-        // reuse root directly
-        return root;
+        return new DiscoveryTreeNode().cacheVersion(inputCache.cacheVersion());
       }
+      return existing;
+    });
+    if (tmpRoot.isSameVersion(inputCache)) {
+      return tmpRoot;
     }
 
     // root newer than inputCache, it's a minimal probability event:
@@ -157,6 +181,20 @@ public class DiscoveryTree {
     return new DiscoveryTreeNode().cacheVersion(inputCache.cacheVersion());
   }
 
+  /**
+   * @return how many times the filters rebuild caches for a new version of instances
+   */
+  public long getRebuildCount() {
+    return rebuildCount.sum();
+  }
+
+  /**
+   * @return total time of rebuild, in milliseconds
+   */
+  public long getRebuildTime() {
+    return TimeUnit.NANOSECONDS.toMillis(rebuildNanos.sum());
+  }
+
   protected DiscoveryTreeNode doDiscovery(DiscoveryContext context, DiscoveryTreeNode parent) {
     for (int idx = 0; idx < filters.size(); ) {
       DiscoveryFilter filter = filters.get(idx);
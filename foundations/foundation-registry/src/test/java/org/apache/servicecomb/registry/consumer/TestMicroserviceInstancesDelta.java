@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.registry.consumer;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.apache.servicecomb.registry.api.registry.DataCenterInfo;
+import org.apache.servicecomb.registry.api.registry.MicroserviceInstance;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestMicroserviceInstancesDelta {
+  private MicroserviceInstance createInstance(String zone) {
+    MicroserviceInstance instance = new MicroserviceInstance();
+    instance.setServiceId("sid");
+    instance.setInstanceId("iid");
+    if (zone != null) {
+      DataCenterInfo dataCenterInfo = new DataCenterInfo();
+      dataCenterInfo.setName("dc");
+      dataCenterInfo.setRegion("region");
+      dataCenterInfo.setAvailableZone(zone);
+      instance.setDataCenterInfo(dataCenterInfo);
+    }
+    return instance;
+  }
+
+  private Map<String, MicroserviceInstance> toMap(MicroserviceInstance instance) {
+    return Collections.singletonMap(instance.getInstanceId(), instance);
+  }
+
+  @Test
+  public void dataCenterInfoNotChanged() {
+    Assert.assertTrue(MicroserviceInstancesDelta
+        .create(toMap(createInstance(null)), toMap(createInstance(null))).isEmpty());
+    Assert.assertTrue(MicroserviceInstancesDelta
+        .create(toMap(createInstance("zone-1")), toMap(createInstance("zone-1"))).isEmpty());
+  }
+
+  @Test
+  public void dataCenterInfoChanged() {
+    MicroserviceInstancesDelta delta = MicroserviceInstancesDelta
+        .create(toMap(createInstance("zone-1")), toMap(createInstance("zone-2")));
+    Assert.assertEquals(1, delta.getUpdated().size());
+    Assert.assertEquals(Collections.singleton("sid"), delta.getServiceIds());
+
+    Assert.assertEquals(1, MicroserviceInstancesDelta
+        .create(toMap(createInstance(null)), toMap(createInstance("zone-1"))).getUpdated().size());
+  }
+}
@@ -19,6 +19,7 @@ package org.apache.servicecomb.registry.discovery;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.servicecomb.config.ConfigUtil;
 import org.apache.servicecomb.foundation.common.cache.VersionedCache;
@@ -57,6 +58,8 @@ public class TestDiscoveryTree {
 
   List<DiscoveryFilter> filters = Deencapsulation.getField(discoveryTree, "filters");
 
+  Map<String, DiscoveryTreeNode> roots = Deencapsulation.getField(discoveryTree, "roots");
+
   DiscoveryContext context = new DiscoveryContext();
 
   DiscoveryTreeNode parent = new DiscoveryTreeNode().name("parent");
@@ -262,7 +265,7 @@ public class TestDiscoveryTree {
 
   @Test
   public void avoidConcurrentProblem() {
-    Deencapsulation.setField(discoveryTree, "root", parent.cacheVersion(1));
+    roots.put("input", parent.cacheVersion(1));
     Assert.assertTrue(parent.children().isEmpty());
 
     discoveryTree.discovery(context, new VersionedCache().cacheVersion(0).name("input"));
@@ -271,32 +274,54 @@ public class TestDiscoveryTree {
 
   @Test
   public void getOrCreateRoot_match() {
-    Deencapsulation.setField(discoveryTree, "root", parent);
+    roots.put("key", parent);
 
-    DiscoveryTreeNode root = discoveryTree.getOrCreateRoot(parent);
+    DiscoveryTreeNode root = discoveryTree.getOrCreateRoot("key", parent);
 
     Assert.assertSame(parent, root);
   }
 
   @Test
   public void getOrCreateRoot_expired() {
-    Deencapsulation.setField(discoveryTree, "root", parent);
+    roots.put("key", parent);
 
     VersionedCache inputCache = new VersionedCache().cacheVersion(parent.cacheVersion() + 1);
-    DiscoveryTreeNode root = discoveryTree.getOrCreateRoot(inputCache);
+    DiscoveryTreeNode root = discoveryTree.getOrCreateRoot("key", inputCache);
 
     Assert.assertEquals(inputCache.cacheVersion(), root.cacheVersion());
-    Assert.assertSame(Deencapsulation.getField(discoveryTree, "root"), root);
+    Assert.assertSame(roots.get("key"), root);
   }
 
   @Test
   public void getOrCreateRoot_tempRoot() {
-    Deencapsulation.setField(discoveryTree, "root", parent);
+    roots.put("key", parent);
 
     VersionedCache inputCache = new VersionedCache().cacheVersion(parent.cacheVersion() - 1);
-    DiscoveryTreeNode root = discoveryTree.getOrCreateRoot(inputCache);
+    DiscoveryTreeNode root = discoveryTree.getOrCreateRoot("key", inputCache);
 
     Assert.assertEquals(inputCache.cacheVersion(), root.cacheVersion());
-    Assert.assertNotSame(Deencapsulation.getField(discoveryTree, "root"), root);
+    Assert.assertNotSame(roots.get("key"), root);
+  }
+
+  @Test
+  public void getOrCreateRoot_otherKeyNotExpired() {
+    roots.put("key", parent);
+
+    VersionedCache inputCache = new VersionedCache().cacheVersion(parent.cacheVersion() + 1);
+    DiscoveryTreeNode root = discoveryTree.getOrCreateRoot("otherKey", inputCache);
+
+    Assert.assertSame(parent, roots.get("key"));
+    Assert.assertSame(roots.get("otherKey"), root);
+  }
+
+  @Test
+  public void rebuildOnlyForNewVersion() {
+    VersionedCache inputCache = new VersionedCache().autoCacheVersion().name("input");
+    discoveryTree.discovery(context, inputCache);
+    discoveryTree.discovery(context, inputCache);
+    Assert.assertEquals(1, discoveryTree.getRebuildCount());
+
+    discoveryTree.discovery(context, new VersionedCache().autoCacheVersion().name("input"));
+    Assert.assertEquals(2, discoveryTree.getRebuildCount());
   }
 }
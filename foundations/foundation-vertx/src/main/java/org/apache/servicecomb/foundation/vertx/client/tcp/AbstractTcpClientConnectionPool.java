@@ -17,8 +17,10 @@
 
 package org.apache.servicecomb.foundation.vertx.client.tcp;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.servicecomb.foundation.common.concurrent.ConcurrentHashMapEx;
 
@@ -30,29 +32,54 @@ public abstract class AbstractTcpClientConnectionPool<T extends TcpClientConnect
 
   protected NetClientWrapper netClientWrapper;
 
-  // key为address
-  protected Map<String, T> tcpClientMap = new ConcurrentHashMapEx<>();
+  // key为address, value is connections to the address
+  protected Map<String, List<T>> tcpClientMap = new ConcurrentHashMapEx<>();
+
+  // start position of choosing, so that idle connections are used in turn
+  private final AtomicInteger chooseIndex = new AtomicInteger();
 
   public AbstractTcpClientConnectionPool(Context context,
       NetClientWrapper netClientWrapper) {
     this.context = context;
     this.netClientWrapper = netClientWrapper;
-
-    startCheckTimeout(context);
   }
 
-  protected void startCheckTimeout(Context context) {
-    context.owner().setPeriodic(TimeUnit.SECONDS.toMillis(1), this::onCheckTimeout);
+  public T findOrCreateClient(String endpoint) {
+    List<T> clients = tcpClientMap.computeIfAbsent(endpoint, this::createClients);
+    if (clients.size() == 1) {
+      return clients.get(0);
+    }
+
+    return chooseLeastPending(clients);
   }
 
-  private void onCheckTimeout(Long event) {
-    for (TcpClientConnection client : tcpClientMap.values()) {
-      client.checkTimeout();
+  protected List<T> createClients(String endpoint) {
+    T first = create(endpoint);
+    int count = Math.max(1, first.getClientConfig().getConnectionsPerEndpoint());
+
+    List<T> clients = new ArrayList<>(count);
+    clients.add(first);
+    for (int idx = 1; idx < count; idx++) {
+      clients.add(create(endpoint));
     }
+    return clients;
   }
 
-  public T findOrCreateClient(String endpoint) {
-    return tcpClientMap.computeIfAbsent(endpoint, this::create);
+  protected T chooseLeastPending(List<T> clients) {
+    int size = clients.size();
+    int start = (chooseIndex.getAndIncrement() & Integer.MAX_VALUE) % size;
+
+    T chosen = null;
+    long minPending = Long.MAX_VALUE;
+    for (int idx = 0; idx < size; idx++) {
+      T client = clients.get((start + idx) % size);
+      long pending = client.getWaitingRequestCount() + client.getWriteQueueSize();
+      if (pending < minPending) {
+        chosen = client;
+        minPending = pending;
+      }
+    }
+    return chosen;
   }
 
   protected abstract T create(String endpoint);
@@ -22,10 +22,24 @@ import io.vertx.core.net.NetClientOptions;
 public class TcpClientConfig extends NetClientOptions {
   public static final int DEFAULT_LOGIN_TIMEOUT = 30000;
 
+  public static final int DEFAULT_CONNECTIONS_PER_ENDPOINT = 1;
+
   private long msLoginTimeout;
 
+  // connections to the same endpoint in one pool, avoid a large message blocking all other messages
+  private int connectionsPerEndpoint;
+
+  // bytes, 0 means not limit
+  private long writeHighWatermark;
+
+  private long writeLowWatermark;
+
+  // when not writable, true to wait until writable or timeout, false to fail immediately
+  private boolean waitWritable;
+
   public TcpClientConfig() {
     msLoginTimeout = DEFAULT_LOGIN_TIMEOUT;
+    connectionsPerEndpoint = DEFAULT_CONNECTIONS_PER_ENDPOINT;
   }
 
   public long getMsLoginTimeout() {
@@ -35,4 +49,36 @@ public class TcpClientConfig extends NetClientOptions {
   public void setMsLoginTimeout(long msLoginTimeout) {
     this.msLoginTimeout = msLoginTimeout;
   }
+
+  public int getConnectionsPerEndpoint() {
+    return connectionsPerEndpoint;
+  }
+
+  public void setConnectionsPerEndpoint(int connectionsPerEndpoint) {
+    this.connectionsPerEndpoint = connectionsPerEndpoint;
+  }
+
+  public long getWriteHighWatermark() {
+    return writeHighWatermark;
+  }
+
+  public void setWriteHighWatermark(long writeHighWatermark) {
+    this.writeHighWatermark = writeHighWatermark;
+  }
+
+  public long getWriteLowWatermark() {
+    return writeLowWatermark;
+  }
+
+  public void setWriteLowWatermark(long writeLowWatermark) {
+    this.writeLowWatermark = writeLowWatermark;
+  }
+
+  public boolean isWaitWritable() {
+    return waitWritable;
+  }
+
+  public void setWaitWritable(boolean waitWritable) {
+    this.waitWritable = waitWritable;
+  }
 }
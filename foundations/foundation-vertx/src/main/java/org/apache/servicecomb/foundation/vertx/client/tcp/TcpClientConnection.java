@@ -20,11 +20,11 @@ package org.apache.servicecomb.foundation.vertx.client.tcp;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.apache.servicecomb.foundation.common.net.URIEndpointObject;
@@ -32,11 +32,15 @@ import org.apache.servicecomb.foundation.vertx.server.TcpParser;
 import org.apache.servicecomb.foundation.vertx.tcp.TcpConnection;
 import org.apache.servicecomb.foundation.vertx.tcp.TcpConst;
 import org.apache.servicecomb.foundation.vertx.tcp.TcpOutputStream;
+import org.apache.servicecomb.foundation.vertx.tcp.WriteQueueFullException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.annotations.VisibleForTesting;
 
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timer;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.buffer.Buffer;
@@ -46,6 +50,11 @@ import io.vertx.core.net.impl.NetSocketImpl;
 public class TcpClientConnection extends TcpConnection {
   private static final Logger LOGGER = LoggerFactory.getLogger(TcpClientConnection.class);
 
+  // all connections share one wheel, adding or canceling a timeout is O(1), not related to count of waiting requests
+  // the timer thread only detects timeout, and then switch to the eventloop of the connection to process it
+  private static final Timer TIMEOUT_TIMER = new HashedWheelTimer(
+      new DefaultThreadFactory("tcp-client-timeout", true), 10, TimeUnit.MILLISECONDS, 1024);
+
   enum Status {
     CONNECTING,
     DISCONNECTED,
@@ -82,6 +91,9 @@ public class TcpClientConnection extends TcpConnection {
     this.socketAddress = endpoint.getSocketAddress();
     this.remoteSupportLogin = Boolean.parseBoolean(endpoint.getFirst(TcpConst.LOGIN));
     this.clientConfig = netClientWrapper.getClientConfig(endpoint.isSslEnabled());
+    if (clientConfig != null) {
+      setWriteWatermark(clientConfig.getWriteHighWatermark(), clientConfig.getWriteLowWatermark());
+    }
   }
 
   public boolean isLocalSupportLogin() {
@@ -104,6 +116,16 @@ public class TcpClientConnection extends TcpConnection {
     return true;
   }
 
+  // count of requests waiting for reply
+  public int getWaitingRequestCount() {
+    return requestMap.size();
+  }
+
+  // encode package after login, so can use parameters negotiated in login
+  protected TcpOutputStream createStream(AbstractTcpClientPackage tcpClientPackage) {
+    return tcpClientPackage.createStream();
+  }
+
   public CompletableFuture<TcpData> send(AbstractTcpClientPackage tcpClientPackage) {
     CompletableFuture<TcpData> future = new CompletableFuture<>();
     send(tcpClientPackage, ar -> {
@@ -117,8 +139,27 @@ public class TcpClientConnection extends TcpConnection {
   }
 
   public void send(AbstractTcpClientPackage tcpClientPackage, TcpResponseCallback callback) {
-    requestMap.put(tcpClientPackage.getMsgId(), new TcpRequest(tcpClientPackage.getMsRequestTimeout(), callback));
+    if (!isWritable() && !clientConfig.isWaitWritable()) {
+      callback.fail(createWriteQueueFullException());
+      return;
+    }
+
+    addRequest(tcpClientPackage.getMsgId(), new TcpRequest(tcpClientPackage.getMsRequestTimeout(), callback));
+    if (!isWritable()) {
+      // request timeout is already started, so will not wait forever
+      waitWritable(() -> doSend(tcpClientPackage));
+      return;
+    }
 
+    doSend(tcpClientPackage);
+  }
+
+  protected Throwable createWriteQueueFullException() {
+    return new WriteQueueFullException(String.format(
+        "write queue of connection is full, address=%s, bytes=%d.", socketAddress, getWriteQueueBytes()));
+  }
+
+  private void doSend(AbstractTcpClientPackage tcpClientPackage) {
     if (writeToBufferQueue(tcpClientPackage)) {
       return;
     }
@@ -143,8 +184,8 @@ public class TcpClientConnection extends TcpConnection {
     // just optimize for main scenes
     if (Status.WORKING.equals(status)) {
       // encode in sender thread
-      try (TcpOutputStream os = tcpClientPackage.createStream()) {
-        write(os.getByteBuf());
+      try (TcpOutputStream os = createStream(tcpClientPackage)) {
+        write(os.detachByteBuf());
         tcpClientPackage.finishWriteToBuffer();
       }
       return true;
@@ -167,9 +208,8 @@ public class TcpClientConnection extends TcpConnection {
         break;
       }
 
-      try (TcpOutputStream os = pkg.createStream()) {
-        Buffer buf = os.getBuffer();
-        netSocket.write(buf);
+      try (TcpOutputStream os = createStream(pkg)) {
+        writeMessage(os.detachByteBuf());
         pkg.finishWriteToBuffer();
       }
     }
@@ -222,7 +262,8 @@ public class TcpClientConnection extends TcpConnection {
         e.getMessage());
   }
 
-  private void onDisconnected(Throwable e) {
+  // invoked in context thread after the socket closed
+  protected void onDisconnected(Throwable e) {
     this.status = Status.DISCONNECTED;
     LOGGER.error("{} disconnected from {}, in thread {}, cause {}",
         netSocket.localAddress().toString(),
@@ -230,6 +271,9 @@ public class TcpClientConnection extends TcpConnection {
         Thread.currentThread().getName(),
         e.getMessage());
 
+    // packages and frames of the closed socket belong to requests failed below, must not be sent after reconnect
+    packageQueue.clear();
+    discardPendingWrites();
     clearCachedRequest(e);
   }
 
@@ -248,8 +292,7 @@ public class TcpClientConnection extends TcpConnection {
     LOGGER.info("try login to address {}", socketAddress.toString());
 
     try (TcpOutputStream os = createLogin()) {
-      requestMap.put(os.getMsgId(),
-          new TcpRequest(clientConfig.getMsLoginTimeout(), this::onLoginResponse));
+      addRequest(os.getMsgId(), new TcpRequest(clientConfig.getMsLoginTimeout(), this::onLoginResponse));
       netSocket.write(os.getBuffer());
     }
   }
@@ -294,6 +337,7 @@ public class TcpClientConnection extends TcpConnection {
     requestMap = new ConcurrentHashMap<>();
 
     for (TcpRequest request : oldMap.values()) {
+      request.cancelTimeout();
       request.onSendError(cause);
     }
     oldMap.clear();
@@ -306,24 +350,26 @@ public class TcpClientConnection extends TcpConnection {
       return;
     }
 
+    request.cancelTimeout();
     request.onReply(headerBuffer, bodyBuffer);
   }
 
-  public void checkTimeout() {
-    for (Entry<Long, TcpRequest> entry : requestMap.entrySet()) {
-      TcpRequest request = entry.getValue();
-      if (request.isTimeout()) {
-        // 可能正好收到reply，且被处理了，所以这里的remove不一定有效
-        // 是否有效，根据remove的结果来决定
-        request = requestMap.remove(entry.getKey());
-        if (request != null) {
-          String msg =
-              String.format("request timeout, msgId=%d, address=%s", entry.getKey(), socketAddress);
-          LOGGER.error(msg);
-
-          request.onTimeout(new TimeoutException(msg));
-        }
-      }
+  protected void addRequest(long msgId, TcpRequest request) {
+    // must put before start timeout, otherwise timeout task maybe can not find the request
+    requestMap.put(msgId, request);
+    request.startTimeout(TIMEOUT_TIMER, timeout -> context.runOnContext(v -> onRequestTimeout(msgId)));
+  }
+
+  @VisibleForTesting
+  protected void onRequestTimeout(long msgId) {
+    // 可能正好收到reply，且被处理了，所以这里的remove不一定有效
+    // 是否有效，根据remove的结果来决定
+    TcpRequest request = requestMap.remove(msgId);
+    if (request != null) {
+      String msg = String.format("request timeout, msgId=%d, address=%s", msgId, socketAddress);
+      LOGGER.error(msg);
+
+      request.onTimeout(new TimeoutException(msg));
     }
   }
 }
@@ -17,8 +17,12 @@
 
 package org.apache.servicecomb.foundation.vertx.client.tcp;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
 import io.vertx.core.Context;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
@@ -34,6 +38,8 @@ public class TcpRequest {
 
   private TcpResponseCallback responseCallback;
 
+  private volatile Timeout timeout;
+
   public TcpRequest(long msTimeout, TcpResponseCallback responseCallback) {
     callContext = Vertx.currentContext();
     threadId = Thread.currentThread().getId();
@@ -63,6 +69,18 @@ public class TcpRequest {
     return System.currentTimeMillis() - begin >= msTimeout;
   }
 
+  public void startTimeout(Timer timer, TimerTask task) {
+    timeout = timer.newTimeout(task, msTimeout - (System.currentTimeMillis() - begin), TimeUnit.MILLISECONDS);
+  }
+
+  // reply maybe arrive before timeout started, then the timeout task will not find the request, that's harmless
+  public void cancelTimeout() {
+    Timeout current = timeout;
+    if (current != null) {
+      current.cancel();
+    }
+  }
+
   public void onTimeout(TimeoutException e) {
     responseCallback.fail(e);
   }
@@ -40,6 +40,9 @@ public class DefaultEndpointMetric {
 
   private LongAdder latency = new LongAdder();
 
+  // bytes waiting to be written in all tcp connections of this endpoint
+  private LongAdder queuedBytes = new LongAdder();
+
   public DefaultEndpointMetric(String address) {
     this.address = address;
   }
@@ -99,4 +102,12 @@ public class DefaultEndpointMetric {
   public long getLatency() {
     return latency.longValue();
   }
+
+  public void addQueuedBytes(long delta) {
+    queuedBytes.add(delta);
+  }
+
+  public long getQueuedBytes() {
+    return queuedBytes.longValue();
+  }
 }
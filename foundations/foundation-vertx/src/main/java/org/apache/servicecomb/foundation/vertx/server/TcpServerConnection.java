@@ -46,8 +46,14 @@ public class TcpServerConnection extends TcpConnection {
       LOGGER.error("disconected from {}, in thread {}",
           remoteAddress,
           Thread.currentThread().getName());
+      onClosed();
     });
 
     netSocket.handler(splitter);
   }
+
+  // invoked in context thread after the socket closed
+  protected void onClosed() {
+    discardPendingWrites();
+  }
 }
@@ -29,7 +29,7 @@ import io.vertx.core.buffer.Buffer;
  *
  */
 public class BufferOutputStream extends OutputStream {
-  private static final int DIRECT_BUFFER_SIZE = 1024;
+  protected static final int DIRECT_BUFFER_SIZE = 1024;
 
   protected ByteBuf byteBuf;
 
@@ -57,10 +57,28 @@ public class BufferOutputStream extends OutputStream {
     this.byteBuf = buffer;
   }
 
+  /**
+   * @param needReleaseBuffer if true, buffer will be released when close this stream,
+   *   unless the ownership has been transferred by {@link #detachByteBuf()}
+   */
+  public BufferOutputStream(ByteBuf buffer, boolean needReleaseBuffer) {
+    this.byteBuf = buffer;
+    this.needReleaseBuffer = needReleaseBuffer;
+  }
+
   public ByteBuf getByteBuf() {
     return byteBuf;
   }
 
+  /**
+   * transfer ownership of the ByteBuf to the caller<br>
+   * after this, close will not release the ByteBuf, the caller or the receiver(eg: netty) must release it
+   */
+  public ByteBuf detachByteBuf() {
+    needReleaseBuffer = false;
+    return byteBuf;
+  }
+
   public Buffer getBuffer() {
     return Buffer.buffer(byteBuf);
   }
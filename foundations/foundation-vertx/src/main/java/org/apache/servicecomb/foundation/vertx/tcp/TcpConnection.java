@@ -18,15 +18,19 @@ package org.apache.servicecomb.foundation.vertx.tcp;
 
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.servicecomb.foundation.vertx.metrics.metric.DefaultEndpointMetric;
+import org.apache.servicecomb.foundation.vertx.metrics.metric.DefaultTcpSocketMetric;
+
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.CompositeByteBuf;
 import io.vertx.core.Context;
-import io.vertx.core.buffer.Buffer;
 import io.vertx.core.net.NetSocket;
 import io.vertx.core.net.impl.NetSocketImpl;
+import io.vertx.core.net.impl.NetSocketInternal;
 
 public class TcpConnection {
   protected String protocol;
@@ -53,6 +57,24 @@ public class TcpConnection {
 
   private AtomicLong writeQueueSize = new AtomicLong();
 
+  // bytes of writeQueue, not include bytes already submitted to netty
+  // when netty's outbound buffer is full, stop submitting, so bytes accumulate here
+  private AtomicLong writeQueueBytes = new AtomicLong();
+
+  // 0 means not limit
+  private long writeHighWatermark;
+
+  private long writeLowWatermark;
+
+  // false after writeQueueBytes exceed high watermark, until it drops to low watermark
+  // changed by both caller threads and context thread, must be atomic with the check of writeQueueBytes
+  private final AtomicBoolean writable = new AtomicBoolean(true);
+
+  // invoked in context thread when become writable again
+  private Queue<Runnable> writableWaiters = new ConcurrentLinkedQueue<>();
+
+  private DefaultEndpointMetric endpointMetric;
+
   public String getProtocol() {
     return protocol;
   }
@@ -61,6 +83,40 @@ public class TcpConnection {
     this.protocol = protocol;
   }
 
+  // count of messages waiting to be written to the socket
+  public long getWriteQueueSize() {
+    return writeQueueSize.get();
+  }
+
+  public long getWriteQueueBytes() {
+    return writeQueueBytes.get();
+  }
+
+  /**
+   * @param writeHighWatermark when bytes waiting to be written exceed this value, connection become not writable,
+   *    0 means not limit
+   * @param writeLowWatermark when bytes waiting to be written drop to this value, connection become writable again
+   */
+  public void setWriteWatermark(long writeHighWatermark, long writeLowWatermark) {
+    this.writeHighWatermark = writeHighWatermark;
+    this.writeLowWatermark = Math.min(writeLowWatermark, writeHighWatermark);
+  }
+
+  public boolean isWritable() {
+    return writable.get();
+  }
+
+  /**
+   * run the action in context thread after connection become writable
+   */
+  public void waitWritable(Runnable action) {
+    writableWaiters.add(action);
+    // maybe become writable before add
+    if (writable.get()) {
+      context.runOnContext(v -> notifyWritable());
+    }
+  }
+
   public String getZipName() {
     return zipName;
   }
@@ -81,10 +137,19 @@ public class TcpConnection {
     this.netSocket = netSocket;
 
     this.context = netSocket.getContext();
+    Object metric = netSocket.metric();
+    if (metric instanceof DefaultTcpSocketMetric) {
+      this.endpointMetric = ((DefaultTcpSocketMetric) metric).getEndpointMetric();
+    }
   }
 
+  /**
+   * ownership of buf is transferred to this connection, it will be released by netty after written to the socket
+   */
   public void write(ByteBuf buf) {
+    long bytes = buf.readableBytes();
     writeQueue.add(buf);
+    addWriteQueueBytes(bytes);
     long oldSize = writeQueueSize.getAndIncrement();
     if (oldSize == 0) {
       scheduleWrite();
@@ -101,21 +166,99 @@ public class TcpConnection {
   protected void writeInContext() {
     CompositeByteBuf cbb = ByteBufAllocator.DEFAULT.compositeBuffer();
     for (; ; ) {
+      // peer is slow, keep others in writeQueue, drainHandler will continue
+      // writeQueueSize is not 0, so new writes will not schedule again
+      if (netSocket.writeQueueFull()) {
+        netSocket.drainHandler(v -> writeInContext());
+        break;
+      }
+
       ByteBuf buf = writeQueue.poll();
       if (buf == null) {
         break;
       }
 
       writeQueueSize.decrementAndGet();
+      addWriteQueueBytes(-buf.readableBytes());
       cbb.addComponent(true, buf);
 
       if (cbb.numComponents() == cbb.maxNumComponents()) {
-        netSocket.write(Buffer.buffer(cbb));
+        writeMessage(cbb);
         cbb = ByteBufAllocator.DEFAULT.compositeBuffer();
       }
     }
     if (cbb.isReadable()) {
-      netSocket.write(Buffer.buffer(cbb));
+      writeMessage(cbb);
+    } else {
+      cbb.release();
+    }
+
+    checkWritable();
+  }
+
+  private void addWriteQueueBytes(long delta) {
+    long bytes = writeQueueBytes.addAndGet(delta);
+    if (endpointMetric != null) {
+      endpointMetric.addQueuedBytes(delta);
     }
+
+    if (delta > 0 && writeHighWatermark > 0 && bytes > writeHighWatermark
+        && writable.compareAndSet(true, false)
+        && writeQueueBytes.get() <= writeLowWatermark) {
+      // context thread drained the queue before marked as not writable, and will not check again
+      context.runOnContext(v -> checkWritable());
+    }
+  }
+
+  // must be invoked in context thread
+  private void checkWritable() {
+    if (!writable.get() && writeQueueBytes.get() <= writeLowWatermark) {
+      notifyWritable();
+    }
+  }
+
+  // must be invoked in context thread
+  protected void notifyWritable() {
+    writable.set(true);
+    for (; ; ) {
+      Runnable action = writableWaiters.poll();
+      if (action == null) {
+        return;
+      }
+
+      action.run();
+      if (!writable.get()) {
+        // action made it full again, others wait for next time
+        return;
+      }
+    }
+  }
+
+  /**
+   * must be invoked in context thread after the socket closed<br>
+   * data in writeQueue will never be written, release them and reset the write state, so that a reconnected
+   * socket starts clean instead of failing as not writable or replaying stale frames<br>
+   * waiters are dropped, owner must fail the related requests, eg: client fails all requests waiting for reply
+   */
+  protected void discardPendingWrites() {
+    for (; ; ) {
+      ByteBuf buf = writeQueue.poll();
+      if (buf == null) {
+        break;
+      }
+
+      writeQueueSize.decrementAndGet();
+      addWriteQueueBytes(-buf.readableBytes());
+      buf.release();
+    }
+
+    writableWaiters.clear();
+    writable.set(true);
+  }
+
+  // must be invoked in context thread
+  // not wrap to vertx Buffer, so that netty can release buf and it's components(maybe pooled) after written
+  protected void writeMessage(ByteBuf buf) {
+    ((NetSocketInternal) netSocket).writeMessage(buf);
   }
 }
@@ -20,6 +20,10 @@ package org.apache.servicecomb.foundation.vertx.tcp;
 import org.apache.servicecomb.foundation.vertx.server.TcpParser;
 import org.apache.servicecomb.foundation.vertx.stream.BufferOutputStream;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.vertx.core.buffer.Buffer;
+
 /**
  * TcpOutputStream
  *
@@ -29,13 +33,30 @@ public class TcpOutputStream extends BufferOutputStream {
   private long msgId;
 
   public TcpOutputStream(long msgId) {
-    super();
+    this(msgId, false);
+  }
+
+  /**
+   * @param pooled if true, encode to a direct buffer allocated from {@link PooledByteBufAllocator}<br>
+   *   the buffer must be handed over to {@link TcpConnection} by {@link #detachByteBuf()}, otherwise close will
+   *   release it
+   */
+  public TcpOutputStream(long msgId, boolean pooled) {
+    super(createByteBuf(pooled), pooled);
 
     this.msgId = msgId;
     write(TcpParser.TCP_MAGIC);
     writeLong(msgId);
   }
 
+  private static ByteBuf createByteBuf(boolean pooled) {
+    if (pooled) {
+      return PooledByteBufAllocator.DEFAULT.directBuffer(DIRECT_BUFFER_SIZE);
+    }
+
+    return Buffer.buffer(DIRECT_BUFFER_SIZE).getByteBuf();
+  }
+
   public long getMsgId() {
     return msgId;
   }
@@ -18,6 +18,7 @@ package org.apache.servicecomb.foundation.vertx.client.tcp;
 
 import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.servicecomb.foundation.test.scaffolding.exception.RuntimeExceptionWithoutStackTrace;
@@ -97,7 +98,7 @@ public class TestTcpClientConnection {
         result = msgId;
         tcpClientPackage.createStream();
         result = tcpOutputStream;
-        tcpOutputStream.getByteBuf();
+        tcpOutputStream.detachByteBuf();
         result = byteBuf;
       }
     };
@@ -229,14 +230,23 @@ public class TestTcpClientConnection {
   }
 
   @Test
-  public void onClosed(@Mocked NetSocketImpl netSocket) {
+  public void onClosed(@Mocked NetSocketImpl netSocket, @Mocked AbstractTcpClientPackage tcpClientPackage) {
     requestMap.put(10L, new TcpRequest(10, ar -> {
     }));
     tcpClientConnection.initNetSocket(netSocket);
+    ByteBuf byteBuf = Unpooled.buffer().writeBytes(new byte[10]);
+    tcpClientConnection.write(byteBuf);
+    packageQueue.add(tcpClientPackage);
 
     Deencapsulation.invoke(tcpClientConnection, "onClosed", new Class<?>[] {Void.class}, new Object[] {null});
     Assert.assertEquals(Status.DISCONNECTED, Deencapsulation.getField(tcpClientConnection, "status"));
     Assert.assertEquals(0, requestMap.size());
+    Assert.assertNull(writeQueue.poll());
+    Assert.assertNull(packageQueue.poll());
+    Assert.assertEquals(0, byteBuf.refCnt());
+    Assert.assertEquals(0, tcpClientConnection.getWriteQueueSize());
+    Assert.assertEquals(0, tcpClientConnection.getWriteQueueBytes());
+    Assert.assertTrue(tcpClientConnection.isWritable());
   }
 
   @Test
@@ -256,4 +266,22 @@ public class TestTcpClientConnection {
     tcpClientConnection.onReply(msgId, null, null);
     Assert.assertEquals(1, count.get());
   }
+
+  @Test
+  public void onRequestTimeout() {
+    long msgId = 1L;
+    AtomicInteger count = new AtomicInteger();
+    requestMap.put(msgId, new TcpRequest(10, ar -> {
+      Assert.assertTrue(ar.cause() instanceof TimeoutException);
+      count.incrementAndGet();
+    }));
+
+    tcpClientConnection.onRequestTimeout(msgId);
+    Assert.assertEquals(1, count.get());
+    Assert.assertTrue(requestMap.isEmpty());
+
+    // already replied or timeout
+    tcpClientConnection.onRequestTimeout(msgId);
+    Assert.assertEquals(1, count.get());
+  }
 }
@@ -16,12 +16,16 @@
  */
 package org.apache.servicecomb.foundation.vertx.client.tcp;
 
+import java.util.Map;
+
 import org.hamcrest.Matchers;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
 import io.vertx.core.impl.ContextInternal;
+import mockit.Deencapsulation;
+import mockit.Expectations;
 import mockit.Mocked;
 
 public class TestTcpClientConnectionPool {
@@ -42,4 +46,40 @@ public class TestTcpClientConnectionPool {
   public void create() {
     Assert.assertThat(pool.create("rest://localhost:8765"), Matchers.instanceOf(TcpClientConnection.class));
   }
+
+  @Test
+  public void findOrCreateClient_single() {
+    String endpoint = "rest://localhost:8765";
+    Assert.assertSame(pool.findOrCreateClient(endpoint), pool.findOrCreateClient(endpoint));
+  }
+
+  @Test
+  public void findOrCreateClient_leastPending() {
+    TcpClientConfig config = new TcpClientConfig();
+    config.setConnectionsPerEndpoint(3);
+    new Expectations() {
+      {
+        netClientWrapper.getClientConfig(anyBoolean);
+        result = config;
+      }
+    };
+
+    String endpoint = "rest://localhost:8765";
+    TcpClientConnection first = pool.findOrCreateClient(endpoint);
+    Assert.assertEquals(3, pool.tcpClientMap.get(endpoint).size());
+
+    for (TcpClientConnection client : pool.tcpClientMap.get(endpoint)) {
+      Map<Long, TcpRequest> requestMap = Deencapsulation.getField(client, "requestMap");
+      requestMap.put(1L, new TcpRequest(10, ar -> {
+      }));
+      if (client != first) {
+        requestMap.put(2L, new TcpRequest(10, ar -> {
+        }));
+      }
+    }
+
+    for (int idx = 0; idx < 3; idx++) {
+      Assert.assertSame(first, pool.findOrCreateClient(endpoint));
+    }
+  }
 }
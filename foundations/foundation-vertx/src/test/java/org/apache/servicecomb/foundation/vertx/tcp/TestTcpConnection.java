@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.foundation.vertx.tcp;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.net.NetSocket;
+
+public class TestTcpConnection {
+  static Vertx vertx = Vertx.vertx();
+
+  Context context = vertx.getOrCreateContext();
+
+  NetSocket netSocket = Mockito.mock(NetSocket.class);
+
+  int writeMessageCount;
+
+  TcpConnection connection = new TcpConnection() {
+    @Override
+    protected void writeMessage(ByteBuf buf) {
+      writeMessageCount++;
+      buf.release();
+    }
+  };
+
+  @Before
+  public void setup() {
+    connection.netSocket = netSocket;
+    connection.setContext(context);
+  }
+
+  @AfterClass
+  public static void teardown() {
+    vertx.close();
+  }
+
+  // writes scheduled by the action run in context thread after the action, and before the next action
+  private void runInContext(Runnable action) throws Exception {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    context.runOnContext(v -> {
+      try {
+        action.run();
+        future.complete(null);
+      } catch (Throwable e) {
+        future.completeExceptionally(e);
+      }
+    });
+    future.get(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void writeWatermark() throws Exception {
+    connection.setWriteWatermark(10, 5);
+    AtomicInteger waked = new AtomicInteger();
+
+    runInContext(() -> {
+      connection.write(Unpooled.buffer().writeBytes(new byte[6]));
+      Assert.assertTrue(connection.isWritable());
+
+      connection.write(Unpooled.buffer().writeBytes(new byte[6]));
+      Assert.assertFalse(connection.isWritable());
+      Assert.assertEquals(12, connection.getWriteQueueBytes());
+
+      connection.waitWritable(waked::incrementAndGet);
+      Assert.assertEquals(0, waked.get());
+    });
+
+    runInContext(() -> {
+      Assert.assertEquals(1, writeMessageCount);
+      Assert.assertTrue(connection.isWritable());
+      Assert.assertEquals(0, connection.getWriteQueueBytes());
+      Assert.assertEquals(1, waked.get());
+    });
+  }
+
+  @Test
+  public void writeWatermark_notLimit() throws Exception {
+    runInContext(() -> {
+      connection.write(Unpooled.buffer().writeBytes(new byte[1024]));
+      Assert.assertTrue(connection.isWritable());
+      Assert.assertEquals(1024, connection.getWriteQueueBytes());
+    });
+
+    runInContext(() -> {
+      Assert.assertEquals(1, writeMessageCount);
+      Assert.assertEquals(0, connection.getWriteQueueBytes());
+    });
+  }
+
+  @Test
+  public void writeQueueFull() throws Exception {
+    AtomicReference<Handler<?>> drainHandler = new AtomicReference<>();
+    Mockito.when(netSocket.writeQueueFull()).thenReturn(true, false);
+    Mockito.doAnswer(invocation -> {
+      drainHandler.set((Handler<?>) invocation.getArguments()[0]);
+      return netSocket;
+    }).when(netSocket).drainHandler(Mockito.any());
+    connection.setWriteWatermark(10, 5);
+
+    runInContext(() -> {
+      connection.write(Unpooled.buffer().writeBytes(new byte[6]));
+      connection.write(Unpooled.buffer().writeBytes(new byte[6]));
+    });
+
+    runInContext(() -> {
+      Assert.assertEquals(0, writeMessageCount);
+      Assert.assertEquals(2, connection.getWriteQueueSize());
+      Assert.assertEquals(12, connection.getWriteQueueBytes());
+      Assert.assertFalse(connection.isWritable());
+      Assert.assertNotNull(drainHandler.get());
+
+      // netty's outbound buffer drained
+      drainHandler.get().handle(null);
+      Assert.assertEquals(1, writeMessageCount);
+      Assert.assertEquals(0, connection.getWriteQueueSize());
+      Assert.assertEquals(0, connection.getWriteQueueBytes());
+      Assert.assertTrue(connection.isWritable());
+    });
+  }
+
+  @Test
+  public void discardPendingWrites() throws Exception {
+    Mockito.when(netSocket.writeQueueFull()).thenReturn(true);
+    connection.setWriteWatermark(10, 5);
+    ByteBuf buf1 = Unpooled.buffer().writeBytes(new byte[6]);
+    ByteBuf buf2 = Unpooled.buffer().writeBytes(new byte[6]);
+    AtomicInteger waked = new AtomicInteger();
+
+    runInContext(() -> {
+      connection.write(buf1);
+      connection.write(buf2);
+      connection.waitWritable(waked::incrementAndGet);
+    });
+
+    runInContext(() -> {
+      Assert.assertFalse(connection.isWritable());
+
+      // socket closed
+      connection.discardPendingWrites();
+      Assert.assertEquals(0, writeMessageCount);
+      Assert.assertEquals(0, connection.getWriteQueueSize());
+      Assert.assertEquals(0, connection.getWriteQueueBytes());
+      Assert.assertTrue(connection.isWritable());
+      Assert.assertEquals(0, buf1.refCnt());
+      Assert.assertEquals(0, buf2.refCnt());
+    });
+
+    // waiters of the closed socket are dropped, not waked by later writes
+    runInContext(() -> connection.write(Unpooled.buffer().writeBytes(new byte[1])));
+    runInContext(() -> Assert.assertEquals(0, waked.get()));
+  }
+}
@@ -43,8 +43,12 @@ public class MatchersManager {
     for (Entry<String, T> entry : policies.entrySet()) {
       T policy = entry.getValue();
 
-      if (calculatedMatches.containsKey(entry.getKey())) {
-        return policy;
+      Boolean calculated = calculatedMatches.get(entry.getKey());
+      if (calculated != null) {
+        if (calculated) {
+          return policy;
+        }
+        continue;
       }
 
       boolean keyMatch = matchersService.checkMatch(request, entry.getKey());
@@ -0,0 +1,364 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.governance.handler;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.servicecomb.governance.handler.ext.RateLimitingTokenStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.vavr.collection.Map;
+
+/**
+ * limit is shared by all instances, each instance leases a batch of tokens of the current period
+ * from {@link RateLimitingTokenStore}, so busy instances get more tokens than idle ones.
+ * <p>
+ * leases are made outside of the request threads, at most one lease is in flight for each limiter,
+ * and the next lease is made before the leased tokens are used up. Lease size starts from the usage
+ * of the last period and doubles while the instance is busy, so few tokens are left unused at the end
+ * of the period even when load is skewed between instances.
+ * <p>
+ * if the store is not reachable, fallback to the local limiter until next period, the limit of the
+ * local limiter is the shared limit divided by instance count.
+ */
+public class DistributedRateLimiter implements RateLimiter {
+  private static final Logger LOGGER = LoggerFactory.getLogger(DistributedRateLimiter.class);
+
+  private static final int LEASE_THREADS = 4;
+
+  private static final int LEASE_QUEUE_SIZE = 1024;
+
+  // at most one lease task for each limiter, a rejected lease falls back to the local limiter
+  private static final ThreadPoolExecutor LEASE_EXECUTOR = createLeaseExecutor();
+
+  private static ThreadPoolExecutor createLeaseExecutor() {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(LEASE_THREADS, LEASE_THREADS,
+        60, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(LEASE_QUEUE_SIZE),
+        new ThreadFactoryBuilder()
+            .setNameFormat("rate-limiting-lease-%d")
+            .setDaemon(true)
+            .build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  static class LeasedTokens {
+    final long periodId;
+
+    // leased but not used tokens
+    final AtomicInteger available = new AtomicInteger();
+
+    // used tokens, to estimate lease size of next period
+    final AtomicInteger used = new AtomicInteger();
+
+    final AtomicReference<CompletableFuture<Void>> inFlight = new AtomicReference<>();
+
+    // tokens of this period are used up by all instances
+    volatile boolean exhausted;
+
+    volatile int nextLeaseSize;
+
+    LeasedTokens(long periodId, int nextLeaseSize) {
+      this.periodId = periodId;
+      this.nextLeaseSize = nextLeaseSize;
+    }
+
+    boolean tryAcquire(int permits) {
+      for (; ; ) {
+        int current = available.get();
+        if (current < permits) {
+          return false;
+        }
+        if (available.compareAndSet(current, current - permits)) {
+          used.addAndGet(permits);
+          return true;
+        }
+      }
+    }
+  }
+
+  private final RateLimiter local;
+
+  private final RateLimitingTokenStore tokenStore;
+
+  private final long periodMillis;
+
+  private final int leaseSize;
+
+  private volatile int limit;
+
+  // instances sharing the limit, refreshed from the store once every period
+  private volatile int instanceCount = 1;
+
+  private final AtomicReference<LeasedTokens> leasedTokens = new AtomicReference<>(new LeasedTokens(-1, 1));
+
+  // store not reachable in this period, use local limiter
+  private volatile long fallbackPeriodId = -1;
+
+  // request threads waiting for a lease
+  private final AtomicInteger waitingThreads = new AtomicInteger();
+
+  private final Metrics metrics = new DistributedMetrics();
+
+  /**
+   * view of this instance: tokens leased from the store and not used yet, or the local limiter in fallback period
+   */
+  private class DistributedMetrics implements Metrics {
+    @Override
+    public int getNumberOfWaitingThreads() {
+      return waitingThreads.get() + local.getMetrics().getNumberOfWaitingThreads();
+    }
+
+    @Override
+    public int getAvailablePermissions() {
+      long periodId = currentTimeMillis() / periodMillis;
+      if (fallbackPeriodId == periodId) {
+        return local.getMetrics().getAvailablePermissions();
+      }
+
+      LeasedTokens tokens = leasedTokens.get();
+      return tokens.periodId == periodId ? tokens.available.get() : 0;
+    }
+  }
+
+  public DistributedRateLimiter(RateLimiter local, RateLimitingTokenStore tokenStore, int leaseSize) {
+    this.local = local;
+    this.tokenStore = tokenStore;
+    this.periodMillis = local.getRateLimiterConfig().getLimitRefreshPeriod().toMillis();
+    this.limit = local.getRateLimiterConfig().getLimitForPeriod();
+    this.leaseSize = leaseSize;
+  }
+
+  @Override
+  public boolean acquirePermission(int permits) {
+    long now = currentTimeMillis();
+    long periodId = now / periodMillis;
+    long deadline = System.nanoTime() + local.getRateLimiterConfig().getTimeoutDuration().toNanos();
+    LeasedTokens tokens = getLeasedTokens(periodId, now);
+    for (; ; ) {
+      if (fallbackPeriodId == periodId) {
+        return local.acquirePermission(permits);
+      }
+
+      if (tokens.tryAcquire(permits)) {
+        if (tokens.available.get() < tokens.nextLeaseSize / 2) {
+          // prefetch, not wait for it
+          lease(tokens, 0);
+        }
+        return true;
+      }
+
+      CompletableFuture<Void> future = lease(tokens, permits);
+      if (future == null || !waitLease(future, deadline)) {
+        return false;
+      }
+    }
+  }
+
+  private boolean waitLease(CompletableFuture<Void> future, long deadline) {
+    if (future.isDone()) {
+      return true;
+    }
+
+    long timeout = deadline - System.nanoTime();
+    if (timeout <= 0) {
+      return false;
+    }
+    waitingThreads.incrementAndGet();
+    try {
+      future.get(timeout, TimeUnit.NANOSECONDS);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } catch (ExecutionException | TimeoutException e) {
+      return false;
+    } finally {
+      waitingThreads.decrementAndGet();
+    }
+  }
+
+  /**
+   * @return the lease in flight, null if tokens of this period are used up
+   */
+  private CompletableFuture<Void> lease(LeasedTokens tokens, int permits) {
+    for (; ; ) {
+      CompletableFuture<Void> inFlight = tokens.inFlight.get();
+      if (inFlight != null) {
+        return inFlight;
+      }
+      if (tokens.exhausted) {
+        return null;
+      }
+
+      CompletableFuture<Void> future = new CompletableFuture<>();
+      if (tokens.inFlight.compareAndSet(null, future)) {
+        doLease(tokens, Math.max(permits, tokens.nextLeaseSize), future);
+        return future;
+      }
+    }
+  }
+
+  private void doLease(LeasedTokens tokens, int requested, CompletableFuture<Void> future) {
+    CompletableFuture<Integer> leaseFuture;
+    try {
+      leaseFuture = tokenStore.leaseAsync(getName(), tokens.periodId, limit, requested, LEASE_EXECUTOR);
+    } catch (Throwable e) {
+      leaseFuture = new CompletableFuture<>();
+      leaseFuture.completeExceptionally(e);
+    }
+
+    leaseFuture.whenComplete((leased, e) -> {
+      if (e != null) {
+        LOGGER.warn("failed to lease tokens of rate limiting policy {}, use local rate limiting, cause: {}",
+            getName(), e.getMessage());
+        local.changeLimitForPeriod(calcLocalLimit());
+        fallbackPeriodId = tokens.periodId;
+      } else {
+        tokens.available.addAndGet(leased);
+        if (leased < requested) {
+          tokens.exhausted = true;
+        }
+        tokens.nextLeaseSize = Math.min(leaseSize, Math.max(1, leased) * 2);
+      }
+      tokens.inFlight.set(null);
+      future.complete(null);
+    });
+  }
+
+  private int calcLocalLimit() {
+    return Math.max(1, (limit + instanceCount - 1) / instanceCount);
+  }
+
+  private LeasedTokens getLeasedTokens(long periodId, long now) {
+    for (; ; ) {
+      LeasedTokens tokens = leasedTokens.get();
+      if (tokens.periodId >= periodId) {
+        return tokens;
+      }
+
+      LeasedTokens newTokens = new LeasedTokens(periodId, estimateLeaseSize(tokens, periodId, now));
+      if (leasedTokens.compareAndSet(tokens, newTokens)) {
+        refreshInstanceCount();
+        return newTokens;
+      }
+    }
+  }
+
+  // usage of last period in the rest of this period
+  private int estimateLeaseSize(LeasedTokens last, long periodId, long now) {
+    if (last.periodId != periodId - 1) {
+      return 1;
+    }
+
+    long remaining = (periodId + 1) * periodMillis - now;
+    long expected = last.used.get() * remaining / periodMillis;
+    return (int) Math.max(1, Math.min(leaseSize, expected));
+  }
+
+  private void refreshInstanceCount() {
+    try {
+      CompletableFuture.runAsync(() -> {
+        int count = tokenStore.getInstanceCount(getName());
+        if (count > 0 && count != instanceCount) {
+          instanceCount = count;
+          local.changeLimitForPeriod(calcLocalLimit());
+        }
+      }, LEASE_EXECUTOR).exceptionally(e -> {
+        LOGGER.debug("failed to get instance count of rate limiting policy {}.", getName(), e);
+        return null;
+      });
+    } catch (RejectedExecutionException e) {
+      // keep the old count, refresh again in next period
+      LOGGER.debug("too many lease tasks, skip refreshing instance count of rate limiting policy {}.", getName());
+    }
+  }
+
+  @VisibleForTesting
+  long currentTimeMillis() {
+    return System.currentTimeMillis();
+  }
+
+  @VisibleForTesting
+  int getInstanceCount() {
+    return instanceCount;
+  }
+
+  @Override
+  public long reservePermission(int permits) {
+    // not wait for next period, tokens of next period are not leased yet
+    return acquirePermission(permits) ? 0 : -1;
+  }
+
+  @Override
+  public void changeTimeoutDuration(Duration timeoutDuration) {
+    local.changeTimeoutDuration(timeoutDuration);
+  }
+
+  @Override
+  public void changeLimitForPeriod(int limitForPeriod) {
+    this.limit = limitForPeriod;
+    local.changeLimitForPeriod(calcLocalLimit());
+  }
+
+  @Override
+  public String getName() {
+    return local.getName();
+  }
+
+  @Override
+  public RateLimiterConfig getRateLimiterConfig() {
+    return local.getRateLimiterConfig();
+  }
+
+  /**
+   * tags are configuration of the policy, same to the local limiter
+   */
+  @Override
+  public Map<String, String> getTags() {
+    return local.getTags();
+  }
+
+  /**
+   * metrics of this instance, not the shared limit in the store
+   */
+  @Override
+  public Metrics getMetrics() {
+    return metrics;
+  }
+
+  @Override
+  public EventPublisher getEventPublisher() {
+    return local.getEventPublisher();
+  }
+}
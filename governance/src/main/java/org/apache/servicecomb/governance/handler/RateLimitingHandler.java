@@ -18,6 +18,7 @@ package org.apache.servicecomb.governance.handler;
 
 import java.time.Duration;
 
+import org.apache.servicecomb.governance.handler.ext.RateLimitingTokenStore;
 import org.apache.servicecomb.governance.marker.GovernanceRequest;
 import org.apache.servicecomb.governance.policy.RateLimitingPolicy;
 import org.apache.servicecomb.governance.properties.RateLimitProperties;
@@ -37,6 +38,9 @@ public class RateLimitingHandler extends AbstractGovernanceHandler<RateLimiter,
   @Autowired
   private RateLimitProperties rateLimitProperties;
 
+  @Autowired(required = false)
+  private RateLimitingTokenStore rateLimitingTokenStore;
+
   @Override
   protected String createKey(RateLimitingPolicy policy) {
     return "servicecomb.rateLimiting." + policy.getName();
@@ -62,6 +66,15 @@ public class RateLimitingHandler extends AbstractGovernanceHandler<RateLimiter,
         .timeoutDuration(Duration.parse(policy.getTimeoutDuration()))
         .build();
     RateLimiterRegistry rateLimiterRegistry = RateLimiterRegistry.of(config);
-    return rateLimiterRegistry.rateLimiter(policy.getName());
+    RateLimiter rateLimiter = rateLimiterRegistry.rateLimiter(policy.getName());
+    if (!policy.isDistributed()) {
+      return rateLimiter;
+    }
+
+    if (rateLimitingTokenStore == null) {
+      LOGGER.warn("no RateLimitingTokenStore found, policy {} is applied to each instance.", policy.getName());
+      return rateLimiter;
+    }
+    return new DistributedRateLimiter(rateLimiter, rateLimitingTokenStore, policy.calcLeaseSize());
   }
 }
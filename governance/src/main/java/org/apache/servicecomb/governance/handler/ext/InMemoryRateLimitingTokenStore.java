@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.governance.handler.ext;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * only shared inside one process, used for tests or single instance deployment
+ */
+public class InMemoryRateLimitingTokenStore implements RateLimitingTokenStore {
+  static class PeriodCounter {
+    final long periodId;
+
+    final AtomicInteger used = new AtomicInteger();
+
+    PeriodCounter(long periodId) {
+      this.periodId = periodId;
+    }
+  }
+
+  // key is policy name, only keep the latest period
+  private final Map<String, PeriodCounter> counters = new ConcurrentHashMap<>();
+
+  @Override
+  public int lease(String key, long periodId, int limit, int requested) {
+    PeriodCounter counter = counters.compute(key,
+        (k, old) -> old == null || old.periodId < periodId ? new PeriodCounter(periodId) : old);
+    if (counter.periodId != periodId) {
+      // request of an expired period
+      return 0;
+    }
+
+    for (; ; ) {
+      int used = counter.used.get();
+      int granted = Math.min(requested, limit - used);
+      if (granted <= 0) {
+        return 0;
+      }
+      if (counter.used.compareAndSet(used, used + granted)) {
+        return granted;
+      }
+    }
+  }
+
+  @Override
+  public CompletableFuture<Integer> leaseAsync(String key, long periodId, int limit, int requested,
+      Executor executor) {
+    // never blocks, no need to switch thread
+    return CompletableFuture.completedFuture(lease(key, periodId, limit, requested));
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.governance.handler.ext;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * shared token counter of distributed rate limiting, all instances lease tokens from it.
+ * implementations are spring beans, eg: based on redis or a central service.
+ */
+public interface RateLimitingTokenStore {
+  /**
+   * lease tokens of the period from the shared counter
+   *
+   * @param key name of the rate limiting policy
+   * @param periodId index of the limit refresh period since epoch, same for all instances
+   * @param limit max tokens of the period for all instances
+   * @param requested tokens wanted by this instance
+   * @return tokens actually leased, between 0 and requested, 0 means tokens of this period are used up
+   * @throws RuntimeException if the store is not reachable, then local rate limiting is used
+   */
+  int lease(String key, long periodId, int limit, int requested);
+
+  /**
+   * lease without blocking the request thread, remote stores should override it with their async client
+   *
+   * @param executor to run the blocking {@link #lease(String, long, int, int)}
+   */
+  default CompletableFuture<Integer> leaseAsync(String key, long periodId, int limit, int requested,
+      Executor executor) {
+    return CompletableFuture.supplyAsync(() -> lease(key, periodId, limit, requested), executor);
+  }
+
+  /**
+   * @param key name of the rate limiting policy
+   * @return instances sharing the limit, used to split the limit when fallback to local rate limiting
+   */
+  default int getInstanceCount(String key) {
+    return 1;
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.governance.marker;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * {@link Matcher} with all operators parsed, created once for each configuration
+ */
+public class CompiledMatcher {
+  static class HeaderMatcher {
+    final String name;
+
+    final Predicate<String> predicate;
+
+    HeaderMatcher(String name, Predicate<String> predicate) {
+      this.name = name;
+      this.predicate = predicate;
+    }
+  }
+
+  // null means match all methods
+  private final Set<String> methods;
+
+  // null means match all paths
+  private final Predicate<String> apiPath;
+
+  private final HeaderMatcher[] headers;
+
+  CompiledMatcher(Set<String> methods, Predicate<String> apiPath, List<HeaderMatcher> headers) {
+    this.methods = methods;
+    this.apiPath = apiPath;
+    this.headers = headers.toArray(new HeaderMatcher[0]);
+  }
+
+  public Set<String> getMethods() {
+    return methods;
+  }
+
+  public boolean match(GovernanceRequest request) {
+    if (methods != null && !methods.contains(request.getMethod())) {
+      return false;
+    }
+    if (apiPath != null && !apiPath.test(request.getUri())) {
+      return false;
+    }
+
+    for (HeaderMatcher header : headers) {
+      String value = request.getHeader(header.name);
+      if (value == null || !header.predicate.test(value)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
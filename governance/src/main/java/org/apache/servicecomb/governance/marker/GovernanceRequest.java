@@ -17,6 +17,7 @@
 package org.apache.servicecomb.governance.marker;
 
 import java.util.Map;
+import java.util.Map.Entry;
 
 import org.springframework.util.LinkedCaseInsensitiveMap;
 
@@ -27,14 +28,39 @@ public class GovernanceRequest {
 
   private String method;
 
+  /**
+   * headers as set, use {@link #getHeader(String)} to get header value ignoring case of the name
+   */
   public Map<String, String> getHeaders() {
     return headers;
   }
 
+  /**
+   * headers are not copied, pass a {@link LinkedCaseInsensitiveMap} to make {@link #getHeader(String)} faster
+   */
   public void setHeaders(Map<String, String> headers) {
-    Map<String, String> temp = new LinkedCaseInsensitiveMap<>();
-    temp.putAll(headers);
-    this.headers = temp;
+    this.headers = headers;
+  }
+
+  /**
+   * get header value ignoring case of the name, without creating a new map
+   */
+  public String getHeader(String name) {
+    if (headers == null) {
+      return null;
+    }
+
+    String value = headers.get(name);
+    if (value != null || headers instanceof LinkedCaseInsensitiveMap) {
+      return value;
+    }
+
+    for (Entry<String, String> entry : headers.entrySet()) {
+      if (name.equalsIgnoreCase(entry.getKey())) {
+        return entry.getValue();
+      }
+    }
+    return null;
   }
 
   public String getUri() {
@@ -30,12 +30,16 @@ public class Matcher {
 
   private List<String> method;
 
+  // not a configuration item, compiled by RequestProcessor and reset when configuration changed
+  private volatile CompiledMatcher compiled;
+
   public Map<String, RawOperator> getHeaders() {
     return headers;
   }
 
   public void setHeaders(Map<String, RawOperator> headers) {
     this.headers = headers;
+    this.compiled = null;
   }
 
   public RawOperator getApiPath() {
@@ -44,6 +48,7 @@ public class Matcher {
 
   public void setApiPath(RawOperator apiPath) {
     this.apiPath = apiPath;
+    this.compiled = null;
   }
 
   public List<String> getMethod() {
@@ -52,6 +57,15 @@ public class Matcher {
 
   public void setMethod(List<String> method) {
     this.method = method;
+    this.compiled = null;
+  }
+
+  CompiledMatcher compiled() {
+    return compiled;
+  }
+
+  void compiled(CompiledMatcher compiled) {
+    this.compiled = compiled;
   }
 
   public String getName() {
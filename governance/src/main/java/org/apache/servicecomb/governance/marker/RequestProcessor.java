@@ -16,9 +16,15 @@
  */
 package org.apache.servicecomb.governance.marker;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.Predicate;
 
+import org.apache.servicecomb.governance.marker.CompiledMatcher.HeaderMatcher;
 import org.apache.servicecomb.governance.marker.operator.MatchOperator;
 import org.apache.servicecomb.governance.marker.operator.RawOperator;
 import org.slf4j.Logger;
@@ -33,41 +39,53 @@ public class RequestProcessor {
 
   private static final String OPERATOR_SUFFIX = "Operator";
 
+  private static final Predicate<String> NOT_MATCH = str -> false;
+
   @Autowired
   private Map<String, MatchOperator> operatorMap;
 
   public boolean match(GovernanceRequest request, Matcher matcher) {
-    if ((matcher.getMethod() != null && !matcher.getMethod().contains(request.getMethod())) ||
-        (matcher.getApiPath() != null && !operatorMatch(request.getUri(), matcher.getApiPath()))) {
-      return false;
-    }
-    if (matcher.getHeaders() == null) {
-      return true;
+    return compile(matcher).match(request);
+  }
+
+  public CompiledMatcher compile(Matcher matcher) {
+    CompiledMatcher compiled = matcher.compiled();
+    if (compiled == null) {
+      compiled = doCompile(matcher);
+      matcher.compiled(compiled);
     }
-    for (Entry<String, RawOperator> entry : matcher.getHeaders().entrySet()) {
-      if (!request.getHeaders().containsKey(entry.getKey()) ||
-          !operatorMatch(request.getHeaders().get(entry.getKey()), entry.getValue())) {
-        return false;
+    return compiled;
+  }
+
+  private CompiledMatcher doCompile(Matcher matcher) {
+    Set<String> methods = matcher.getMethod() == null ? null : new HashSet<>(matcher.getMethod());
+    Predicate<String> apiPath = matcher.getApiPath() == null ? null : compileOperator(matcher.getApiPath());
+
+    List<HeaderMatcher> headers = new ArrayList<>();
+    if (matcher.getHeaders() != null) {
+      for (Entry<String, RawOperator> entry : matcher.getHeaders().entrySet()) {
+        headers.add(new HeaderMatcher(entry.getKey(), compileOperator(entry.getValue())));
       }
     }
-    return true;
+    return new CompiledMatcher(methods, apiPath, headers);
   }
 
-  private boolean operatorMatch(String str, RawOperator rawOperator) {
+  private Predicate<String> compileOperator(RawOperator rawOperator) {
     if (rawOperator.isEmpty()) {
-      return false;
+      return NOT_MATCH;
     }
 
+    Predicate<String> result = null;
     for (Entry<String, String> entry : rawOperator.entrySet()) {
       MatchOperator operator = operatorMap.get(entry.getKey() + OPERATOR_SUFFIX);
       if (operator == null) {
         LOGGER.error("unsupported operator:" + entry.getKey() + ", plz use one of :" + operatorMap.keySet().toString());
-        return false;
-      }
-      if (!operator.match(str, entry.getValue())) {
-        return false;
+        return NOT_MATCH;
       }
+
+      Predicate<String> predicate = operator.compile(entry.getValue());
+      result = result == null ? predicate : result.and(predicate);
     }
-    return true;
+    return result;
   }
 }
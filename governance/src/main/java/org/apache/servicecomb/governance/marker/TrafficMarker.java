@@ -16,15 +16,72 @@
  */
 package org.apache.servicecomb.governance.marker;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.servicecomb.governance.entity.Configurable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class TrafficMarker extends Configurable {
+  private static final Logger LOGGER = LoggerFactory.getLogger(TrafficMarker.class);
+
   private String name;
 
   private List<Matcher> matches;
 
+  // not a configuration item, built when first used, a new TrafficMarker is created when configuration changed
+  private volatile MatcherIndex index;
+
+  static class MatcherIndex {
+    // key is http method
+    final Map<String, List<CompiledMatcher>> methodMatchers = new HashMap<>();
+
+    // matchers without method restriction
+    final List<CompiledMatcher> anyMethodMatchers = new ArrayList<>();
+
+    MatcherIndex(String name, List<Matcher> matches, RequestProcessor requestProcessor) {
+      for (Matcher matcher : matches) {
+        CompiledMatcher compiledMatcher;
+        try {
+          compiledMatcher = requestProcessor.compile(matcher);
+        } catch (Throwable e) {
+          // an illegal matcher never matches, and must not break other matchers
+          LOGGER.error("failed to compile matcher {} of traffic marker {}.", matcher.getName(), name, e);
+          continue;
+        }
+
+        if (compiledMatcher.getMethods() == null) {
+          anyMethodMatchers.add(compiledMatcher);
+          continue;
+        }
+
+        for (String method : compiledMatcher.getMethods()) {
+          methodMatchers.computeIfAbsent(method, key -> new ArrayList<>()).add(compiledMatcher);
+        }
+      }
+    }
+
+    boolean match(GovernanceRequest governanceRequest) {
+      List<CompiledMatcher> candidates = methodMatchers.get(governanceRequest.getMethod());
+      if (candidates != null && anyMatch(candidates, governanceRequest)) {
+        return true;
+      }
+      return anyMatch(anyMethodMatchers, governanceRequest);
+    }
+
+    private boolean anyMatch(List<CompiledMatcher> candidates, GovernanceRequest governanceRequest) {
+      for (CompiledMatcher candidate : candidates) {
+        if (candidate.match(governanceRequest)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
   @Override
   public boolean isValid() {
     if (matches == null || matches.isEmpty()) {
@@ -39,6 +96,7 @@ public class TrafficMarker extends Configurable {
 
   public void setMatches(List<Matcher> matches) {
     this.matches = matches;
+    this.index = null;
   }
 
   @Override
@@ -52,7 +110,11 @@ public class TrafficMarker extends Configurable {
   }
 
   public boolean checkMatch(GovernanceRequest governanceRequest, RequestProcessor requestProcessor) {
-    return this.matches.stream().anyMatch(match ->
-        this.name.equals(name) && requestProcessor.match(governanceRequest, match));
+    MatcherIndex matcherIndex = index;
+    if (matcherIndex == null) {
+      matcherIndex = new MatcherIndex(name, matches, requestProcessor);
+      index = matcherIndex;
+    }
+    return matcherIndex.match(governanceRequest);
   }
 }
@@ -18,6 +18,8 @@ package org.apache.servicecomb.governance.marker.operator;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.DoublePredicate;
+import java.util.function.Predicate;
 
 import org.springframework.stereotype.Component;
 
@@ -45,45 +47,58 @@ public class CompareOperator implements MatchOperator {
    */
   @Override
   public boolean match(String targetStr, String patternStr) {
+    return compile(patternStr).test(targetStr);
+  }
+
+  @Override
+  public Predicate<String> compile(String patternStr) {
     char[] chars = patternStr.toCharArray();
-    if (isLegalChar(chars[0]) && isLegalChar(chars[1])) {
-      return process(targetStr, patternStr.substring(0, 2), patternStr.substring(2));
-    } else if (isLegalChar(chars[0])) {
-      return process(targetStr, patternStr.substring(0, 1), patternStr.substring(1));
+    String charStr;
+    String numStr;
+    if (chars.length > 1 && isLegalChar(chars[0]) && isLegalChar(chars[1])) {
+      charStr = patternStr.substring(0, 2);
+      numStr = patternStr.substring(2);
+    } else if (chars.length > 0 && isLegalChar(chars[0])) {
+      charStr = patternStr.substring(0, 1);
+      numStr = patternStr.substring(1);
     } else {
       throw new IllegalArgsOperatorException("operator " + patternStr + " is illegal.");
     }
+
+    double result = parseDouble(numStr, patternStr);
+    DoublePredicate predicate = createPredicate(charStr, result, patternStr);
+    return targetStr -> predicate.test(parseDouble(targetStr, patternStr));
   }
 
-  private boolean process(String targetStr, String charStr, String numStr) {
-    double result;
-    double target;
+  private double parseDouble(String str, String patternStr) {
+    if (str == null) {
+      throw new IllegalArgsOperatorException("operator " + patternStr + " is illegal.");
+    }
+
     try {
-      target = Double.parseDouble(targetStr);
-      if (numStr.startsWith("-")) {
-        result = -Double.parseDouble(numStr.substring(1));
-      } else {
-        result = Double.parseDouble(numStr);
-      }
+      return Double.parseDouble(str);
     } catch (NumberFormatException e) {
-      throw new IllegalArgsOperatorException("operator " + charStr + numStr + " is illegal.");
+      throw new IllegalArgsOperatorException("operator " + patternStr + " is illegal.");
     }
+  }
+
+  private DoublePredicate createPredicate(String charStr, double result, String patternStr) {
     switch (charStr) {
       case ">":
-        return target > result;
+        return target -> target > result;
       case "<":
-        return target < result;
+        return target -> target < result;
       case "=":
-        return doubleEquals(target, result);
+        return target -> doubleEquals(target, result);
       case ">=":
-        return target >= result;
+        return target -> target >= result;
       case "<=":
-        return target <= result;
+        return target -> target <= result;
       case "!":
       case "!=":
-        return !doubleEquals(target, result);
+        return target -> !doubleEquals(target, result);
       default:
-        throw new IllegalArgsOperatorException("operator " + charStr + numStr + " is illegal.");
+        throw new IllegalArgsOperatorException("operator " + patternStr + " is illegal.");
     }
   }
 
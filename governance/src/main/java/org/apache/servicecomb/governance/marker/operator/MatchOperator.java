@@ -16,7 +16,16 @@
  */
 package org.apache.servicecomb.governance.marker.operator;
 
+import java.util.function.Predicate;
+
 public interface MatchOperator {
 
   boolean match(String targetStr, String patternStr);
+
+  /**
+   * parse the pattern only once when configuration changed, the result is used to match all requests
+   */
+  default Predicate<String> compile(String patternStr) {
+    return targetStr -> match(targetStr, patternStr);
+  }
 }
\ No newline at end of file
@@ -33,6 +33,12 @@ public class RateLimitingPolicy extends AbstractPolicy {
   // 配置项名称使用 rate， 对应于 resilience4j 的 limitForPeriod
   private int rate = DEFAULT_LIMIT_FOR_PERIOD;
 
+  // rate is shared by all instances, need a RateLimitingTokenStore bean
+  private boolean distributed;
+
+  // tokens leased from RateLimitingTokenStore each time, 0 means 1% of rate
+  private int leaseSize;
+
   public String getTimeoutDuration() {
     return timeoutDuration;
   }
@@ -57,6 +63,29 @@ public class RateLimitingPolicy extends AbstractPolicy {
     this.rate = rate;
   }
 
+  public boolean isDistributed() {
+    return distributed;
+  }
+
+  public void setDistributed(boolean distributed) {
+    this.distributed = distributed;
+  }
+
+  public int getLeaseSize() {
+    return leaseSize;
+  }
+
+  public void setLeaseSize(int leaseSize) {
+    this.leaseSize = leaseSize;
+  }
+
+  public int calcLeaseSize() {
+    if (leaseSize > 0) {
+      return Math.min(leaseSize, rate);
+    }
+    return Math.max(1, rate / 100);
+  }
+
   public RateLimitingPolicy() {
   }
 
@@ -71,6 +100,9 @@ public class RateLimitingPolicy extends AbstractPolicy {
     if (rate <= 0) {
       return false;
     }
+    if (leaseSize < 0) {
+      return false;
+    }
     return super.isValid();
   }
 
@@ -80,6 +112,8 @@ public class RateLimitingPolicy extends AbstractPolicy {
         "timeoutDuration=" + timeoutDuration +
         ", limitRefreshPeriod=" + limitRefreshPeriod +
         ", rate=" + rate + " req/s" +
+        ", distributed=" + distributed +
+        ", leaseSize=" + leaseSize +
         '}';
   }
 }
@@ -19,12 +19,18 @@ package org.apache.servicecomb.governance;
 
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Predicate;
 
+import org.apache.servicecomb.governance.exception.IllegalArgsOperatorException;
+import org.apache.servicecomb.governance.marker.CompiledMatcher;
 import org.apache.servicecomb.governance.marker.GovernanceRequest;
 import org.apache.servicecomb.governance.marker.Matcher;
 import org.apache.servicecomb.governance.marker.RequestProcessor;
+import org.apache.servicecomb.governance.marker.TrafficMarker;
+import org.apache.servicecomb.governance.marker.operator.CompareOperator;
 import org.apache.servicecomb.governance.marker.operator.RawOperator;
 import org.apache.servicecomb.governance.policy.RetryPolicy;
 import org.junit.Assert;
@@ -268,6 +274,104 @@ public class OperatorTest {
     Assert.assertFalse(requestProcessor.match(request, matcher));
   }
 
+  @Test
+  public void test_compiled_matcher_reused() {
+    Matcher matcher = new Matcher();
+    RawOperator apiPath = new RawOperator();
+    apiPath.put("prefix", "/bulkhead");
+    matcher.setApiPath(apiPath);
+
+    CompiledMatcher compiled = requestProcessor.compile(matcher);
+    Assert.assertSame(compiled, requestProcessor.compile(matcher));
+
+    matcher.setApiPath(apiPath);
+    Assert.assertNotSame(compiled, requestProcessor.compile(matcher));
+  }
+
+  @Test
+  public void test_compare_operator_compiled() {
+    Predicate<String> predicate = new CompareOperator().compile("!=-1.5");
+    Assert.assertTrue(predicate.test("1"));
+    Assert.assertFalse(predicate.test("-1.5"));
+
+    try {
+      new CompareOperator().compile(">abc");
+      Assert.fail("must throw exception");
+    } catch (IllegalArgsOperatorException e) {
+      Assert.assertEquals("operator >abc is illegal.", e.getMessage());
+    }
+  }
+
+  @Test
+  public void test_header_not_copied() {
+    GovernanceRequest request = new GovernanceRequest();
+    Map<String, String> reqHeaders = new HashMap<>();
+    reqHeaders.put("hEadeR", "100");
+    request.setHeaders(reqHeaders);
+
+    Assert.assertEquals("100", request.getHeader("header"));
+    Assert.assertNull(request.getHeader("other"));
+    Assert.assertSame(reqHeaders, request.getHeaders());
+  }
+
+  @Test
+  public void test_traffic_marker_method_index() {
+    Matcher getMatcher = new Matcher();
+    getMatcher.setMethod(Arrays.asList("GET"));
+    RawOperator apiPath = new RawOperator();
+    apiPath.put("exact", "/get");
+    getMatcher.setApiPath(apiPath);
+
+    Matcher anyMatcher = new Matcher();
+    apiPath = new RawOperator();
+    apiPath.put("exact", "/any");
+    anyMatcher.setApiPath(apiPath);
+
+    TrafficMarker trafficMarker = new TrafficMarker();
+    trafficMarker.setName("marker");
+    trafficMarker.setMatches(Arrays.asList(getMatcher, anyMatcher));
+
+    GovernanceRequest request = new GovernanceRequest();
+    request.setMethod("GET");
+    request.setUri("/get");
+    Assert.assertTrue(trafficMarker.checkMatch(request, requestProcessor));
+
+    request.setMethod("POST");
+    Assert.assertFalse(trafficMarker.checkMatch(request, requestProcessor));
+
+    request.setUri("/any");
+    Assert.assertTrue(trafficMarker.checkMatch(request, requestProcessor));
+  }
+
+  @Test
+  public void test_traffic_marker_illegal_matcher() {
+    Matcher illegalMatcher = new Matcher();
+    illegalMatcher.setName("illegal");
+    RawOperator header = new RawOperator();
+    header.put("compare", "abc");
+    Map<String, RawOperator> headers = new HashMap<>();
+    headers.put("header", header);
+    illegalMatcher.setHeaders(headers);
+
+    Matcher legalMatcher = new Matcher();
+    RawOperator apiPath = new RawOperator();
+    apiPath.put("exact", "/legal");
+    legalMatcher.setApiPath(apiPath);
+
+    TrafficMarker trafficMarker = new TrafficMarker();
+    trafficMarker.setName("marker");
+    trafficMarker.setMatches(Arrays.asList(illegalMatcher, legalMatcher));
+
+    GovernanceRequest request = new GovernanceRequest();
+    request.setMethod("GET");
+    request.setUri("/illegal");
+    request.setHeaders(Collections.singletonMap("header", "100"));
+    Assert.assertFalse(trafficMarker.checkMatch(request, requestProcessor));
+
+    request.setUri("/legal");
+    Assert.assertTrue(trafficMarker.checkMatch(request, requestProcessor));
+  }
+
   @Test
   public void test_time_changed_to_duration() {
     RetryPolicy retryPolicy = new RetryPolicy();
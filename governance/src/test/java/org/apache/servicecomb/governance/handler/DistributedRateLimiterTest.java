@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.governance.handler;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.apache.servicecomb.governance.handler.ext.InMemoryRateLimitingTokenStore;
+import org.apache.servicecomb.governance.handler.ext.RateLimitingTokenStore;
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+
+public class DistributedRateLimiterTest {
+  static class MockTimeRateLimiter extends DistributedRateLimiter {
+    long time = 10_000;
+
+    MockTimeRateLimiter(RateLimiter local, RateLimitingTokenStore tokenStore, int leaseSize) {
+      super(local, tokenStore, leaseSize);
+    }
+
+    @Override
+    long currentTimeMillis() {
+      return time;
+    }
+  }
+
+  private RateLimiter createLocal(int limit) {
+    RateLimiterConfig config = RateLimiterConfig.custom()
+        .limitForPeriod(limit)
+        .limitRefreshPeriod(Duration.ofSeconds(1))
+        .timeoutDuration(Duration.ZERO)
+        .build();
+    return RateLimiter.of("test", config);
+  }
+
+  @Test
+  public void should_share_limit_between_instances() {
+    RateLimitingTokenStore store = new InMemoryRateLimitingTokenStore();
+    MockTimeRateLimiter first = new MockTimeRateLimiter(createLocal(10), store, 3);
+    MockTimeRateLimiter second = new MockTimeRateLimiter(createLocal(10), store, 3);
+
+    int permitted = 0;
+    for (int i = 0; i < 20; i++) {
+      if (first.acquirePermission(1)) {
+        permitted++;
+      }
+      if (second.acquirePermission(1)) {
+        permitted++;
+      }
+    }
+    Assert.assertEquals(10, permitted);
+
+    // next period
+    first.time += 1000;
+    Assert.assertTrue(first.acquirePermission(1));
+    Assert.assertEquals(0, first.reservePermission(1));
+  }
+
+  static class FailedTokenStore implements RateLimitingTokenStore {
+    final int instanceCount;
+
+    FailedTokenStore(int instanceCount) {
+      this.instanceCount = instanceCount;
+    }
+
+    @Override
+    public int lease(String key, long periodId, int limit, int requested) {
+      throw new IllegalStateException("not reachable");
+    }
+
+    @Override
+    public CompletableFuture<Integer> leaseAsync(String key, long periodId, int limit, int requested,
+        Executor executor) {
+      CompletableFuture<Integer> future = new CompletableFuture<>();
+      future.completeExceptionally(new IllegalStateException("not reachable"));
+      return future;
+    }
+
+    @Override
+    public int getInstanceCount(String key) {
+      return instanceCount;
+    }
+  }
+
+  @Test
+  public void should_fallback_to_local_when_store_failed() {
+    MockTimeRateLimiter limiter = new MockTimeRateLimiter(createLocal(2), new FailedTokenStore(1), 1);
+
+    Assert.assertTrue(limiter.acquirePermission(1));
+    Assert.assertTrue(limiter.acquirePermission(1));
+    Assert.assertFalse(limiter.acquirePermission(1));
+  }
+
+  @Test
+  public void should_report_leased_tokens_in_metrics() {
+    MockTimeRateLimiter limiter = new MockTimeRateLimiter(createLocal(10), new InMemoryRateLimitingTokenStore(), 4);
+
+    Assert.assertTrue(limiter.acquirePermission(1));
+    // 1 token leased and used, then 2 tokens prefetched
+    Assert.assertEquals(2, limiter.getMetrics().getAvailablePermissions());
+    Assert.assertEquals(0, limiter.getMetrics().getNumberOfWaitingThreads());
+
+    // not leased in next period yet
+    limiter.time += 1000;
+    Assert.assertEquals(0, limiter.getMetrics().getAvailablePermissions());
+  }
+
+  @Test
+  public void should_report_local_metrics_when_fallback() {
+    MockTimeRateLimiter limiter = new MockTimeRateLimiter(createLocal(2), new FailedTokenStore(1), 1);
+
+    Assert.assertTrue(limiter.acquirePermission(1));
+    Assert.assertEquals(1, limiter.getMetrics().getAvailablePermissions());
+  }
+
+  @Test
+  public void should_split_limit_between_instances_when_fallback() throws InterruptedException {
+    MockTimeRateLimiter limiter = new MockTimeRateLimiter(createLocal(10), new FailedTokenStore(3), 1);
+    limiter.acquirePermission(1);
+
+    // instance count is refreshed asynchronously
+    for (int i = 0; i < 100 && limiter.getInstanceCount() != 3; i++) {
+      Thread.sleep(10);
+    }
+    Assert.assertEquals(3, limiter.getInstanceCount());
+    Assert.assertEquals(4, limiter.getRateLimiterConfig().getLimitForPeriod());
+  }
+
+  @Test
+  public void should_lease_more_tokens_when_busy() {
+    RateLimitingTokenStore store = new InMemoryRateLimitingTokenStore();
+    MockTimeRateLimiter busy = new MockTimeRateLimiter(createLocal(100), store, 16);
+    MockTimeRateLimiter idle = new MockTimeRateLimiter(createLocal(100), store, 16);
+
+    for (int i = 0; i < 50; i++) {
+      Assert.assertTrue(busy.acquirePermission(1));
+    }
+    // lease size grows from 1 while busy, but idle instance is not starved
+    Assert.assertTrue(idle.acquirePermission(1));
+
+    int permitted = 51;
+    for (int i = 0; i < 100; i++) {
+      if (busy.acquirePermission(1)) {
+        permitted++;
+      }
+      if (idle.acquirePermission(1)) {
+        permitted++;
+      }
+    }
+    Assert.assertEquals(100, permitted);
+  }
+}
@@ -49,6 +49,13 @@ public class QpsControllerManager {
    */
   private final Map<String, AbstractQpsStrategy> qualifiedNameControllerMap = new ConcurrentHashMapEx<>();
 
+  /**
+   * Cache of resolved qpsController for each request, microserviceName -> schemaQualifiedName -> qpsController,
+   * avoid to build qualifiedKey for every request.
+   * Replaced by an empty map when configuration changed.
+   */
+  private volatile Map<String, Map<String, QpsStrategy>> resolvedControllerCache = new ConcurrentHashMapEx<>();
+
   private AbstractQpsStrategy globalQpsStrategy;
 
   private final String limitKeyPrefix;
@@ -77,6 +84,18 @@ public class QpsControllerManager {
 
   public QpsStrategy getOrCreate(String microserviceName, Invocation invocation) {
     final String name = validatedName(microserviceName);
+    final String schemaQualifiedName = invocation.getOperationMeta().getSchemaQualifiedName();
+    Map<String, QpsStrategy> operationControllers = resolvedControllerCache
+        .computeIfAbsent(name, key -> new ConcurrentHashMapEx<>());
+    QpsStrategy qpsStrategy = operationControllers.get(schemaQualifiedName);
+    if (qpsStrategy == null) {
+      qpsStrategy = resolve(name, invocation);
+      operationControllers.put(schemaQualifiedName, qpsStrategy);
+    }
+    return qpsStrategy;
+  }
+
+  private QpsStrategy resolve(String name, Invocation invocation) {
     return qualifiedNameControllerMap
         .computeIfAbsent(
             name + SEPARATOR + invocation.getOperationMeta().getSchemaQualifiedName(),
@@ -183,12 +202,14 @@ public class QpsControllerManager {
       LOGGER.info("Global flow control strategy update, value = [{}]",
           strategyProperty.getString());
       updateObjMap(configKey);
+      clearResolvedControllerCache();
     });
     limitProperty.addCallback(() -> {
       qpsStrategy.setQpsLimit(limitProperty.getLong());
       LOGGER.info("Qps limit updated, configKey = [{}], value = [{}]", configKey,
           limitProperty.getString());
       updateObjMap(configKey);
+      clearResolvedControllerCache();
     });
     bucketProperty.addCallback(() -> {
       qpsStrategy.setBucketLimit(bucketProperty.getLong());
@@ -217,6 +238,11 @@ public class QpsControllerManager {
     }
   }
 
+  // must be invoked after qualifiedNameControllerMap updated
+  private void clearResolvedControllerCache() {
+    resolvedControllerCache = new ConcurrentHashMapEx<>();
+  }
+
   private void initGlobalQpsController() {
     DynamicProperty globalLimitProperty = DynamicProperty.getInstance(globalLimitKey);
     DynamicProperty globalBucketProperty = DynamicProperty.getInstance(globalBucketKey);
@@ -229,6 +255,7 @@ public class QpsControllerManager {
           globalBucketProperty.getLong(), globalStrategyProperty.getString());
       LOGGER.info("Global flow control strategy update, value = [{}]",
           globalStrategyProperty.getString());
+      clearResolvedControllerCache();
     });
     globalLimitProperty.addCallback(() -> {
       globalQpsStrategy.setQpsLimit(globalLimitProperty.getLong((long) Integer.MAX_VALUE));
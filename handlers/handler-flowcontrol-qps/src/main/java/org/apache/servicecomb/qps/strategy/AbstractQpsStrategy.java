@@ -17,8 +17,10 @@
 
 package org.apache.servicecomb.qps.strategy;
 
-import org.apache.servicecomb.qps.QpsStrategy;
+import java.time.Clock;
 
+import org.apache.servicecomb.foundation.common.utils.TimeUtils;
+import org.apache.servicecomb.qps.QpsStrategy;
 
 public abstract class AbstractQpsStrategy implements QpsStrategy {
 
@@ -28,6 +30,8 @@ public abstract class AbstractQpsStrategy implements QpsStrategy {
 
   private String key;
 
+  private Clock clock = TimeUtils.getSystemDefaultZoneClock();
+
   public Long getBucketLimit() {
     return bucketLimit;
   }
@@ -57,4 +61,12 @@ public abstract class AbstractQpsStrategy implements QpsStrategy {
   public void setKey(String key) {
     this.key = key;
   }
+
+  public Clock getClock() {
+    return clock;
+  }
+
+  public void setClock(Clock clock) {
+    this.clock = clock;
+  }
 }
@@ -26,6 +26,10 @@ public class DefaultStrategyFactory implements IStrategyFactory {
         return new LeakyBucketStrategy();
       case "FixedWindow":
         return new FixedWindowStrategy();
+      case "SlidingWindow":
+        return new SlidingWindowStrategy();
+      case "GCRA":
+        return new GcraStrategy();
       default:
         return null;
     }
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.qps.strategy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * generic cell rate algorithm, the whole state is the theoretical arrival time of next request.
+ * <p>
+ * requests are spaced by 1s / qpsLimit, bucketLimit is the burst size allowed after idle,
+ * default to 1/10 of qpsLimit, and can not be larger than qpsLimit.
+ **/
+public class GcraStrategy extends AbstractQpsStrategy {
+  private static final String STRATEGY_NAME = "GCRA";
+
+  private static final long ONE_SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private static final int DEFAULT_BURST_DIVISOR = 10;
+
+  // theoretical arrival time in nanoseconds, rejected requests do not change it
+  private final AtomicLong theoreticalArrivalTime = new AtomicLong();
+
+  @Override
+  public boolean isLimitNewRequest() {
+    Long qpsLimit = this.getQpsLimit();
+    if (qpsLimit == null) {
+      throw new IllegalStateException("should not happen");
+    }
+    if (qpsLimit <= 0) {
+      return true;
+    }
+
+    long interval = Math.max(1, ONE_SECOND_NANOS / qpsLimit);
+    long tolerance = (calcBurst(qpsLimit) - 1) * interval;
+    long now = TimeUnit.MILLISECONDS.toNanos(getClock().millis());
+    for (; ; ) {
+      long tat = theoreticalArrivalTime.get();
+      long begin = Math.max(tat, now);
+      if (begin - now > tolerance) {
+        return true;
+      }
+
+      if (theoreticalArrivalTime.compareAndSet(tat, begin + interval)) {
+        return false;
+      }
+    }
+  }
+
+  private long calcBurst(long qpsLimit) {
+    Long bucketLimit = this.getBucketLimit();
+    if (bucketLimit == null || bucketLimit <= 0) {
+      return Math.max(1, qpsLimit / DEFAULT_BURST_DIVISOR);
+    }
+    return Math.min(bucketLimit, qpsLimit);
+  }
+
+  @Override
+  public String name() {
+    return STRATEGY_NAME;
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.qps.strategy;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * sliding window counter, weight count of previous window by its overlap with the last second:
+ * <pre>
+ *   estimated = previousCount * (CYCLE_LENGTH - elapsedOfCurrentWindow) / CYCLE_LENGTH + currentCount
+ * </pre>
+ * so requests can not double at the border of 2 windows like {@link FixedWindowStrategy}.
+ * <p>
+ * window index, current count and previous count are packed in one long and updated by one CAS.
+ * counts saturate at {@link #MAX_COUNT}, larger qpsLimit is not limited.
+ **/
+public class SlidingWindowStrategy extends AbstractQpsStrategy {
+  private static final String STRATEGY_NAME = "SlidingWindow";
+
+  private static final int CYCLE_LENGTH = 1000;
+
+  private static final int INDEX_BITS = 20;
+
+  private static final int COUNT_BITS = 22;
+
+  private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+
+  static final long MAX_COUNT = (1L << COUNT_BITS) - 1;
+
+  // | window index: 20 bits | current count: 22 bits | previous count: 22 bits |
+  private final AtomicLong state = new AtomicLong();
+
+  @Override
+  public boolean isLimitNewRequest() {
+    Long qpsLimit = this.getQpsLimit();
+    if (qpsLimit == null) {
+      throw new IllegalStateException("should not happen");
+    }
+
+    long msNow = getClock().millis();
+    long index = (msNow / CYCLE_LENGTH) & INDEX_MASK;
+    long elapsed = msNow % CYCLE_LENGTH;
+    for (; ; ) {
+      long oldState = state.get();
+      long oldIndex = oldState >>> (COUNT_BITS * 2);
+      long currentCount;
+      long previousCount;
+      if (oldIndex == index) {
+        currentCount = (oldState >>> COUNT_BITS) & MAX_COUNT;
+        previousCount = oldState & MAX_COUNT;
+      } else if (((oldIndex + 1) & INDEX_MASK) == index) {
+        currentCount = 0;
+        previousCount = (oldState >>> COUNT_BITS) & MAX_COUNT;
+      } else {
+        currentCount = 0;
+        previousCount = 0;
+      }
+
+      if (currentCount >= MAX_COUNT) {
+        return false;
+      }
+      long estimated = previousCount * (CYCLE_LENGTH - elapsed) / CYCLE_LENGTH + currentCount;
+      if (estimated >= qpsLimit) {
+        return true;
+      }
+
+      long newState = (index << (COUNT_BITS * 2)) | ((currentCount + 1) << COUNT_BITS) | previousCount;
+      if (state.compareAndSet(oldState, newState)) {
+        return false;
+      }
+    }
+  }
+
+  @Override
+  public String name() {
+    return STRATEGY_NAME;
+  }
+}
@@ -504,4 +504,25 @@ public class QpsControllerManagerTest {
 
     Assert.assertEquals(strategy1, strategy2);
   }
+
+  @Test
+  public void testResolvedControllerCache() {
+    QpsControllerManager testManager = new QpsControllerManager(false);
+    Invocation testInvocation = getMockInvocation("cacheService", "cacheSchema", "cacheOperation");
+    Mockito.when(testInvocation.getSchemaId()).thenReturn("cacheSchema");
+
+    QpsStrategy strategy1 = testManager.getOrCreate("cacheService", testInvocation);
+    QpsStrategy strategy2 = testManager.getOrCreate("cacheService", testInvocation);
+    Assert.assertSame(strategy1, strategy2);
+    Assert.assertEquals(Config.CONSUMER_LIMIT_KEY_GLOBAL, ((AbstractQpsStrategy) strategy1).getKey());
+
+    setConfigWithDefaultPrefix(false, "cacheService.cacheSchema.cacheOperation", 10);
+    QpsStrategy strategy3 = testManager.getOrCreate("cacheService", testInvocation);
+    Assert.assertEquals("cacheService.cacheSchema.cacheOperation", ((AbstractQpsStrategy) strategy3).getKey());
+    Assert.assertEquals(10L, ((AbstractQpsStrategy) strategy3).getQpsLimit().longValue());
+
+    deleteConfigWithDefaultPrefix(false, "cacheService.cacheSchema.cacheOperation");
+    QpsStrategy strategy4 = testManager.getOrCreate("cacheService", testInvocation);
+    Assert.assertEquals(Config.CONSUMER_LIMIT_KEY_GLOBAL, ((AbstractQpsStrategy) strategy4).getKey());
+  }
 }
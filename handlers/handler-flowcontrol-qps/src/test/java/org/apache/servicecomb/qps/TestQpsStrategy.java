@@ -17,9 +17,13 @@
 
 package org.apache.servicecomb.qps;
 
+import org.apache.servicecomb.foundation.test.scaffolding.time.MockClock;
 import org.apache.servicecomb.qps.strategy.AbstractQpsStrategy;
+import org.apache.servicecomb.qps.strategy.DefaultStrategyFactory;
 import org.apache.servicecomb.qps.strategy.FixedWindowStrategy;
+import org.apache.servicecomb.qps.strategy.GcraStrategy;
 import org.apache.servicecomb.qps.strategy.LeakyBucketStrategy;
+import org.apache.servicecomb.qps.strategy.SlidingWindowStrategy;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -53,4 +57,70 @@ public class TestQpsStrategy {
     Assert.assertEquals(true, qpsStrategy.isLimitNewRequest());
   }
 
+  @Test
+  public void testSlidingWindowStrategy() {
+    MockClock clock = new MockClock(10_500L);
+    AbstractQpsStrategy qpsStrategy = new SlidingWindowStrategy();
+    qpsStrategy.setKey("abc");
+    qpsStrategy.setQpsLimit(10L);
+    qpsStrategy.setClock(clock);
+    for (int i = 0; i < 10; i++) {
+      Assert.assertFalse(qpsStrategy.isLimitNewRequest());
+    }
+    Assert.assertTrue(qpsStrategy.isLimitNewRequest());
+
+    // new window begins, but previous window still weights 10 * 0.9
+    clock.setValues(11_100L);
+    Assert.assertFalse(qpsStrategy.isLimitNewRequest());
+    Assert.assertTrue(qpsStrategy.isLimitNewRequest());
+
+    // previous window weights 10 * 0.5
+    clock.setValues(11_500L);
+    for (int i = 0; i < 4; i++) {
+      Assert.assertFalse(qpsStrategy.isLimitNewRequest());
+    }
+    Assert.assertTrue(qpsStrategy.isLimitNewRequest());
+
+    // idle for more than one window
+    clock.setValues(13_000L);
+    for (int i = 0; i < 10; i++) {
+      Assert.assertFalse(qpsStrategy.isLimitNewRequest());
+    }
+    Assert.assertTrue(qpsStrategy.isLimitNewRequest());
+  }
+
+  @Test
+  public void testGcraStrategy() {
+    MockClock clock = new MockClock(10_000L);
+    AbstractQpsStrategy qpsStrategy = new GcraStrategy();
+    qpsStrategy.setKey("abc");
+    qpsStrategy.setQpsLimit(10L);
+    qpsStrategy.setBucketLimit(2L);
+    qpsStrategy.setClock(clock);
+
+    // burst of 2
+    Assert.assertFalse(qpsStrategy.isLimitNewRequest());
+    Assert.assertFalse(qpsStrategy.isLimitNewRequest());
+    Assert.assertTrue(qpsStrategy.isLimitNewRequest());
+
+    // one request every 100ms
+    clock.setValues(10_050L);
+    Assert.assertTrue(qpsStrategy.isLimitNewRequest());
+    clock.setValues(10_100L);
+    Assert.assertFalse(qpsStrategy.isLimitNewRequest());
+    Assert.assertTrue(qpsStrategy.isLimitNewRequest());
+
+    // default burst is 1/10 of qpsLimit
+    qpsStrategy.setBucketLimit(null);
+    clock.setValues(20_000L);
+    Assert.assertFalse(qpsStrategy.isLimitNewRequest());
+    Assert.assertTrue(qpsStrategy.isLimitNewRequest());
+  }
+
+  @Test
+  public void testDefaultStrategyFactory() {
+    DefaultStrategyFactory factory = new DefaultStrategyFactory();
+    Assert.assertEquals("SlidingWindow", factory.createStrategy("SlidingWindow").name());
+    Assert.assertEquals("GCRA", factory.createStrategy("GCRA").name());
+  }
 }
@@ -18,11 +18,11 @@
 package org.apache.servicecomb.handler.governance;
 
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.servicecomb.core.Invocation;
 import org.apache.servicecomb.governance.marker.GovernanceRequest;
+import org.springframework.util.LinkedCaseInsensitiveMap;
 
 public final class MatchType {
   public static final String REST = "rest";
@@ -58,7 +58,8 @@ public final class MatchType {
   }
 
   private static Map<String, String> getHeaderMap(Invocation invocation, boolean fromContext) {
-    Map<String, String> headers = new HashMap<>();
+    // GovernanceRequest will not copy it again
+    Map<String, String> headers = new LinkedCaseInsensitiveMap<>();
     if (fromContext) {
       headers.putAll(invocation.getContext());
     } else {
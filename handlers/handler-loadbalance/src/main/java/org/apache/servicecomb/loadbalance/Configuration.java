@@ -35,6 +35,10 @@ public final class Configuration {
 
   public static final String TIMER_INTERVAL_IN_MILLIS = "servicecomb.loadbalance.stats.timerIntervalInMillis";
 
+  public static final String PING_MAX_CONCURRENCY = "servicecomb.loadbalance.stats.ping.maxConcurrency";
+
+  public static final String PING_TIMEOUT_IN_MILLIS = "servicecomb.loadbalance.stats.ping.timeoutInMillis";
+
   public static final String RULE_STRATEGY_NAME = "strategy.name";
 
   // 2.0 configuration items
@@ -54,6 +58,11 @@ public final class Configuration {
 
   public static final String SUCCESSIVE_FAILED_TIMES = "SessionStickinessRule.successiveFailedTimes";
 
+  // ConsistentHashRule configuration
+  public static final String CONSISTENT_HASH_KEY = "ConsistentHashRule.hashKey";
+
+  public static final String CONSISTENT_HASH_LOAD_FACTOR = "ConsistentHashRule.loadFactor";
+
   private static final double PERCENT = 100;
 
   public static final String FILTER_ISOLATION = "isolation.";
@@ -112,6 +121,29 @@ public final class Configuration {
     }
   }
 
+  public String getConsistentHashKey(String microservice) {
+    return getStringProperty(null,
+        ROOT + microservice + "." + CONSISTENT_HASH_KEY,
+        ROOT + CONSISTENT_HASH_KEY);
+  }
+
+  public double getConsistentHashLoadFactor(String microservice) {
+    final double defaultValue = 1.25;
+    String p = getStringProperty("1.25",
+        ROOT + microservice + "." + CONSISTENT_HASH_LOAD_FACTOR,
+        ROOT + CONSISTENT_HASH_LOAD_FACTOR);
+    try {
+      double result = Double.parseDouble(p);
+      // less than 1 can not hold all requests
+      if (result >= 1) {
+        return result;
+      }
+      return defaultValue;
+    } catch (NumberFormatException e) {
+      return defaultValue;
+    }
+  }
+
   public String getRetryHandler(String microservice) {
     return getStringProperty("default",
         ROOT + microservice + "." + RETRY_HANDLER,
@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.loadbalance;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.servicecomb.core.Invocation;
+import org.apache.servicecomb.foundation.common.concurrent.ConcurrentHashMapEx;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * Consistent hashing with bounded loads, requests with the same hash key are sent to the same server,
+ * so caches of the server keep warm.<br>
+ * <ul>
+ *   <li>hash key is read from invocation context or swagger argument named by
+ *   servicecomb.loadbalance.[microservice.]ConsistentHashRule.hashKey, requests without hash key are sent by
+ *   round robin.</li>
+ *   <li>servers are placed in a maglev lookup table, so lookup is O(1), and only a few keys move to other
+ *   servers when servers changed.</li>
+ *   <li>a server with more active requests than loadFactor * average is skipped, and the next server in the table
+ *   is tried.</li>
+ *   <li>filters may pass different server sets, eg: with or without isolated servers, so tables are cached by
+ *   an order independent fingerprint of the server set.</li>
+ * </ul>
+ */
+public class ConsistentHashRuleExt implements RuleExt {
+  // prime sizes of lookup table
+  private static final int[] TABLE_SIZES = {251, 509, 1021, 2039, 4093, 8191, 16381, 32749, 65521};
+
+  // at least 100 slots for each server to get a balanced table
+  private static final int SLOTS_PER_SERVER = 100;
+
+  private static final HashFunction OFFSET_HASH = Hashing.murmur3_32(0);
+
+  private static final HashFunction SKIP_HASH = Hashing.murmur3_32(1);
+
+  // more server sets than this means servers changed a lot, tables of old sets are useless
+  private static final int MAX_CACHED_TABLES = 16;
+
+  static class LookupTable {
+    // the list that built this table, most callers reuse the same list
+    final List<ServiceCombServer> servers;
+
+    final Set<String> hosts;
+
+    final ServiceCombServer[] entries;
+
+    LookupTable(List<ServiceCombServer> servers, Set<String> hosts, ServiceCombServer[] entries) {
+      this.servers = servers;
+      this.hosts = hosts;
+      this.entries = entries;
+    }
+
+    // fingerprint may collide
+    boolean sameServers(List<ServiceCombServer> servers) {
+      if (servers.size() != hosts.size()) {
+        return false;
+      }
+      for (ServiceCombServer server : servers) {
+        if (!hosts.contains(server.getHost())) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  private final RuleExt noKeyRule = new RoundRobinRuleExt();
+
+  // fingerprint of server set -> table
+  private final Map<Long, LookupTable> lookupTables = new ConcurrentHashMapEx<>();
+
+  // endpoint -> {offset hash, skip hash}, reused when building tables
+  private final Map<String, int[]> serverHashes = new ConcurrentHashMapEx<>();
+
+  private volatile LookupTable lastTable;
+
+  private String microserviceName;
+
+  @Override
+  public void setLoadBalancer(LoadBalancer loadBalancer) {
+    this.microserviceName = loadBalancer.getMicroServiceName();
+  }
+
+  @Override
+  public ServiceCombServer choose(List<ServiceCombServer> servers, Invocation invocation) {
+    if (servers.isEmpty()) {
+      return null;
+    }
+    if (servers.size() == 1) {
+      return servers.get(0);
+    }
+
+    String hashKey = getHashKey(invocation);
+    if (hashKey == null) {
+      return noKeyRule.choose(servers, invocation);
+    }
+
+    ServiceCombServer[] entries = getOrBuildLookupTable(servers).entries;
+    int idx = Math.floorMod(mix(hashKey.hashCode()), entries.length);
+    ServiceCombServer server = entries[idx];
+    if (getActiveRequests(server) == 0) {
+      return server;
+    }
+
+    // bounded loads: capacity = ceil(loadFactor * (all active requests + this request) / servers)
+    double capacity = Math.ceil(Configuration.INSTANCE.getConsistentHashLoadFactor(microserviceName)
+        * (sumActiveRequests(servers) + 1) / servers.size());
+    for (int probe = 0; probe < entries.length; probe++) {
+      ServiceCombServer candidate = entries[(idx + probe) % entries.length];
+      if (getActiveRequests(candidate) < capacity) {
+        return candidate;
+      }
+    }
+    return server;
+  }
+
+  private String getHashKey(Invocation invocation) {
+    String keyName = Configuration.INSTANCE.getConsistentHashKey(microserviceName);
+    if (keyName == null) {
+      return null;
+    }
+
+    String value = invocation.getContext(keyName);
+    if (value != null) {
+      return value;
+    }
+    Object argument = invocation.getSwaggerArgument(keyName);
+    return argument == null ? null : argument.toString();
+  }
+
+  private int getActiveRequests(ServiceCombServer server) {
+    return ServiceCombLoadBalancerStats.INSTANCE.getServiceCombServerStats(server).getActiveRequests();
+  }
+
+  private long sumActiveRequests(List<ServiceCombServer> servers) {
+    long sum = 0;
+    for (ServiceCombServer server : servers) {
+      sum += getActiveRequests(server);
+    }
+    return sum;
+  }
+
+  // String.hashCode is not well distributed in low bits
+  private static int mix(int hash) {
+    hash ^= hash >>> 16;
+    hash *= 0x85ebca6b;
+    hash ^= hash >>> 13;
+    hash *= 0xc2b2ae35;
+    hash ^= hash >>> 16;
+    return hash;
+  }
+
+  @VisibleForTesting
+  LookupTable getOrBuildLookupTable(List<ServiceCombServer> servers) {
+    LookupTable table = lastTable;
+    if (table != null && table.servers == servers) {
+      return table;
+    }
+
+    long fingerprint = fingerprint(servers);
+    table = lookupTables.get(fingerprint);
+    if (table == null || !table.sameServers(servers)) {
+      // maybe built concurrently by other threads, the result is the same
+      table = buildLookupTable(servers, serverHashes);
+      if (lookupTables.size() >= MAX_CACHED_TABLES) {
+        lookupTables.clear();
+        serverHashes.clear();
+      }
+      lookupTables.put(fingerprint, table);
+    }
+    lastTable = table;
+    return table;
+  }
+
+  // order independent, String.hashCode is cached, so no hash computing for each request
+  private static long fingerprint(List<ServiceCombServer> servers) {
+    long fingerprint = servers.size();
+    for (ServiceCombServer server : servers) {
+      long hash = server.getHost().hashCode();
+      hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+      hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+      fingerprint += hash ^ (hash >>> 33);
+    }
+    return fingerprint;
+  }
+
+  /**
+   * populate the table as maglev, each server fills its next preferred empty slot in turn.
+   * preference of a server only depends on its endpoint, so consumers build the same table for same servers.
+   */
+  private static LookupTable buildLookupTable(List<ServiceCombServer> servers, Map<String, int[]> serverHashes) {
+    int serverCount = servers.size();
+    int size = chooseTableSize(serverCount);
+    Set<String> hosts = new HashSet<>();
+    ServiceCombServer[] sortedServers = servers.toArray(new ServiceCombServer[0]);
+    Arrays.sort(sortedServers, (a, b) -> a.getHost().compareTo(b.getHost()));
+
+    long[] offsets = new long[serverCount];
+    long[] skips = new long[serverCount];
+    for (int idx = 0; idx < serverCount; idx++) {
+      String endpoint = sortedServers[idx].getHost();
+      int[] hashes = serverHashes.get(endpoint);
+      if (hashes == null) {
+        hashes = new int[] {
+            OFFSET_HASH.hashString(endpoint, StandardCharsets.UTF_8).asInt(),
+            SKIP_HASH.hashString(endpoint, StandardCharsets.UTF_8).asInt()};
+        serverHashes.put(endpoint, hashes);
+      }
+      hosts.add(endpoint);
+      offsets[idx] = Math.floorMod(hashes[0], size);
+      skips[idx] = Math.floorMod(hashes[1], size - 1) + 1;
+    }
+
+    ServiceCombServer[] entries = new ServiceCombServer[size];
+    long[] next = new long[serverCount];
+    int filled = 0;
+    while (filled < size) {
+      for (int idx = 0; idx < serverCount && filled < size; idx++) {
+        int slot = (int) ((offsets[idx] + next[idx] * skips[idx]) % size);
+        while (entries[slot] != null) {
+          next[idx]++;
+          slot = (int) ((offsets[idx] + next[idx] * skips[idx]) % size);
+        }
+        entries[slot] = sortedServers[idx];
+        next[idx]++;
+        filled++;
+      }
+    }
+    return new LookupTable(servers, hosts, entries);
+  }
+
+  private static int chooseTableSize(int serverCount) {
+    for (int size : TABLE_SIZES) {
+      if (size >= (long) serverCount * SLOTS_PER_SERVER) {
+        return size;
+      }
+    }
+    return TABLE_SIZES[TABLE_SIZES.length - 1];
+  }
+}
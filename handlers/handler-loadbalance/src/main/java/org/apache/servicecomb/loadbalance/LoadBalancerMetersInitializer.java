@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.loadbalance;
+
+import org.apache.servicecomb.foundation.metrics.MetricsBootstrapConfig;
+import org.apache.servicecomb.foundation.metrics.MetricsInitializer;
+import org.apache.servicecomb.foundation.metrics.registry.GlobalRegistry;
+
+import com.google.common.eventbus.EventBus;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.patterns.PolledMeter;
+
+/**
+ * publish statistics of the ping sweep of {@link ServiceCombLoadBalancerStats}
+ */
+public class LoadBalancerMetersInitializer implements MetricsInitializer {
+  public static final String PING_LAST_DURATION = "loadbalance.ping.lastDuration";
+
+  public static final String PING_LAST_SERVER_COUNT = "loadbalance.ping.lastServerCount";
+
+  @Override
+  public void init(GlobalRegistry globalRegistry, EventBus eventBus, MetricsBootstrapConfig config) {
+    Registry registry = globalRegistry.getDefaultRegistry();
+    ServiceCombLoadBalancerStats stats = ServiceCombLoadBalancerStats.INSTANCE;
+
+    PolledMeter.using(registry)
+        .withName(PING_LAST_DURATION)
+        .monitorValue(stats, ServiceCombLoadBalancerStats::getLastPingDuration);
+    PolledMeter.using(registry)
+        .withName(PING_LAST_SERVER_COUNT)
+        .monitorValue(stats, ServiceCombLoadBalancerStats::getLastPingServerCount);
+  }
+}
@@ -276,21 +276,24 @@ public class LoadbalanceHandler implements Handler {
       asyncResp.consumerFail(new InvocationException(Status.INTERNAL_SERVER_ERROR, "No available address found."));
       return;
     }
-    chosenLB.getLoadBalancerStats().incrementNumRequests(server);
+    // the same stats is used by all rules and isolation
+    ServiceCombServerStats serverStats = ServiceCombLoadBalancerStats.INSTANCE.getServiceCombServerStats(server);
+    serverStats.markRequestStart();
     invocation.setEndpoint(server.getEndpoint());
-    invocation.next(resp -> {
-      // this stats is for WeightedResponseTimeRule
-      chosenLB.getLoadBalancerStats().noteResponseTime(server, (System.currentTimeMillis() - time));
-      if (isFailedResponse(resp)) {
-        // this stats is for SessionStickinessRule
-        chosenLB.getLoadBalancerStats().incrementSuccessiveConnectionFailureCount(server);
-        ServiceCombLoadBalancerStats.INSTANCE.markFailure(server);
-      } else {
-        chosenLB.getLoadBalancerStats().incrementActiveRequestsCount(server);
-        ServiceCombLoadBalancerStats.INSTANCE.markSuccess(server);
-      }
-      asyncResp.handle(resp);
-    });
+    try {
+      invocation.next(resp -> {
+        if (isFailedResponse(resp)) {
+          serverStats.markFailure(System.currentTimeMillis() - time);
+        } else {
+          serverStats.markSuccess(System.currentTimeMillis() - time);
+        }
+        asyncResp.handle(resp);
+      });
+    } catch (Exception e) {
+      // response handler will not be invoked, balance the active request count
+      serverStats.markFailure(System.currentTimeMillis() - time);
+      throw e;
+    }
   }
 
   private void sendWithRetry(Invocation invocation, AsyncResponse asyncResp,
@@ -401,27 +404,31 @@ public class LoadbalanceHandler implements Handler {
         return Observable.create(f -> {
           try {
             ServiceCombServer server = (ServiceCombServer) s;
-            chosenLB.getLoadBalancerStats().incrementNumRequests(s);
+            ServiceCombServerStats serverStats =
+                ServiceCombLoadBalancerStats.INSTANCE.getServiceCombServerStats(server);
+            serverStats.markRequestStart();
             invocation.setHandlerIndex(currentHandler); // for retry
             invocation.setEndpoint(server.getEndpoint());
-            invocation.next(resp -> {
-              if (isFailedResponse(resp)) {
-                invocation.getTraceIdLogger().error(LOGGER, "service {}, call error, msg is {}, server is {} ",
-                    invocation.getInvocationQualifiedName(),
-                    ExceptionUtils.getExceptionMessageWithoutTrace((Throwable) resp.getResult()),
-                    s);
-                chosenLB.getLoadBalancerStats().incrementSuccessiveConnectionFailureCount(s);
-                ServiceCombLoadBalancerStats.INSTANCE.markFailure(server);
-                f.onError(resp.getResult());
-              } else {
-                chosenLB.getLoadBalancerStats().incrementActiveRequestsCount(s);
-                chosenLB.getLoadBalancerStats().noteResponseTime(s,
-                    (System.currentTimeMillis() - time));
-                ServiceCombLoadBalancerStats.INSTANCE.markSuccess(server);
-                f.onNext(resp);
-                f.onCompleted();
-              }
-            });
+            try {
+              invocation.next(resp -> {
+                if (isFailedResponse(resp)) {
+                  invocation.getTraceIdLogger().error(LOGGER, "service {}, call error, msg is {}, server is {} ",
+                      invocation.getInvocationQualifiedName(),
+                      ExceptionUtils.getExceptionMessageWithoutTrace((Throwable) resp.getResult()),
+                      s);
+                  serverStats.markFailure(System.currentTimeMillis() - time);
+                  f.onError(resp.getResult());
+                } else {
+                  serverStats.markSuccess(System.currentTimeMillis() - time);
+                  f.onNext(resp);
+                  f.onCompleted();
+                }
+              });
+            } catch (Exception e) {
+              // response handler will not be invoked, balance the active request count
+              serverStats.markFailure(System.currentTimeMillis() - time);
+              throw e;
+            }
           } catch (Exception e) {
             invocation.getTraceIdLogger()
                 .error(LOGGER, "execution error, msg is {}", ExceptionUtils.getExceptionMessageWithoutTrace(e));
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.loadbalance;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.servicecomb.core.Invocation;
+
+/**
+ * Power of two choices: pick two servers randomly, choose the one with lower load.<br>
+ * load is (active requests + 1) * (peak ewma of response time + 1), so a slow server is avoided after the
+ * first slow response, and a server with many requests in flight is avoided even if it is fast.
+ */
+public class PowerOfTwoChoicesRuleExt implements RuleExt {
+  @Override
+  public ServiceCombServer choose(List<ServiceCombServer> servers, Invocation invocation) {
+    if (servers.isEmpty()) {
+      return null;
+    }
+    if (servers.size() == 1) {
+      return servers.get(0);
+    }
+
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int first = random.nextInt(servers.size());
+    int second = random.nextInt(servers.size() - 1);
+    if (second >= first) {
+      second++;
+    }
+
+    ServiceCombServer firstServer = servers.get(first);
+    ServiceCombServer secondServer = servers.get(second);
+    return calcLoad(firstServer) <= calcLoad(secondServer) ? firstServer : secondServer;
+  }
+
+  private double calcLoad(ServiceCombServer server) {
+    ServiceCombServerStats stats = ServiceCombLoadBalancerStats.INSTANCE.getServiceCombServerStats(server);
+    return (stats.getActiveRequests() + 1) * (stats.getResponseTimeEwma() + 1);
+  }
+}
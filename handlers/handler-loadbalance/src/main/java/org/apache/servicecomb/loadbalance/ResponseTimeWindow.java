@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.loadbalance;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * lock free sliding window of response time, split into buckets, outdated buckets are reset by the first writer.<br>
+ * just like {@link ServiceCombServerStats}, reset and write may race, the result is not accurate, but it's fine.
+ */
+public class ResponseTimeWindow {
+  static class Bucket {
+    // index of time slot, the bucket belongs to
+    final AtomicLong slot = new AtomicLong(-1);
+
+    final LongAdder count = new LongAdder();
+
+    final LongAdder sum = new LongAdder();
+  }
+
+  private final long bucketMillis;
+
+  private final Bucket[] buckets;
+
+  public ResponseTimeWindow(long windowMillis, int bucketCount) {
+    this.bucketMillis = Math.max(1, windowMillis / bucketCount);
+    this.buckets = new Bucket[bucketCount];
+    for (int idx = 0; idx < bucketCount; idx++) {
+      buckets[idx] = new Bucket();
+    }
+  }
+
+  public void record(long now, long responseTime) {
+    long slot = now / bucketMillis;
+    Bucket bucket = buckets[(int) (slot % buckets.length)];
+    long bucketSlot = bucket.slot.get();
+    if (bucketSlot != slot && bucket.slot.compareAndSet(bucketSlot, slot)) {
+      bucket.count.reset();
+      bucket.sum.reset();
+    }
+
+    bucket.count.increment();
+    bucket.sum.add(responseTime);
+  }
+
+  /**
+   * @return average response time in the window, 0 if there is no data
+   */
+  public double getAverage(long now) {
+    long minSlot = now / bucketMillis - buckets.length + 1;
+    long count = 0;
+    long sum = 0;
+    for (Bucket bucket : buckets) {
+      if (bucket.slot.get() >= minSlot) {
+        count += bucket.count.sum();
+        sum += bucket.sum.sum();
+      }
+    }
+    return count == 0 ? 0 : (double) sum / count;
+  }
+
+  public void reset() {
+    for (Bucket bucket : buckets) {
+      bucket.slot.set(-1);
+      bucket.count.reset();
+      bucket.sum.reset();
+    }
+  }
+}
@@ -35,11 +35,17 @@ public class RuleNameExtentionsFactory implements ExtensionsFactory {
 
   private static final String RULE_SessionStickiness = "SessionStickiness";
 
+  private static final String RULE_PowerOfTwoChoices = "PowerOfTwoChoices";
+
+  private static final String RULE_ConsistentHash = "ConsistentHash";
+
   private static final Collection<String> ACCEPT_VALUES = Lists.newArrayList(
       RULE_RoundRobin,
       RULE_Random,
       RULE_WeightedResponse,
-      RULE_SessionStickiness);
+      RULE_SessionStickiness,
+      RULE_PowerOfTwoChoices,
+      RULE_ConsistentHash);
 
   @Override
   public boolean isSupport(String key, String value) {
@@ -56,6 +62,10 @@ public class RuleNameExtentionsFactory implements ExtensionsFactory {
       return new WeightedResponseTimeRuleExt();
     } else if (RULE_SessionStickiness.equals(ruleName)) {
       return new SessionStickinessRule();
+    } else if (RULE_PowerOfTwoChoices.equals(ruleName)) {
+      return new PowerOfTwoChoicesRuleExt();
+    } else if (RULE_ConsistentHash.equals(ruleName)) {
+      return new ConsistentHashRuleExt();
     } else {
       throw new IllegalStateException("unexpected code to reach here, value is " + ruleName);
     }
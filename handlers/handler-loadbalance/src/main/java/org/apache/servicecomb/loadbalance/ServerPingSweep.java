@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.loadbalance;
+
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.apache.servicecomb.registry.consumer.MicroserviceInstancePing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.Vertx;
+
+/**
+ * One round of ping for idle servers.<br>
+ * pings are asynchronous, at most maxConcurrency pings are in flight, and every ping is limited by timeoutInMillis,
+ * so an unreachable server will not block others.<br>
+ * results are marked to server stats directly, so isolation can use them.
+ */
+class ServerPingSweep {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ServerPingSweep.class);
+
+  private final MicroserviceInstancePing ping;
+
+  private final List<Entry<ServiceCombServer, ServiceCombServerStats>> servers;
+
+  private final int timeoutInMillis;
+
+  // only used when ping is not completed immediately
+  private final Supplier<Vertx> vertxSupplier;
+
+  private final AtomicInteger nextIndex = new AtomicInteger();
+
+  private final AtomicInteger runningWorkers = new AtomicInteger();
+
+  private final AtomicInteger failedCount = new AtomicInteger();
+
+  private final CompletableFuture<ServerPingSweep> future = new CompletableFuture<>();
+
+  private long startTime;
+
+  private long duration;
+
+  ServerPingSweep(MicroserviceInstancePing ping, List<Entry<ServiceCombServer, ServiceCombServerStats>> servers,
+      int timeoutInMillis, Supplier<Vertx> vertxSupplier) {
+    this.ping = ping;
+    this.servers = servers;
+    this.timeoutInMillis = timeoutInMillis;
+    this.vertxSupplier = vertxSupplier;
+  }
+
+  CompletableFuture<ServerPingSweep> start(int maxConcurrency) {
+    startTime = System.currentTimeMillis();
+    int workers = Math.max(1, Math.min(maxConcurrency, servers.size()));
+    runningWorkers.set(workers);
+    for (int idx = 0; idx < workers; idx++) {
+      pingNext();
+    }
+    return future;
+  }
+
+  private void pingNext() {
+    // loop instead of recursion when ping completed immediately
+    for (; ; ) {
+      int idx = nextIndex.getAndIncrement();
+      if (idx >= servers.size()) {
+        if (runningWorkers.decrementAndGet() == 0) {
+          duration = System.currentTimeMillis() - startTime;
+          future.complete(this);
+        }
+        return;
+      }
+
+      Entry<ServiceCombServer, ServiceCombServerStats> entry = servers.get(idx);
+      CompletableFuture<Boolean> result = pingWithTimeout(entry.getKey());
+      if (!result.isDone()) {
+        result.whenComplete((success, e) -> {
+          onPingResult(entry.getKey(), entry.getValue(), e == null && Boolean.TRUE.equals(success));
+          pingNext();
+        });
+        return;
+      }
+
+      onPingResult(entry.getKey(), entry.getValue(), Boolean.TRUE.equals(result.getNow(false)));
+    }
+  }
+
+  private CompletableFuture<Boolean> pingWithTimeout(ServiceCombServer server) {
+    CompletableFuture<Boolean> result;
+    try {
+      result = ping.pingAsync(server.getInstance());
+    } catch (Throwable e) {
+      LOGGER.warn("ping server {} error.", server.getInstance().getInstanceId(), e);
+      return CompletableFuture.completedFuture(false);
+    }
+
+    if (result == null) {
+      return CompletableFuture.completedFuture(false);
+    }
+    if (result.isDone()) {
+      return result.exceptionally(e -> false);
+    }
+
+    Vertx vertx;
+    CompletableFuture<Boolean> timed = new CompletableFuture<>();
+    long timerId;
+    try {
+      vertx = vertxSupplier.get();
+      timerId = vertx.setTimer(timeoutInMillis, id -> timed.complete(false));
+    } catch (Throwable e) {
+      // maybe invoked in callback of previous ping, exception must not break the sweep
+      LOGGER.warn("failed to schedule ping timeout of server {}.", server.getInstance().getInstanceId(), e);
+      return CompletableFuture.completedFuture(false);
+    }
+    result.whenComplete((success, e) -> {
+      vertx.cancelTimer(timerId);
+      timed.complete(e == null && Boolean.TRUE.equals(success));
+    });
+    return timed;
+  }
+
+  private void onPingResult(ServiceCombServer server, ServiceCombServerStats stats, boolean success) {
+    if (!success) {
+      failedCount.incrementAndGet();
+      LOGGER.info("ping mark server {} failure.", server.getInstance().getInstanceId());
+      stats.markFailure();
+      return;
+    }
+
+    // help isolated server to recover, no need to wait for a trying invocation
+    if (stats.isIsolated()) {
+      LOGGER.info("ping mark isolated server {} success.", server.getInstance().getInstanceId());
+      stats.markSuccess();
+    }
+  }
+
+  int getServerCount() {
+    return servers.size();
+  }
+
+  int getFailedCount() {
+    return failedCount.get();
+  }
+
+  long getDuration() {
+    return duration;
+  }
+}
@@ -17,33 +17,35 @@
 
 package org.apache.servicecomb.loadbalance;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.apache.servicecomb.foundation.common.concurrent.ConcurrentHashMapEx;
 import org.apache.servicecomb.foundation.common.utils.SPIServiceUtils;
+import org.apache.servicecomb.foundation.vertx.VertxUtils;
 import org.apache.servicecomb.registry.api.registry.MicroserviceInstance;
 import org.apache.servicecomb.registry.consumer.MicroserviceInstancePing;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-import com.google.common.cache.RemovalListener;
 import com.netflix.config.DynamicPropertyFactory;
 
 /**
- *  Add special stats that com.netflix.loadbalancer.LoadBalancerStats not provided
+ *  Stats of all servers, lookup is a ConcurrentHashMap get in most cases.
+ *  Stats not accessed for serverExpireInSeconds are removed by the timer.
  */
 public class ServiceCombLoadBalancerStats {
   private final static Logger LOGGER = LoggerFactory.getLogger(ServiceCombLoadBalancerStats.class);
 
-  private final Map<ServiceCombServer, ServiceCombServerStats> pingView = new ConcurrentHashMap<>();
+  private final Map<ServiceCombServer, ServiceCombServerStats> pingView = new ConcurrentHashMapEx<>();
 
   private int serverExpireInSeconds = DynamicPropertyFactory.getInstance()
       .getIntProperty(Configuration.SERVER_EXPIRED_IN_SECONDS, 300).get();
@@ -51,7 +53,18 @@ public class ServiceCombLoadBalancerStats {
   private long timerIntervalInMillis = DynamicPropertyFactory.getInstance()
       .getLongProperty(Configuration.TIMER_INTERVAL_IN_MILLIS, 10000).get();
 
-  private LoadingCache<ServiceCombServer, ServiceCombServerStats> serverStatsCache;
+  private int pingMaxConcurrency = DynamicPropertyFactory.getInstance()
+      .getIntProperty(Configuration.PING_MAX_CONCURRENCY, 16).get();
+
+  private int pingTimeoutInMillis = DynamicPropertyFactory.getInstance()
+      .getIntProperty(Configuration.PING_TIMEOUT_IN_MILLIS, 3000).get();
+
+  // not start a new sweep before previous one finished
+  private final AtomicBoolean pinging = new AtomicBoolean();
+
+  private volatile long lastPingDuration;
+
+  private volatile int lastPingServerCount;
 
   private Map<String, ServiceCombServer> serviceCombServers = new ConcurrentHashMap<>();
 
@@ -71,36 +84,37 @@ public class ServiceCombLoadBalancerStats {
   }
 
   public void markIsolated(ServiceCombServer server, boolean isolated) {
-    try {
-      serverStatsCache.get(server).markIsolated(isolated);
-    } catch (ExecutionException e) {
-      LOGGER.error("Not expected to happen, maybe a bug.", e);
-    }
+    getServiceCombServerStats(server).markIsolated(isolated);
   }
 
   public void markSuccess(ServiceCombServer server) {
-    try {
-      serverStatsCache.get(server).markSuccess();
-    } catch (ExecutionException e) {
-      LOGGER.error("Not expected to happen, maybe a bug.", e);
-    }
+    getServiceCombServerStats(server).markSuccess();
   }
 
   public void markFailure(ServiceCombServer server) {
-    try {
-      serverStatsCache.get(server).markFailure();
-    } catch (ExecutionException e) {
-      LOGGER.error("Not expected to happen, maybe a bug.", e);
-    }
+    getServiceCombServerStats(server).markFailure();
   }
 
   public ServiceCombServerStats getServiceCombServerStats(ServiceCombServer server) {
-    try {
-      return serverStatsCache.get(server);
-    } catch (ExecutionException e) {
-      LOGGER.error("Not expected to happen, maybe a bug.", e);
-      return null;
+    ServiceCombServerStats stats = pingView.computeIfAbsent(server, this::createServerStats);
+    stats.markAccess(System.currentTimeMillis());
+    return stats;
+  }
+
+  private ServiceCombServerStats createServerStats(ServiceCombServer server) {
+    serviceCombServers.put(server.getInstance().getInstanceId(), server);
+    return new ServiceCombServerStats(server.getMicroserviceName());
+  }
+
+  private void removeExpired(ServiceCombServer server, ServiceCombServerStats stats) {
+    if (System.currentTimeMillis() - stats.getLastAccessTime() <= serverExpireInSeconds * 1000L) {
+      return;
     }
+
+    LOGGER.info("stats of instance {} removed, host is {}",
+        server.getInstance().getInstanceId(), server.getHost());
+    pingView.remove(server, stats);
+    serviceCombServers.remove(server.getInstance().getInstanceId(), server);
   }
 
   public ServiceCombServer getServiceCombServer(MicroserviceInstance instance) {
@@ -122,37 +136,65 @@ public class ServiceCombLoadBalancerStats {
     return this.pingView;
   }
 
+  /**
+   * @return time taken by last round of ping, in milliseconds
+   */
+  public long getLastPingDuration() {
+    return lastPingDuration;
+  }
+
+  public int getLastPingServerCount() {
+    return lastPingServerCount;
+  }
+
+  private void pingIdleServers(MicroserviceInstancePing ping) {
+    List<Entry<ServiceCombServer, ServiceCombServerStats>> idleServers = new ArrayList<>();
+    long now = System.currentTimeMillis();
+    for (Entry<ServiceCombServer, ServiceCombServerStats> entry : pingView.entrySet()) {
+      if (now - entry.getValue().getLastVisitTime() > timerIntervalInMillis) {
+        idleServers.add(entry);
+      }
+    }
+    if (idleServers.isEmpty() || !pinging.compareAndSet(false, true)) {
+      return;
+    }
+
+    // jitter, avoid to ping servers in same order from all consumers
+    Collections.shuffle(idleServers);
+    try {
+      new ServerPingSweep(ping, idleServers, pingTimeoutInMillis,
+          () -> VertxUtils.getOrCreateVertxByName("transport", null))
+          .start(pingMaxConcurrency)
+          .whenComplete(this::onPingSweepFinished);
+    } catch (Throwable e) {
+      pinging.set(false);
+      LOGGER.warn("failed to start ping of {} servers.", idleServers.size(), e);
+    }
+  }
+
+  private void onPingSweepFinished(ServerPingSweep sweep, Throwable e) {
+    pinging.set(false);
+    if (e != null) {
+      LOGGER.warn("ping servers failed.", e);
+      return;
+    }
+
+    lastPingDuration = sweep.getDuration();
+    lastPingServerCount = sweep.getServerCount();
+    if (sweep.getDuration() > timerIntervalInMillis) {
+      LOGGER.warn("ping {} servers taken {} ms, longer than interval {} ms, {} failed.",
+          sweep.getServerCount(), sweep.getDuration(), timerIntervalInMillis, sweep.getFailedCount());
+    }
+  }
+
   void init() {
     // for testing
     if (timer != null) {
       timer.cancel();
     }
-    if (serverStatsCache != null) {
-      serverStatsCache.cleanUp();
-    }
-
     pingView.clear();
-
-    serverStatsCache =
-        CacheBuilder.newBuilder()
-            .expireAfterAccess(serverExpireInSeconds, TimeUnit.SECONDS)
-            .removalListener(
-                (RemovalListener<ServiceCombServer, ServiceCombServerStats>) notification -> {
-                  ServiceCombServer server = notification.getKey();
-                  LOGGER.info("stats of instance {} removed, host is {}",
-                      server.getInstance().getInstanceId(), server.getHost());
-                  pingView.remove(notification.getKey());
-                  serviceCombServers.remove(notification.getKey());
-                })
-            .build(
-                new CacheLoader<ServiceCombServer, ServiceCombServerStats>() {
-                  public ServiceCombServerStats load(ServiceCombServer server) {
-                    ServiceCombServerStats stats = new ServiceCombServerStats(server.getMicroserviceName());
-                    pingView.put(server, stats);
-                    serviceCombServers.put(server.getInstance().getInstanceId(), server);
-                    return stats;
-                  }
-                });
+    serviceCombServers.clear();
+    pinging.set(false);
 
     timer = new Timer("LoadBalancerStatsTimer", true);
     timer.schedule(new TimerTask() {
@@ -161,17 +203,8 @@ public class ServiceCombLoadBalancerStats {
       @Override
       public void run() {
         try {
-          Map<ServiceCombServer, ServiceCombServerStats> allServers = pingView;
-          allServers.entrySet().forEach(serviceCombServerServiceCombServerStatsEntry -> {
-            ServiceCombServer server = serviceCombServerServiceCombServerStatsEntry.getKey();
-            ServiceCombServerStats stats = serviceCombServerServiceCombServerStatsEntry.getValue();
-            if ((System.currentTimeMillis() - stats.getLastVisitTime() > timerIntervalInMillis) && !ping
-                .ping(server.getInstance())) {
-              LOGGER.info("ping mark server {} failure.", server.getInstance().getInstanceId());
-              stats.markFailure();
-            }
-          });
-          serverStatsCache.cleanUp();
+          pingIdleServers(ping);
+          pingView.forEach(ServiceCombLoadBalancerStats.this::removeExpired);
         } catch (Throwable e) {
           LOGGER.warn("LoadBalancerStatsTimer error.", e);
         }
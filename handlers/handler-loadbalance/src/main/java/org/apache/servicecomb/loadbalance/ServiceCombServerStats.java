@@ -18,8 +18,10 @@
 package org.apache.servicecomb.loadbalance;
 
 import java.time.Clock;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.servicecomb.core.Invocation;
 import org.apache.servicecomb.foundation.common.utils.TimeUtils;
@@ -27,16 +29,37 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Special stats that com.netflix.loadbalancer.ServerStats not provided.
+ * All stats of a server used by rules and isolation, one update for each invocation.
+ * Counters are LongAdder and windows are switched by CAS, so there is no lock in the invocation path.
  *
  * In concurrent scenarios, we can't count statistics accurately, but it's fine.
  */
 public class ServiceCombServerStats {
   private static final long TIME_WINDOW_IN_MILLISECONDS = 60000;
 
+  private static final int RESPONSE_TIME_BUCKETS = 6;
+
+  // decay time of response time ewma
+  private static final double EWMA_DECAY_MILLISECONDS = 10000;
+
   private static final Logger LOGGER = LoggerFactory.getLogger(ServiceCombServerStats.class);
 
-  private final Object lock = new Object();
+  static class Ewma {
+    static final Ewma EMPTY = new Ewma(0, 0);
+
+    final double value;
+
+    final long time;
+
+    Ewma(double value, long time) {
+      this.value = value;
+      this.time = time;
+    }
+
+    double decay(long now) {
+      return value * Math.exp(-Math.max(0, now - time) / EWMA_DECAY_MILLISECONDS);
+    }
+  }
 
   /**
    * There is not more than 1 server allowed to stay in TRYING status concurrently.
@@ -47,23 +70,36 @@ public class ServiceCombServerStats {
 
   Clock clock;
 
-  private long lastWindow;
+  private AtomicLong lastWindow;
 
   private AtomicLong continuousFailureCount;
 
-  private long lastVisitTime;
+  private volatile long lastVisitTime;
+
+  private volatile long lastActiveTime;
+
+  private volatile long isolatedTime;
+
+  private LongAdder totalRequests;
+
+  private LongAdder successRequests;
 
-  private long lastActiveTime;
+  private LongAdder failedRequests;
 
-  private long isolatedTime;
+  private final AtomicInteger activeRequests = new AtomicInteger();
 
-  private AtomicLong totalRequests;
+  private final ResponseTimeWindow responseTimeWindow =
+      new ResponseTimeWindow(TIME_WINDOW_IN_MILLISECONDS, RESPONSE_TIME_BUCKETS);
 
-  private AtomicLong successRequests;
+  // peak ewma, raise to the slower response time immediately, and decay slowly
+  // value and time are updated together by CAS
+  private final AtomicReference<Ewma> responseTimeEwma = new AtomicReference<>(Ewma.EMPTY);
 
-  private AtomicLong failedRequests;
+  private volatile boolean isolated = false;
 
-  private boolean isolated = false;
+  // last time that the stats is used, not updated by ping, used to expire stats of servers not used any more,
+  // read by the timer thread, only written once per second by markAccess
+  private volatile long lastAccessTime;
 
   private String microserviceName;
 
@@ -78,13 +114,14 @@ public class ServiceCombServerStats {
   }
 
   private void init() {
-    lastWindow = clock.millis();
+    lastWindow = new AtomicLong(clock.millis());
     continuousFailureCount = new AtomicLong(0);
     lastVisitTime = clock.millis();
     lastActiveTime = clock.millis();
-    totalRequests = new AtomicLong(0L);
-    successRequests = new AtomicLong(0L);
-    failedRequests = new AtomicLong(0L);
+    lastAccessTime = clock.millis();
+    totalRequests = new LongAdder();
+    successRequests = new LongAdder();
+    failedRequests = new LongAdder();
   }
 
   public static boolean isolatedServerCanTry() {
@@ -124,7 +161,53 @@ public class ServiceCombServerStats {
     this.isolatedTime = System.currentTimeMillis();
   }
 
+  /**
+   * invoked before send request to the server, must be paired with {@link #markSuccess(long)} or
+   * {@link #markFailure(long)}
+   */
+  public void markRequestStart() {
+    activeRequests.incrementAndGet();
+  }
+
+  public void markSuccess(long responseTime) {
+    activeRequests.decrementAndGet();
+    long time = doMarkSuccess();
+    recordResponseTime(time, responseTime);
+  }
+
+  public void markFailure(long responseTime) {
+    activeRequests.decrementAndGet();
+    long time = doMarkFailure();
+    recordResponseTime(time, responseTime);
+  }
+
+  private void recordResponseTime(long time, long responseTime) {
+    responseTimeWindow.record(time, responseTime);
+
+    for (; ; ) {
+      Ewma ewma = responseTimeEwma.get();
+      Ewma newEwma;
+      if (responseTime > ewma.value) {
+        newEwma = new Ewma(responseTime, time);
+      } else {
+        double weight = Math.exp(-Math.max(0, time - ewma.time) / EWMA_DECAY_MILLISECONDS);
+        newEwma = new Ewma(ewma.value * weight + responseTime * (1 - weight), Math.max(time, ewma.time));
+      }
+      if (responseTimeEwma.compareAndSet(ewma, newEwma)) {
+        return;
+      }
+    }
+  }
+
   public void markSuccess() {
+    doMarkSuccess();
+  }
+
+  public void markFailure() {
+    doMarkFailure();
+  }
+
+  private long doMarkSuccess() {
     long time = clock.millis();
     ensureWindow(time);
 
@@ -139,44 +222,57 @@ public class ServiceCombServerStats {
       }
     }
 
-    totalRequests.incrementAndGet();
-    successRequests.incrementAndGet();
-    continuousFailureCount.set(0);
+    totalRequests.increment();
+    successRequests.increment();
+    // avoid write to the shared cache line when there is no failure
+    if (continuousFailureCount.get() != 0) {
+      continuousFailureCount.set(0);
+    }
     lastVisitTime = time;
     lastActiveTime = time;
+    return time;
   }
 
-  public void markFailure() {
+  private long doMarkFailure() {
     long time = clock.millis();
     ensureWindow(time);
     lastVisitTime = time;
 
     // when isolated, do not update any failure statistics, or we can not recover from failure very quickly
     if (!isolated) {
-      totalRequests.incrementAndGet();
-      failedRequests.incrementAndGet();
+      totalRequests.increment();
+      failedRequests.increment();
       continuousFailureCount.incrementAndGet();
     }
+    return time;
   }
 
   private void ensureWindow(long time) {
-    if (time - lastWindow > TIME_WINDOW_IN_MILLISECONDS) {
-      synchronized (lock) {
-        if (time - lastWindow > TIME_WINDOW_IN_MILLISECONDS) {
-          if (!isolated) {
-            resetStats();
-          }
-          lastWindow = time;
-        }
+    long window = lastWindow.get();
+    // only the winner of CAS resets the window
+    if (time - window > TIME_WINDOW_IN_MILLISECONDS && lastWindow.compareAndSet(window, time)) {
+      if (!isolated) {
+        resetStats();
       }
     }
   }
 
   private void resetStats() {
     continuousFailureCount.set(0);
-    totalRequests.set(0);
-    successRequests.set(0);
-    failedRequests.set(0);
+    totalRequests.reset();
+    successRequests.reset();
+    failedRequests.reset();
+  }
+
+  void markAccess(long time) {
+    // precision of seconds is enough, avoid write for every access
+    if (time - lastAccessTime > 1000) {
+      lastAccessTime = time;
+    }
+  }
+
+  long getLastAccessTime() {
+    return lastAccessTime;
   }
 
   public long getLastVisitTime() {
@@ -196,15 +292,34 @@ public class ServiceCombServerStats {
   }
 
   public long getTotalRequests() {
-    return totalRequests.get();
+    return totalRequests.sum();
   }
 
   public long getSuccessRequests() {
-    return successRequests.get();
+    return successRequests.sum();
   }
 
   public long getFailedRequests() {
-    return failedRequests.get();
+    return failedRequests.sum();
+  }
+
+  public int getActiveRequests() {
+    return activeRequests.get();
+  }
+
+  /**
+   * @return peak ewma of response time in milliseconds, react to slow server immediately,
+   * and decay by the time since last response, so a server not chosen because of a spike can get traffic again
+   */
+  public double getResponseTimeEwma() {
+    return responseTimeEwma.get().decay(clock.millis());
+  }
+
+  /**
+   * @return average response time in milliseconds of the recent time window
+   */
+  public double getResponseTimeAvgRecent() {
+    return responseTimeWindow.getAverage(clock.millis());
   }
 
   public int getSuccessRate() {
@@ -215,12 +330,12 @@ public class ServiceCombServerStats {
     return calcRequestRate(failedRequests);
   }
 
-  private int calcRequestRate(AtomicLong requestCnt) {
-    long totalReqs = totalRequests.get();
+  private int calcRequestRate(LongAdder requestCnt) {
+    long totalReqs = totalRequests.sum();
     if (totalReqs == 0L) {
       return 0;
     }
-    return (int) (requestCnt.get() * 100 / totalReqs);
+    return (int) (requestCnt.sum() * 100 / totalReqs);
   }
 
   public boolean isIsolated() {
@@ -23,9 +23,6 @@ import org.apache.servicecomb.core.Invocation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.netflix.loadbalancer.LoadBalancerStats;
-import com.netflix.loadbalancer.ServerStats;
-
 /**
  * 会话保持策略：优先选择上一次选中的服务器，保证请求都发送到同一个服务器上去。
  * 提供当会话过期或者失败次数超过限制后，轮询选择其他服务器的能力。
@@ -36,8 +33,6 @@ public class SessionStickinessRule implements RuleExt {
 
   private final Object lock = new Object();
 
-  private LoadBalancer loadBalancer;
-
   // use random rule as the trigger rule, to prevent consumer instance select the same producer instance.
   private RuleExt triggerRule;
 
@@ -57,7 +52,6 @@ public class SessionStickinessRule implements RuleExt {
 
   public void setLoadBalancer(LoadBalancer loadBalancer) {
     this.microserviceName = loadBalancer.getMicroServiceName();
-    this.loadBalancer = loadBalancer;
   }
 
   private ServiceCombServer chooseNextServer(List<ServiceCombServer> servers, Invocation invocation) {
@@ -102,18 +96,11 @@ public class SessionStickinessRule implements RuleExt {
   }
 
   private boolean isErrorThresholdMet() {
-    LoadBalancerStats stats = loadBalancer.getLoadBalancerStats();
-
-    if (stats != null && stats.getServerStats() != null && stats.getServerStats().size() > 0) {
-      ServerStats serverStats = stats.getSingleServerStat(lastServer);
-      int successiveFailedCount = serverStats.getSuccessiveConnectionFailureCount();
-      if (Configuration.INSTANCE.getSuccessiveFailedTimes(microserviceName) > 0
-          && successiveFailedCount >= Configuration.INSTANCE.getSuccessiveFailedTimes(microserviceName)) {
-        serverStats.clearSuccessiveConnectionFailureCount();
-        return true;
-      }
-    }
-    return false;
+    // no need to clear the count after switched to other server, it will be cleared by next success of the server
+    long successiveFailedCount = ServiceCombLoadBalancerStats.INSTANCE.getServiceCombServerStats(lastServer)
+        .getContinuousFailureCount();
+    return Configuration.INSTANCE.getSuccessiveFailedTimes(microserviceName) > 0
+        && successiveFailedCount >= Configuration.INSTANCE.getSuccessiveFailedTimes(microserviceName);
   }
 
   @Override
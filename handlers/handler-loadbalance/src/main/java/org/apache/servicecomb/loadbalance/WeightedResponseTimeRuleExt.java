@@ -23,8 +23,6 @@ import java.util.concurrent.ThreadLocalRandom;
 
 import org.apache.servicecomb.core.Invocation;
 
-import com.netflix.loadbalancer.ServerStats;
-
 /**
  * Rule based on response time.
  */
@@ -34,15 +32,8 @@ public class WeightedResponseTimeRuleExt extends RoundRobinRuleExt {
 
   private static final int RANDOM_PERCENT = 10;
 
-  private LoadBalancer loadBalancer;
-
   private double totalWeightsCache = -1d;
 
-  @Override
-  public void setLoadBalancer(LoadBalancer loadBalancer) {
-    this.loadBalancer = loadBalancer;
-  }
-
   @Override
   public ServiceCombServer choose(List<ServiceCombServer> servers, Invocation invocation) {
     List<Double> stats = calculateTotalWeights(servers);
@@ -82,8 +73,8 @@ public class WeightedResponseTimeRuleExt extends RoundRobinRuleExt {
     double totalWeights = 0;
     boolean needRandom = false;
     for (ServiceCombServer server : servers) {
-      ServerStats serverStats = loadBalancer.getLoadBalancerStats().getSingleServerStat(server);
-      //getResponseTimeAvgRecent()按照时间窗口统计，时间窗口大小为1分钟；getResponseTimeAvg()一直累积
+      ServiceCombServerStats serverStats = ServiceCombLoadBalancerStats.INSTANCE.getServiceCombServerStats(server);
+      //getResponseTimeAvgRecent()按照时间窗口统计，时间窗口大小为1分钟
       double avgTime = serverStats.getResponseTimeAvgRecent();
       if (!needRandom && avgTime > MIN_GAP) {
         needRandom = true;
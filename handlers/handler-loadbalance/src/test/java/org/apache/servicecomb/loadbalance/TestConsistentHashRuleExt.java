@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.loadbalance;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.servicecomb.core.Endpoint;
+import org.apache.servicecomb.core.Invocation;
+import org.apache.servicecomb.foundation.test.scaffolding.config.ArchaiusUtils;
+import org.apache.servicecomb.registry.api.registry.MicroserviceInstance;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class TestConsistentHashRuleExt {
+  ConsistentHashRuleExt rule = new ConsistentHashRuleExt();
+
+  Invocation invocation = Mockito.mock(Invocation.class);
+
+  List<ServiceCombServer> servers = new ArrayList<>();
+
+  @Before
+  public void setUp() {
+    ArchaiusUtils.setProperty("servicecomb.loadbalance.ConsistentHashRule.hashKey", "userId");
+    ServiceCombLoadBalancerStats.INSTANCE.init();
+    for (int idx = 0; idx < 5; idx++) {
+      MicroserviceInstance instance = new MicroserviceInstance();
+      instance.setInstanceId("hash-" + idx);
+      servers.add(new ServiceCombServer(null, new Endpoint(null, "rest://server" + idx + ":8080", instance, null), instance));
+    }
+  }
+
+  @After
+  public void tearDown() {
+    ArchaiusUtils.resetConfig();
+  }
+
+  private ServiceCombServer choose(List<ServiceCombServer> servers, String userId) {
+    Mockito.when(invocation.getContext("userId")).thenReturn(userId);
+    return rule.choose(servers, invocation);
+  }
+
+  @Test
+  public void empty() {
+    Assert.assertNull(rule.choose(Collections.emptyList(), invocation));
+  }
+
+  @Test
+  public void noHashKey() {
+    Assert.assertNotNull(choose(servers, null));
+  }
+
+  @Test
+  public void sameKeySameServer() {
+    ServiceCombServer server = choose(servers, "user-1");
+    for (int idx = 0; idx < 10; idx++) {
+      Assert.assertSame(server, choose(new ArrayList<>(servers), "user-1"));
+    }
+
+    // same servers in another list, reuse the table
+    ConsistentHashRuleExt.LookupTable table = rule.getOrBuildLookupTable(servers);
+    Assert.assertSame(table, rule.getOrBuildLookupTable(new ArrayList<>(servers)));
+  }
+
+  @Test
+  public void cacheTablesOfServerSets() {
+    List<ServiceCombServer> remains = new ArrayList<>(servers);
+    remains.remove(2);
+    ConsistentHashRuleExt.LookupTable all = rule.getOrBuildLookupTable(servers);
+    ConsistentHashRuleExt.LookupTable part = rule.getOrBuildLookupTable(remains);
+    Assert.assertNotSame(all, part);
+
+    // switching between sets does not rebuild tables
+    List<ServiceCombServer> reversed = new ArrayList<>(servers);
+    Collections.reverse(reversed);
+    Assert.assertSame(all, rule.getOrBuildLookupTable(reversed));
+    Assert.assertSame(part, rule.getOrBuildLookupTable(new ArrayList<>(remains)));
+  }
+
+  @Test
+  public void fewKeysMovedWhenServerRemoved() {
+    List<ServiceCombServer> before = new ArrayList<>();
+    for (int idx = 0; idx < 1000; idx++) {
+      before.add(choose(servers, "user-" + idx));
+    }
+
+    List<ServiceCombServer> remains = new ArrayList<>(servers);
+    ServiceCombServer removed = remains.remove(2);
+    int kept = 0;
+    int total = 0;
+    for (int idx = 0; idx < 1000; idx++) {
+      ServiceCombServer server = choose(remains, "user-" + idx);
+      Assert.assertNotSame(removed, server);
+      if (before.get(idx) != removed) {
+        total++;
+        if (before.get(idx) == server) {
+          kept++;
+        }
+      }
+    }
+    Assert.assertTrue(kept > total * 0.9);
+  }
+
+  @Test
+  public void spillOverBusyServer() {
+    ServiceCombServer server = choose(servers, "user-1");
+    ServiceCombServerStats stats = ServiceCombLoadBalancerStats.INSTANCE.getServiceCombServerStats(server);
+    for (int idx = 0; idx < 5; idx++) {
+      stats.markRequestStart();
+    }
+
+    Assert.assertNotSame(server, choose(servers, "user-1"));
+  }
+}
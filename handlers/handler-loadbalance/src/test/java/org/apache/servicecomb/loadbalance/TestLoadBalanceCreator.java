@@ -197,6 +197,8 @@ public class TestLoadBalanceCreator {
   @Test
   public void testLoadBalanceWithSessionSticknessRule(@Injectable Invocation invocation,
       @Injectable Transport transport) {
+    // failures of servers are counted by the global stats
+    ServiceCombLoadBalancerStats.INSTANCE.init();
     SessionStickinessRule rule = new SessionStickinessRule();
     LoadBalancer lb = new LoadBalancer(rule, "service");
 
@@ -234,11 +236,9 @@ public class TestLoadBalanceCreator {
     Assert.assertEquals(server2, s);
 
     ArchaiusUtils.setProperty("cse.loadbalance.service.SessionStickinessRule.successiveFailedTimes", 5);
-    lb.getLoadBalancerStats().incrementSuccessiveConnectionFailureCount(s);
-    lb.getLoadBalancerStats().incrementSuccessiveConnectionFailureCount(s);
-    lb.getLoadBalancerStats().incrementSuccessiveConnectionFailureCount(s);
-    lb.getLoadBalancerStats().incrementSuccessiveConnectionFailureCount(s);
-    lb.getLoadBalancerStats().incrementSuccessiveConnectionFailureCount(s);
+    for (int idx = 0; idx < 5; idx++) {
+      ServiceCombLoadBalancerStats.INSTANCE.markFailure((ServiceCombServer) s);
+    }
     s = lb.chooseServer(invocation);
     Assert.assertEquals(server, s);
   }
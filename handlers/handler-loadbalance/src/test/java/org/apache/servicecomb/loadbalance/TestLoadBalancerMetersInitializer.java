@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.loadbalance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.servicecomb.foundation.metrics.registry.GlobalRegistry;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.ManualClock;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.patterns.PolledMeter;
+
+import mockit.Deencapsulation;
+
+public class TestLoadBalancerMetersInitializer {
+  GlobalRegistry globalRegistry = new GlobalRegistry();
+
+  Registry registry = new DefaultRegistry(new ManualClock());
+
+  @Test
+  public void init() {
+    Deencapsulation.setField(ServiceCombLoadBalancerStats.INSTANCE, "lastPingDuration", 15L);
+    Deencapsulation.setField(ServiceCombLoadBalancerStats.INSTANCE, "lastPingServerCount", 3);
+
+    globalRegistry.add(registry);
+    new LoadBalancerMetersInitializer().init(globalRegistry, null, null);
+
+    PolledMeter.update(registry);
+    List<String> result = new ArrayList<>();
+    registry.iterator().forEachRemaining(meter -> result.add(meter.measure().toString()));
+
+    Assert.assertThat(result,
+        Matchers.containsInAnyOrder("[Measurement(loadbalance.ping.lastDuration,0,15.0)]",
+            "[Measurement(loadbalance.ping.lastServerCount,0,3.0)]"));
+  }
+}
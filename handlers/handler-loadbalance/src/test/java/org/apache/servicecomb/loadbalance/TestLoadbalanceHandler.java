@@ -50,8 +50,6 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
-import com.netflix.loadbalancer.LoadBalancerStats;
-
 import mockit.Deencapsulation;
 import mockit.Expectations;
 import mockit.Injectable;
@@ -86,6 +84,8 @@ public class TestLoadbalanceHandler {
 
   Response sendResponse;
 
+  Exception sendException;
+
 //  List<String> results = new ArrayList<>();
 
   @Rule
@@ -105,6 +105,9 @@ public class TestLoadbalanceHandler {
 
       @Mock
       void next(AsyncResponse asyncResp) throws Exception {
+        if (sendException != null) {
+          throw sendException;
+        }
         asyncResp.handle(sendResponse);
       }
     };
@@ -138,6 +141,7 @@ public class TestLoadbalanceHandler {
   public void teardown() {
     scbEngine.destroy();
     ArchaiusUtils.resetConfig();
+    ServiceCombLoadBalancerStats.INSTANCE.init();
   }
 
   @Test
@@ -164,13 +168,10 @@ public class TestLoadbalanceHandler {
     instance1.setInstanceId("1234");
     CacheEndpoint cacheEndpoint = new CacheEndpoint("rest://localhost:8080", instance1);
     ServiceCombServer server = new ServiceCombServer(null, restTransport, cacheEndpoint);
-    LoadBalancerStats stats = new LoadBalancerStats("test");
     new Expectations(loadBalancer) {
       {
         loadBalancer.chooseServer(invocation);
         result = server;
-        loadBalancer.getLoadBalancerStats();
-        result = stats;
       }
     };
     sendResponse = Response.create(Status.BAD_REQUEST, "send failed");
@@ -182,7 +183,7 @@ public class TestLoadbalanceHandler {
 
     // InvocationException is not taken as a failure
     Assert.assertEquals(0,
-        loadBalancer.getLoadBalancerStats().getSingleServerStat(server).getSuccessiveConnectionFailureCount());
+        ServiceCombLoadBalancerStats.INSTANCE.getServiceCombServerStats(server).getContinuousFailureCount());
     Assert.assertEquals("InvocationException: code=400;msg=send failed",
         result.value.getMessage());
   }
@@ -193,13 +194,10 @@ public class TestLoadbalanceHandler {
     instance1.setInstanceId("1234");
     CacheEndpoint cacheEndpoint = new CacheEndpoint("rest://localhost:8080", instance1);
     ServiceCombServer server = new ServiceCombServer(null, restTransport, cacheEndpoint);
-    LoadBalancerStats stats = new LoadBalancerStats("test");
     new Expectations(loadBalancer) {
       {
         loadBalancer.chooseServer(invocation);
         result = server;
-        loadBalancer.getLoadBalancerStats();
-        result = stats;
       }
     };
     sendResponse = Response.consumerFailResp(new SocketException());
@@ -210,7 +208,7 @@ public class TestLoadbalanceHandler {
     }, loadBalancer);
 
     Assert.assertEquals(1,
-        loadBalancer.getLoadBalancerStats().getSingleServerStat(server).getSuccessiveConnectionFailureCount());
+        ServiceCombLoadBalancerStats.INSTANCE.getServiceCombServerStats(server).getContinuousFailureCount());
     Assert.assertEquals(
         "InvocationException: code=490;msg=CommonExceptionData [message=Unexpected consumer error, please check logs for details]",
         result.value.getMessage());
@@ -222,13 +220,10 @@ public class TestLoadbalanceHandler {
     instance1.setInstanceId("1234");
     CacheEndpoint cacheEndpoint = new CacheEndpoint("rest://localhost:8080", instance1);
     ServiceCombServer server = new ServiceCombServer(null, restTransport, cacheEndpoint);
-    LoadBalancerStats stats = new LoadBalancerStats("test");
     new Expectations(loadBalancer) {
       {
         loadBalancer.chooseServer(invocation);
         result = server;
-        loadBalancer.getLoadBalancerStats();
-        result = stats;
       }
     };
     sendResponse = Response.ok("success");
@@ -238,11 +233,39 @@ public class TestLoadbalanceHandler {
       result.value = resp.getResult();
     }, loadBalancer);
 
-    Assert.assertEquals(1,
-        loadBalancer.getLoadBalancerStats().getSingleServerStat(server).getActiveRequestsCount());
+    ServiceCombServerStats serverStats = ServiceCombLoadBalancerStats.INSTANCE.getServiceCombServerStats(server);
+    Assert.assertEquals(0, serverStats.getActiveRequests());
+    Assert.assertEquals(1, serverStats.getSuccessRequests());
     Assert.assertEquals("success", result.value);
   }
 
+  @Test
+  public void send_nextThrowException(@Injectable LoadBalancer loadBalancer) {
+    MicroserviceInstance instance1 = new MicroserviceInstance();
+    instance1.setInstanceId("1234");
+    CacheEndpoint cacheEndpoint = new CacheEndpoint("rest://localhost:8080", instance1);
+    ServiceCombServer server = new ServiceCombServer(null, restTransport, cacheEndpoint);
+    new Expectations(loadBalancer) {
+      {
+        loadBalancer.chooseServer(invocation);
+        result = server;
+      }
+    };
+    sendException = new IllegalStateException("next failed");
+
+    try {
+      Deencapsulation.invoke(handler, "send", invocation, (AsyncResponse) resp -> {
+      }, loadBalancer);
+      Assert.fail("must throw exception");
+    } catch (IllegalStateException e) {
+      Assert.assertEquals("next failed", e.getMessage());
+    }
+
+    ServiceCombServerStats serverStats = ServiceCombLoadBalancerStats.INSTANCE.getServiceCombServerStats(server);
+    Assert.assertEquals(0, serverStats.getActiveRequests());
+    Assert.assertEquals(1, serverStats.getContinuousFailureCount());
+  }
+
   @Test
   public void sendWithRetry(@Injectable LoadBalancer loadBalancer) {
     Holder<String> result = new Holder<>();
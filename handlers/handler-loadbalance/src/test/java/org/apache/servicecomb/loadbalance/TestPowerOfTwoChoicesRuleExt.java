@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.loadbalance;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.servicecomb.core.Endpoint;
+import org.apache.servicecomb.core.Invocation;
+import org.apache.servicecomb.registry.api.registry.MicroserviceInstance;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class TestPowerOfTwoChoicesRuleExt {
+  PowerOfTwoChoicesRuleExt rule = new PowerOfTwoChoicesRuleExt();
+
+  Invocation invocation = Mockito.mock(Invocation.class);
+
+  List<ServiceCombServer> servers = new ArrayList<>();
+
+  @Before
+  public void setUp() {
+    ServiceCombLoadBalancerStats.INSTANCE.init();
+    for (int idx = 0; idx < 2; idx++) {
+      MicroserviceInstance instance = new MicroserviceInstance();
+      instance.setInstanceId("p2c-" + idx);
+      servers.add(new ServiceCombServer(null, new Endpoint(null, "server " + idx, instance, null), instance));
+    }
+  }
+
+  private ServiceCombServerStats getStats(int idx) {
+    return ServiceCombLoadBalancerStats.INSTANCE.getServiceCombServerStats(servers.get(idx));
+  }
+
+  @Test
+  public void empty() {
+    Assert.assertNull(rule.choose(Collections.emptyList(), invocation));
+  }
+
+  @Test
+  public void single() {
+    Assert.assertSame(servers.get(0), rule.choose(servers.subList(0, 1), invocation));
+  }
+
+  @Test
+  public void avoidSlowServer() {
+    getStats(0).markRequestStart();
+    getStats(0).markSuccess(500);
+    getStats(1).markRequestStart();
+    getStats(1).markSuccess(5);
+
+    for (int idx = 0; idx < 100; idx++) {
+      Assert.assertSame(servers.get(1), rule.choose(servers, invocation));
+    }
+  }
+
+  @Test
+  public void avoidBusyServer() {
+    getStats(1).markRequestStart();
+    getStats(1).markRequestStart();
+
+    for (int idx = 0; idx < 100; idx++) {
+      Assert.assertSame(servers.get(0), rule.choose(servers, invocation));
+    }
+  }
+
+  @Test
+  public void chooseAll() {
+    boolean[] chosen = new boolean[2];
+    for (int idx = 0; idx < 1000; idx++) {
+      ServiceCombServer server = rule.choose(servers, invocation);
+      chosen[servers.indexOf(server)] = true;
+    }
+    Assert.assertTrue(chosen[0]);
+    Assert.assertTrue(chosen[1]);
+  }
+}
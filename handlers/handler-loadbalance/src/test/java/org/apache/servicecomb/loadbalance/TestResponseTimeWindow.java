@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.loadbalance;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestResponseTimeWindow {
+  ResponseTimeWindow window = new ResponseTimeWindow(60000, 6);
+
+  @Test
+  public void noData() {
+    Assert.assertEquals(0, window.getAverage(1000), 0);
+  }
+
+  @Test
+  public void average() {
+    window.record(1000, 10);
+    window.record(11000, 30);
+    Assert.assertEquals(20, window.getAverage(11000), 0);
+  }
+
+  @Test
+  public void slide() {
+    window.record(1000, 10);
+    window.record(11000, 30);
+
+    // bucket of 1000 is outdated
+    Assert.assertEquals(30, window.getAverage(61000), 0);
+
+    // reuse the bucket of 1000
+    window.record(61000, 50);
+    Assert.assertEquals(40, window.getAverage(61000), 0);
+
+    Assert.assertEquals(0, window.getAverage(200000), 0);
+  }
+
+  @Test
+  public void reset() {
+    window.record(1000, 10);
+    window.reset();
+    Assert.assertEquals(0, window.getAverage(1000), 0);
+  }
+}
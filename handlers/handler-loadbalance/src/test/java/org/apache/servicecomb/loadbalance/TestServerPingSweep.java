@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.loadbalance;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.servicecomb.core.Endpoint;
+import org.apache.servicecomb.registry.api.registry.MicroserviceInstance;
+import org.apache.servicecomb.registry.consumer.MicroserviceInstancePing;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.vertx.core.Vertx;
+
+public class TestServerPingSweep {
+  static class MockPing implements MicroserviceInstancePing {
+    final List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+
+    int maxInFlight;
+
+    @Override
+    public int getOrder() {
+      return 0;
+    }
+
+    @Override
+    public boolean ping(MicroserviceInstance instance) {
+      return true;
+    }
+
+    @Override
+    public synchronized CompletableFuture<Boolean> pingAsync(MicroserviceInstance instance) {
+      CompletableFuture<Boolean> future = new CompletableFuture<>();
+      futures.add(future);
+      maxInFlight = Math.max(maxInFlight, inFlight());
+      return future;
+    }
+
+    synchronized int inFlight() {
+      return (int) futures.stream().filter(future -> !future.isDone()).count();
+    }
+
+    synchronized CompletableFuture<Boolean> get(int idx) {
+      return futures.get(idx);
+    }
+  }
+
+  Vertx vertx = Vertx.vertx();
+
+  List<Entry<ServiceCombServer, ServiceCombServerStats>> servers = new ArrayList<>();
+
+  @After
+  public void tearDown() {
+    vertx.close();
+  }
+
+  private void createServers(int count) {
+    for (int idx = 0; idx < count; idx++) {
+      MicroserviceInstance instance = new MicroserviceInstance();
+      instance.setInstanceId("ping-" + idx);
+      ServiceCombServer server = new ServiceCombServer(null,
+          new Endpoint(null, "rest://server" + idx + ":8080", instance, null), instance);
+      servers.add(new SimpleEntry<>(server, new ServiceCombServerStats(null)));
+    }
+  }
+
+  @Test
+  public void limitConcurrency() throws Exception {
+    createServers(5);
+    MockPing ping = new MockPing();
+    CompletableFuture<ServerPingSweep> future = new ServerPingSweep(ping, servers, 60000, () -> vertx).start(2);
+
+    for (int idx = 0; idx < 5; idx++) {
+      Assert.assertFalse(future.isDone());
+      ping.get(idx).complete(idx != 1);
+    }
+
+    ServerPingSweep sweep = future.get(10, TimeUnit.SECONDS);
+    Assert.assertEquals(2, ping.maxInFlight);
+    Assert.assertEquals(5, sweep.getServerCount());
+    Assert.assertEquals(1, sweep.getFailedCount());
+    Assert.assertEquals(1, servers.get(1).getValue().getContinuousFailureCount());
+    Assert.assertEquals(0, servers.get(0).getValue().getContinuousFailureCount());
+  }
+
+  @Test
+  public void timeout() throws Exception {
+    createServers(2);
+    MockPing ping = new MockPing();
+    CompletableFuture<ServerPingSweep> future = new ServerPingSweep(ping, servers, 50, () -> vertx).start(2);
+
+    // first ping never completes
+    ping.get(1).complete(true);
+
+    ServerPingSweep sweep = future.get(10, TimeUnit.SECONDS);
+    Assert.assertEquals(1, sweep.getFailedCount());
+    Assert.assertEquals(1, servers.get(0).getValue().getContinuousFailureCount());
+    Assert.assertEquals(0, servers.get(1).getValue().getContinuousFailureCount());
+  }
+
+  @Test
+  public void countFailures() throws Exception {
+    createServers(4);
+    MicroserviceInstancePing ping = new MicroserviceInstancePing() {
+      @Override
+      public int getOrder() {
+        return 0;
+      }
+
+      @Override
+      public boolean ping(MicroserviceInstance instance) {
+        return true;
+      }
+
+      @Override
+      public CompletableFuture<Boolean> pingAsync(MicroserviceInstance instance) {
+        switch (instance.getInstanceId()) {
+          case "ping-0":
+            return CompletableFuture.completedFuture(true);
+          case "ping-1":
+            return CompletableFuture.completedFuture(false);
+          case "ping-2":
+            throw new IllegalStateException("ping failed");
+          default:
+            CompletableFuture<Boolean> future = new CompletableFuture<>();
+            future.completeExceptionally(new IllegalStateException("ping failed"));
+            return future;
+        }
+      }
+    };
+
+    ServerPingSweep sweep = new ServerPingSweep(ping, servers, 60000, () -> vertx).start(1)
+        .get(10, TimeUnit.SECONDS);
+    Assert.assertEquals(4, sweep.getServerCount());
+    Assert.assertEquals(3, sweep.getFailedCount());
+    Assert.assertEquals(0, servers.get(0).getValue().getContinuousFailureCount());
+    for (int idx = 1; idx < 4; idx++) {
+      Assert.assertEquals(1, servers.get(idx).getValue().getContinuousFailureCount());
+    }
+  }
+
+  @Test
+  public void scheduleTimeoutFailed() throws Exception {
+    createServers(2);
+    MockPing ping = new MockPing();
+    ServerPingSweep sweep = new ServerPingSweep(ping, servers, 60000, () -> {
+      throw new IllegalStateException("no vertx");
+    }).start(1).get(10, TimeUnit.SECONDS);
+
+    Assert.assertEquals(2, sweep.getFailedCount());
+    Assert.assertEquals(1, servers.get(0).getValue().getContinuousFailureCount());
+  }
+}
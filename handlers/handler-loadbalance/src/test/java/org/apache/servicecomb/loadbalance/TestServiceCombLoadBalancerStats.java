@@ -20,6 +20,7 @@ package org.apache.servicecomb.loadbalance;
 import static org.awaitility.Awaitility.await;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -67,8 +68,8 @@ public class TestServiceCombLoadBalancerStats {
       {
         SPIServiceUtils.getPriorityHighestService(MicroserviceInstancePing.class);
         result = ping;
-        ping.ping(instance);
-        result = false;
+        ping.pingAsync(instance);
+        result = CompletableFuture.completedFuture(false);
       }
     };
 
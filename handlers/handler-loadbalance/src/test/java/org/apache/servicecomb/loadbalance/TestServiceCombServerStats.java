@@ -94,6 +94,44 @@ public class TestServiceCombServerStats {
     Assert.assertEquals(100, stats.getSuccessRate());
   }
 
+  @Test
+  public void testRequestStats() {
+    MockClock clock = new MockClock(1000L);
+    ServiceCombServerStats stats = new ServiceCombServerStats(null, clock);
+    stats.markRequestStart();
+    stats.markRequestStart();
+    Assert.assertEquals(2, stats.getActiveRequests());
+
+    stats.markSuccess(10);
+    stats.markFailure(30);
+    Assert.assertEquals(0, stats.getActiveRequests());
+    Assert.assertEquals(2, stats.getTotalRequests());
+    Assert.assertEquals(1, stats.getContinuousFailureCount());
+    Assert.assertEquals(20, stats.getResponseTimeAvgRecent(), 0);
+    // peak ewma
+    Assert.assertEquals(30, stats.getResponseTimeEwma(), 0);
+
+    stats.clock = new MockClock(60000L + 2000L);
+    Assert.assertEquals(0, stats.getResponseTimeAvgRecent(), 0);
+  }
+
+  @Test
+  public void testResponseTimeEwmaDecay() {
+    ServiceCombServerStats stats = new ServiceCombServerStats(null, new MockClock(1000L));
+    stats.markRequestStart();
+    stats.markSuccess(100);
+    Assert.assertEquals(100, stats.getResponseTimeEwma(), 0);
+
+    // decay at read time, even there is no new response
+    stats.clock = new MockClock(1000L + 10000L);
+    Assert.assertEquals(100 / Math.E, stats.getResponseTimeEwma(), 0.001);
+
+    // lower response time is smoothed
+    stats.markRequestStart();
+    stats.markSuccess(10);
+    Assert.assertEquals(100 / Math.E + 10 * (1 - 1 / Math.E), stats.getResponseTimeEwma(), 0.001);
+  }
+
   @Test
   public void testGlobalAllowIsolatedServerTryingFlag_apply_with_null_precondition() {
     Invocation invocation = new Invocation();
@@ -30,9 +30,7 @@ import org.apache.servicecomb.registry.api.registry.MicroserviceInstance;
 import org.apache.servicecomb.registry.cache.CacheEndpoint;
 import org.junit.Assert;
 import org.junit.Test;
-import org.mockito.Mockito;
 
-import com.netflix.loadbalancer.LoadBalancerStats;
 import com.netflix.loadbalancer.Server;
 
 import mockit.Deencapsulation;
@@ -52,8 +50,6 @@ public class TestSessionSticknessRule {
     ServiceCombServer mockedServer =
         new ServiceCombServer(null, transport, new CacheEndpoint("rest:127.0.0.1:8889", instance1));
     Invocation invocation = mock(Invocation.class);
-    LoadBalancerStats stats = mock(LoadBalancerStats.class);
-    Mockito.when(mockedLb.getLoadBalancerStats()).thenReturn(stats);
     Deencapsulation.invoke(rule, "chooseServerWhenTimeout", Arrays.asList(mockedServer), invocation);
     mockedServer.setAlive(true);
     mockedServer.setReadyToServe(true);
@@ -18,10 +18,12 @@ package org.apache.servicecomb.router.cache;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.servicecomb.config.YAMLUtil;
+import org.apache.servicecomb.foundation.common.concurrent.ConcurrentHashMapEx;
 import org.apache.servicecomb.router.model.PolicyRuleItem;
 import org.apache.servicecomb.router.model.ServiceInfoCache;
 import org.slf4j.Logger;
@@ -47,6 +49,11 @@ public class RouterRuleCache {
 
   private static Interner<String> servicePool = Interners.newWeakInterner();
 
+  /**
+   * rule property of each target service, avoid to format the key and lookup the property for every invocation
+   */
+  private static final Map<String, DynamicStringProperty> rulePropertyMap = new ConcurrentHashMapEx<>();
+
   /**
    * cache and register callback return false when: 1. parsing error 2. rule is null
    *
@@ -65,10 +72,12 @@ public class RouterRuleCache {
         //Yaml not thread-safe
         DynamicStringProperty ruleStr = DynamicPropertyFactory.getInstance().getStringProperty(
             String.format(ROUTE_RULE, targetServiceName), null, () -> {
-              refresh(targetServiceName);
               DynamicStringProperty tepRuleStr = DynamicPropertyFactory.getInstance()
                   .getStringProperty(String.format(ROUTE_RULE, targetServiceName), null);
-              addAllRule(targetServiceName, tepRuleStr.get());
+              // replace the snapshot directly, so that invocations never see a missing rule while refreshing
+              if (!addAllRule(targetServiceName, tepRuleStr.get())) {
+                refresh(targetServiceName);
+              }
             });
         return addAllRule(targetServiceName, ruleStr.get());
       }
@@ -91,6 +100,7 @@ public class RouterRuleCache {
     if (CollectionUtils.isEmpty(policyRuleItemList)) {
       return false;
     }
+    // rules are sorted and header matchers are compiled here, once for each change of configuration
     ServiceInfoCache serviceInfoCache = new ServiceInfoCache(policyRuleItemList);
     serviceInfoCacheMap.put(targetServiceName, serviceInfoCache);
     return true;
@@ -103,8 +113,8 @@ public class RouterRuleCache {
    * @return
    */
   public static boolean isServerContainRule(String targetServiceName) {
-    DynamicStringProperty lookFor = DynamicPropertyFactory.getInstance()
-        .getStringProperty(String.format(ROUTE_RULE, targetServiceName), null);
+    DynamicStringProperty lookFor = rulePropertyMap.computeIfAbsent(targetServiceName,
+        name -> DynamicPropertyFactory.getInstance().getStringProperty(String.format(ROUTE_RULE, name), null));
     return !StringUtils.isEmpty(lookFor.get());
   }
 
@@ -114,6 +124,7 @@ public class RouterRuleCache {
 
   public static void refresh() {
     serviceInfoCacheMap = new ConcurrentHashMap<>();
+    rulePropertyMap.clear();
   }
 
   public static void refresh(String targetServiceName) {
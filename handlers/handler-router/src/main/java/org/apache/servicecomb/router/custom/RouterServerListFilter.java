@@ -16,24 +16,31 @@
  */
 package org.apache.servicecomb.router.custom;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.servicecomb.core.Invocation;
 import org.apache.servicecomb.foundation.common.utils.JsonUtils;
 import org.apache.servicecomb.foundation.common.utils.SPIServiceUtils;
 import org.apache.servicecomb.loadbalance.ServerListFilterExt;
 import org.apache.servicecomb.loadbalance.ServiceCombServer;
 import org.apache.servicecomb.router.RouterFilter;
+import org.apache.servicecomb.router.cache.RouterRuleCache;
 import org.apache.servicecomb.router.distribute.RouterDistributor;
+import org.apache.servicecomb.router.model.ServiceInfoCache;
 import org.apache.servicecomb.registry.api.registry.Microservice;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.util.CollectionUtils;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.netflix.config.DynamicPropertyFactory;
+import com.netflix.config.DynamicStringProperty;
 
 public class RouterServerListFilter implements ServerListFilterExt {
 
@@ -45,25 +52,51 @@ public class RouterServerListFilter implements ServerListFilterExt {
 
   private static final String ROUTER_HEADER = "X-RouterContext";
 
+  private final DynamicStringProperty routerType = DynamicPropertyFactory.getInstance()
+      .getStringProperty(ENABLE, "");
+
   RouterDistributor<ServiceCombServer, Microservice> distributer = new ServiceCombCanaryDistributer();
 
   @Override
   public boolean enabled() {
-    return DynamicPropertyFactory.getInstance().getStringProperty(ENABLE, "").get()
-        .equals(TYPE_ROUTER);
+    return TYPE_ROUTER.equals(routerType.get());
   }
 
   @Override
   public List<ServiceCombServer> getFilteredListOfServers(List<ServiceCombServer> list,
       Invocation invocation) {
     String targetServiceName = invocation.getMicroserviceName();
-    Map<String, String> headers = addHeaders(invocation);
-    headers = filterHeaders(headers);
+    if (CollectionUtils.isEmpty(list) || StringUtils.isEmpty(targetServiceName)
+        || !RouterRuleCache.doInit(targetServiceName)) {
+      // no rule for target service, no need to collect headers
+      return list;
+    }
+
+    ServiceInfoCache serviceInfoCache = RouterRuleCache.getServiceInfoCacheMap().get(targetServiceName);
+    if (serviceInfoCache == null) {
+      return list;
+    }
+
+    Map<String, String> headers;
+    if (hasEnabledHeaderFilter()) {
+      headers = filterHeaders(addHeaders(invocation));
+    } else {
+      headers = addRuleHeaders(invocation, serviceInfoCache.getHeaderNames());
+    }
     return RouterFilter
         .getFilteredListOfServers(list, targetServiceName, headers,
             distributer);
   }
 
+  private boolean hasEnabledHeaderFilter() {
+    for (RouterHeaderFilterExt filterExt : SPIServiceUtils.getOrLoadSortedService(RouterHeaderFilterExt.class)) {
+      if (filterExt.enabled()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   private Map<String, String> filterHeaders(Map<String, String> headers) {
     List<RouterHeaderFilterExt> filters = SPIServiceUtils
         .getOrLoadSortedService(RouterHeaderFilterExt.class);
@@ -75,22 +108,55 @@ public class RouterServerListFilter implements ServerListFilterExt {
     return headers;
   }
 
-  private Map<String, String> addHeaders(Invocation invocation) {
+  /**
+   * only collect headers used by rules, same priority with {@link #addHeaders(Invocation)}:
+   * context > invocation arguments > canary context
+   */
+  private Map<String, String> addRuleHeaders(Invocation invocation, Set<String> headerNames) {
+    if (headerNames.isEmpty()) {
+      return Collections.emptyMap();
+    }
+
     Map<String, String> headers = new HashMap<>();
+    Map<String, String> canaryContext = null;
+    for (String name : headerNames) {
+      String value = invocation.getContext(name);
+      if (value == null) {
+        Object arg = invocation.getInvocationArguments().get(name);
+        value = arg == null ? null : arg.toString();
+      }
+      if (value == null) {
+        if (canaryContext == null) {
+          canaryContext = readCanaryContext(invocation);
+        }
+        value = canaryContext.get(name);
+      }
+      if (value != null) {
+        headers.put(name, value);
+      }
+    }
+    return headers;
+  }
+
+  private Map<String, String> readCanaryContext(Invocation invocation) {
     if (invocation.getContext(ROUTER_HEADER) != null) {
-      Map<String, String> canaryContext = null;
       try {
-        canaryContext = JsonUtils.OBJ_MAPPER
+        Map<String, String> canaryContext = JsonUtils.OBJ_MAPPER
             .readValue(invocation.getContext(ROUTER_HEADER),
                 new TypeReference<Map<String, String>>() {
                 });
+        if (canaryContext != null) {
+          return canaryContext;
+        }
       } catch (JsonProcessingException e) {
         LOGGER.error("canary context serialization failed");
       }
-      if (canaryContext != null) {
-        headers.putAll(canaryContext);
-      }
     }
+    return Collections.emptyMap();
+  }
+
+  private Map<String, String> addHeaders(Invocation invocation) {
+    Map<String, String> headers = new HashMap<>(readCanaryContext(invocation));
     invocation.getInvocationArguments().forEach((k, v) -> headers.put(k, v == null ? null : v.toString()));
     headers.putAll(invocation.getContext());
     return headers;
@@ -16,6 +16,8 @@
  */
 package org.apache.servicecomb.router.model;
 
+import java.util.regex.Pattern;
+
 import org.apache.servicecomb.router.exception.RouterIllegalParamException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,9 +40,27 @@ public class HeaderRule {
 
   private String exact;
 
+  // compiled from regex and caseInsensitive, reset when any of them changed
+  private volatile Pattern compiledRegex;
+
+  private volatile boolean compiled;
+
   public HeaderRule() {
   }
 
+  public void compile() {
+    if (regex != null) {
+      try {
+        compiledRegex = caseInsensitive ? Pattern.compile(regex)
+            : Pattern.compile(regex, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+      } catch (Exception e) {
+        LOGGER.error("route management wrong regular expression format: {}", regex);
+        compiledRegex = null;
+      }
+    }
+    compiled = true;
+  }
+
   public boolean match(String str) {
     if (str == null) {
       return false;
@@ -49,21 +69,15 @@ public class HeaderRule {
       throw new RouterIllegalParamException(
           "route management regex and exact can not br null at same time.");
     }
-    if (!caseInsensitive) {
-      str = str.toLowerCase();
-      exact = exact == null ? null : exact.toLowerCase();
-      regex = regex == null ? null : regex.toLowerCase();
+    if (!compiled) {
+      compile();
     }
-    if (exact != null && !str.equals(exact)) {
+    if (exact != null && !(caseInsensitive ? str.equals(exact) : str.equalsIgnoreCase(exact))) {
       return false;
     }
-    try {
-      if (regex != null && !str.matches(regex)) {
-        return false;
-      }
-    } catch (Exception e) {
-      LOGGER.error("route management wrong regular expression format: {}", regex);
-      return false;
+    if (regex != null) {
+      Pattern pattern = compiledRegex;
+      return pattern != null && pattern.matcher(str).matches();
     }
     return true;
   }
@@ -74,6 +88,7 @@ public class HeaderRule {
 
   public void setRegex(String regex) {
     this.regex = regex;
+    this.compiled = false;
   }
 
   public Boolean getCaseInsensitive() {
@@ -82,6 +97,7 @@ public class HeaderRule {
 
   public void setCaseInsensitive(Boolean caseInsensitive) {
     this.caseInsensitive = caseInsensitive;
+    this.compiled = false;
   }
 
   public String getExact() {
@@ -90,6 +106,7 @@ public class HeaderRule {
 
   public void setExact(String exact) {
     this.exact = exact;
+    this.compiled = false;
   }
 
   @Override
@@ -16,7 +16,10 @@
  */
 package org.apache.servicecomb.router.model;
 
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
+
 import org.springframework.util.CollectionUtils;
 
 /**
@@ -33,22 +36,69 @@ public class Matcher {
 
   private String refer;
 
+  // flattened from headers, avoid iterating the map for every request
+  private volatile CompiledHeaders compiledHeaders;
+
+  static class CompiledHeaders {
+    final String[] names;
+
+    final HeaderRule[] rules;
+
+    CompiledHeaders(String[] names, HeaderRule[] rules) {
+      this.names = names;
+      this.rules = rules;
+    }
+  }
+
   public Matcher() {
   }
 
-  public boolean match(Map<String, String> realHeaders) {
+  public void compile() {
+    compiledHeaders = createCompiledHeaders();
+  }
+
+  private CompiledHeaders createCompiledHeaders() {
     if (CollectionUtils.isEmpty(headers)) {
-      return true;
+      return new CompiledHeaders(new String[0], new HeaderRule[0]);
     }
+
+    String[] names = new String[headers.size()];
+    HeaderRule[] rules = new HeaderRule[headers.size()];
+    int idx = 0;
     for (Map.Entry<String, HeaderRule> entry : headers.entrySet()) {
-      if (!realHeaders.containsKey(entry.getKey()) || !entry.getValue()
-          .match(realHeaders.get(entry.getKey()))) {
+      names[idx] = entry.getKey();
+      rules[idx] = entry.getValue();
+      rules[idx].compile();
+      idx++;
+    }
+    return new CompiledHeaders(names, rules);
+  }
+
+  public boolean match(Map<String, String> realHeaders) {
+    CompiledHeaders compiled = compiledHeaders;
+    if (compiled == null) {
+      compiled = createCompiledHeaders();
+      compiledHeaders = compiled;
+    }
+    for (int idx = 0; idx < compiled.names.length; idx++) {
+      String value = realHeaders.get(compiled.names[idx]);
+      if (value == null || !compiled.rules[idx].match(value)) {
         return false;
       }
     }
     return true;
   }
 
+  /**
+   * names of headers used by this matcher
+   */
+  public Set<String> getHeaderNames() {
+    if (CollectionUtils.isEmpty(headers)) {
+      return Collections.emptySet();
+    }
+    return headers.keySet();
+  }
+
   public String getSource() {
     return source;
   }
@@ -71,6 +121,7 @@ public class Matcher {
 
   public void setHeaders(Map<String, HeaderRule> headers) {
     this.headers = headers;
+    this.compiledHeaders = null;
   }
 
   public String getRefer() {
@@ -16,7 +16,10 @@
  */
 package org.apache.servicecomb.router.model;
 
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -32,6 +35,11 @@ public class ServiceInfoCache {
    */
   private TagItem latestVersionTag;
 
+  /**
+   * names of headers used by any rule
+   */
+  private Set<String> headerNames = Collections.emptySet();
+
   public ServiceInfoCache() {
   }
 
@@ -43,6 +51,15 @@ public class ServiceInfoCache {
     );
     // sort by precedence
     this.sortRule();
+    // compile header matchers once
+    Set<String> names = new HashSet<>();
+    this.getAllrule().stream()
+        .filter(rule -> rule.getMatch() != null)
+        .forEach(rule -> {
+          rule.getMatch().compile();
+          names.addAll(rule.getMatch().getHeaderNames());
+        });
+    this.headerNames = Collections.unmodifiableSet(names);
   }
 
   public void sortRule() {
@@ -74,6 +91,10 @@ public class ServiceInfoCache {
     this.allrule = allrule;
   }
 
+  public Set<String> getHeaderNames() {
+    return headerNames;
+  }
+
   public TagItem getLatestVersionTag() {
     return latestVersionTag;
   }
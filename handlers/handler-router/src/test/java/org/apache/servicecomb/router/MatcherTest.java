@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.router;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.servicecomb.router.model.HeaderRule;
+import org.apache.servicecomb.router.model.Matcher;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MatcherTest {
+  @Test
+  public void testHeaderRule() {
+    HeaderRule rule = new HeaderRule();
+    rule.setRegex("user-\\D+");
+    Assert.assertTrue(rule.match("USER-abc"));
+    Assert.assertFalse(rule.match("user-123"));
+
+    rule.setCaseInsensitive(true);
+    Assert.assertFalse(rule.match("USER-abc"));
+    Assert.assertTrue(rule.match("user-abc"));
+
+    rule.setRegex("[");
+    Assert.assertFalse(rule.match("["));
+
+    HeaderRule exactRule = new HeaderRule();
+    exactRule.setExact("Gray");
+    Assert.assertTrue(exactRule.match("gray"));
+    exactRule.setCaseInsensitive(true);
+    Assert.assertFalse(exactRule.match("gray"));
+  }
+
+  @Test
+  public void testMatcher() {
+    HeaderRule rule = new HeaderRule();
+    rule.setExact("01");
+    Map<String, HeaderRule> headerRules = new HashMap<>();
+    headerRules.put("userId", rule);
+    Matcher matcher = new Matcher();
+    matcher.setHeaders(headerRules);
+    matcher.compile();
+
+    Map<String, String> headers = new HashMap<>();
+    Assert.assertFalse(matcher.match(headers));
+    headers.put("userId", "01");
+    Assert.assertTrue(matcher.match(headers));
+    Assert.assertEquals(headerRules.keySet(), matcher.getHeaderNames());
+
+    matcher.setHeaders(null);
+    Assert.assertTrue(matcher.match(headers));
+    Assert.assertTrue(matcher.getHeaderNames().isEmpty());
+  }
+}
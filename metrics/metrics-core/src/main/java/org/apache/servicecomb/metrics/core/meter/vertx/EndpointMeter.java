@@ -45,6 +45,8 @@ public class EndpointMeter {
 
   public static final String LATENCY = "latency";
 
+  public static final String QUEUED_BYTES = "queuedBytes";
+
   protected Id id;
 
   private Id idConnect;
@@ -61,6 +63,8 @@ public class EndpointMeter {
 
   private Id idLatency;
 
+  private Id idQueuedBytes;
+
   protected DefaultEndpointMetric metric;
 
   private long lastConnectCount;
@@ -85,6 +89,7 @@ public class EndpointMeter {
     idBytesWritten = id.withTag(STATISTIC, BYTES_WRITTEN);
     idRequests = id.withTag(STATISTIC, REQUESTS);
     idLatency = id.withTag(STATISTIC, LATENCY);
+    idQueuedBytes = id.withTag(STATISTIC, QUEUED_BYTES);
     this.metric = metric;
   }
 
@@ -112,6 +117,7 @@ public class EndpointMeter {
     measurements.add(newMeasurement(idRequests, msNow, requests - lastRequests));
     measurements.add(newMeasurement(idLatency, msNow,
         requests - lastRequests == 0 ? 0 : (latency - lastLatency) / (requests - lastRequests) * SNV_MILLI_SECONDS));
+    measurements.add(newMeasurement(idQueuedBytes, msNow, metric.getQueuedBytes()));
 
     this.lastConnectCount = connectCount;
     this.lastDisconnectCount = disconnectCount;
@@ -88,6 +88,17 @@ public final class Const {
       }
     }
 
+    // batch find is not supported by v3
+    public static final String MICROSERVICE_INSTANCES_BATCH;
+
+    static {
+      if (VERSION_V3.equals(CURRENT_VERSION)) {
+        MICROSERVICE_INSTANCES_BATCH = null;
+      } else {
+        MICROSERVICE_INSTANCES_BATCH = V4_PREFIX + "/instances/action";
+      }
+    }
+
     public static final String MICROSERVICE_PROPERTIES;
 
     static {
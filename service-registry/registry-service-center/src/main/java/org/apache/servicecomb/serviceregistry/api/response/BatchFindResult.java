@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.serviceregistry.api.response;
+
+import java.util.List;
+
+public class BatchFindResult {
+  private List<FindResult> updated;
+
+  // indexes of the microservices whose revision not changed
+  private List<Integer> notModified;
+
+  private List<FindFailedResult> failed;
+
+  public List<FindResult> getUpdated() {
+    return updated;
+  }
+
+  public void setUpdated(List<FindResult> updated) {
+    this.updated = updated;
+  }
+
+  public List<Integer> getNotModified() {
+    return notModified;
+  }
+
+  public void setNotModified(List<Integer> notModified) {
+    this.notModified = notModified;
+  }
+
+  public List<FindFailedResult> getFailed() {
+    return failed;
+  }
+
+  public void setFailed(List<FindFailedResult> failed) {
+    this.failed = failed;
+  }
+}
@@ -17,8 +17,11 @@
 
 package org.apache.servicecomb.serviceregistry.client;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 import org.apache.servicecomb.foundation.vertx.AsyncResultCallback;
 import org.apache.servicecomb.registry.api.event.MicroserviceInstanceChangedEvent;
@@ -27,6 +30,8 @@ import org.apache.servicecomb.registry.api.registry.MicroserviceInstance;
 import org.apache.servicecomb.registry.api.registry.MicroserviceInstanceStatus;
 import org.apache.servicecomb.registry.api.registry.MicroserviceInstances;
 import org.apache.servicecomb.serviceregistry.api.registry.ServiceCenterInfo;
+import org.apache.servicecomb.serviceregistry.api.request.DependencyKey;
+import org.apache.servicecomb.serviceregistry.api.request.FindService;
 import org.apache.servicecomb.serviceregistry.api.response.GetSchemaResponse;
 import org.apache.servicecomb.serviceregistry.api.response.HeartbeatResponse;
 import org.apache.servicecomb.serviceregistry.client.http.Holder;
@@ -51,6 +56,13 @@ public interface ServiceRegistryClient {
    */
   String registerMicroservice(Microservice microservice);
 
+  /**
+   * same to {@link #registerMicroservice(Microservice)}, but not block the caller
+   */
+  default CompletableFuture<String> registerMicroserviceAsync(Microservice microservice) {
+    return CompletableFuture.completedFuture(registerMicroservice(microservice));
+  }
+
   /**
    *
    * 根据微服务唯一标识查询微服务静态信息
@@ -110,6 +122,13 @@ public interface ServiceRegistryClient {
    */
   String registerMicroserviceInstance(MicroserviceInstance instance);
 
+  /**
+   * same to {@link #registerMicroserviceInstance(MicroserviceInstance)}, but not block the caller
+   */
+  default CompletableFuture<String> registerMicroserviceInstanceAsync(MicroserviceInstance instance) {
+    return CompletableFuture.completedFuture(registerMicroserviceInstance(instance));
+  }
+
   /**
    *
    * 根据多个微服务唯一标识查询所有微服务实例信息
@@ -134,6 +153,19 @@ public interface ServiceRegistryClient {
    */
   HeartbeatResponse heartbeat(String microserviceId, String microserviceInstanceId);
 
+  /**
+   * same to {@link #heartbeat(String, String)}, but not block the caller
+   */
+  default CompletableFuture<HeartbeatResponse> heartbeatAsync(String microserviceId, String microserviceInstanceId) {
+    try {
+      return CompletableFuture.completedFuture(heartbeat(microserviceId, microserviceInstanceId));
+    } catch (Throwable e) {
+      CompletableFuture<HeartbeatResponse> future = new CompletableFuture<>();
+      future.completeExceptionally(e);
+      return future;
+    }
+  }
+
   /**
    *
    * watch实例变化
@@ -161,6 +193,53 @@ public interface ServiceRegistryClient {
   MicroserviceInstances findServiceInstances(String consumerId, String appId, String serviceName,
       String versionRule, String revision);
 
+  /**
+   * same to {@link #findServiceInstances(String, String, String, String, String)}, but not block the caller,
+   * so that many microservices can be pulled concurrently by a few threads
+   */
+  default CompletableFuture<MicroserviceInstances> findServiceInstancesAsync(String consumerId, String appId,
+      String serviceName, String versionRule, String revision) {
+    return CompletableFuture.completedFuture(findServiceInstances(consumerId, appId, serviceName, versionRule,
+        revision));
+  }
+
+  /**
+   * find instances of many microservices by one request, only changed microservices contain instances
+   *
+   * @return result of each microservice in the same order of services, element is null if failed to find it.
+   *     or null if the whole request failed
+   */
+  default List<MicroserviceInstances> batchFindServiceInstances(String consumerId, List<FindService> services) {
+    return batchFindServiceInstancesAsync(consumerId, services).join();
+  }
+
+  /**
+   * same to {@link #batchFindServiceInstances(String, List)}, but not block the caller<br>
+   * default implementation is a local stand-in for clients without batch find, eg: tests and v3 api,
+   * it finds every microservice by {@link #findServiceInstancesAsync(String, String, String, String, String)}
+   * concurrently
+   */
+  default CompletableFuture<List<MicroserviceInstances>> batchFindServiceInstancesAsync(String consumerId,
+      List<FindService> services) {
+    List<CompletableFuture<MicroserviceInstances>> futures = new ArrayList<>(services.size());
+    for (FindService findService : services) {
+      DependencyKey service = findService.getService();
+      CompletableFuture<MicroserviceInstances> future;
+      try {
+        future = findServiceInstancesAsync(consumerId, service.getAppId(), service.getServiceName(),
+            service.getVersion(), findService.getRev());
+      } catch (Throwable e) {
+        future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+      }
+      // failed microservice is null, not fail others
+      futures.add(future.exceptionally(e -> null));
+    }
+
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+        .thenApply(v -> futures.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+  }
+
   /**
    * 通过serviceId， instanceId 获取instance对象。
    * @param serviceId
@@ -22,9 +22,11 @@ import static java.util.Collections.emptyList;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
@@ -44,11 +46,17 @@ import org.apache.servicecomb.registry.api.registry.MicroserviceInstances;
 import org.apache.servicecomb.serviceregistry.RegistryUtils;
 import org.apache.servicecomb.serviceregistry.api.Const;
 import org.apache.servicecomb.serviceregistry.api.registry.ServiceCenterInfo;
+import org.apache.servicecomb.serviceregistry.api.request.BatchFindInstancesRequest;
 import org.apache.servicecomb.serviceregistry.api.request.CreateSchemaRequest;
 import org.apache.servicecomb.serviceregistry.api.request.CreateServiceRequest;
+import org.apache.servicecomb.serviceregistry.api.request.FindService;
 import org.apache.servicecomb.serviceregistry.api.request.RegisterInstanceRequest;
 import org.apache.servicecomb.serviceregistry.api.request.UpdatePropertiesRequest;
+import org.apache.servicecomb.serviceregistry.api.response.BatchFindInstancesResponse;
+import org.apache.servicecomb.serviceregistry.api.response.BatchFindResult;
 import org.apache.servicecomb.serviceregistry.api.response.CreateServiceResponse;
+import org.apache.servicecomb.serviceregistry.api.response.FindFailedResult;
+import org.apache.servicecomb.serviceregistry.api.response.FindResult;
 import org.apache.servicecomb.serviceregistry.api.response.GetAllServicesResponse;
 import org.apache.servicecomb.serviceregistry.api.response.GetExistenceResponse;
 import org.apache.servicecomb.serviceregistry.api.response.GetInstancesResponse;
@@ -129,7 +137,6 @@ public final class ServiceRegistryClientImpl implements ServiceRegistryClient {
   }
 
   @VisibleForTesting
-  @SuppressWarnings("unchecked")
   protected <T> Handler<RestResponse> syncHandler(CountDownLatch countDownLatch, Class<T> cls,
       Holder<T> holder) {
     return restResponse -> {
@@ -151,57 +158,86 @@ public final class ServiceRegistryClientImpl implements ServiceRegistryClient {
       });
       response.bodyHandler(
           bodyBuffer -> {
-            if (cls.getName().equals(HttpClientResponse.class.getName())) {
-              holder.value = (T) response;
-              countDownLatch.countDown();
-              return;
-            }
-            if (cls.equals(String.class)) {
-              holder.setValue((T) bodyBuffer.toString());
-              countDownLatch.countDown();
-              return;
-            }
-
-            // no need to generate warn log when schema or service not exist
-            if (HttpStatusClass.CLIENT_ERROR.equals(HttpStatusClass.valueOf(response.statusCode()))) {
-              try {
-                Map<String, String> bufferMap = JsonUtils.readValue(bodyBuffer.getBytes(), Map.class);
-                if (bufferMap.containsKey(ERROR_CODE)) {
-                  String errorCode = bufferMap.get(ERROR_CODE);
-                  if (errorCode.equals(ERR_SERVICE_NOT_EXISTS) || errorCode.equals(ERR_SCHEMA_NOT_EXISTS)) {
-                    countDownLatch.countDown();
-                    return;
-                  }
-                }
-              } catch (IOException e) {
-                LOGGER.warn("read value failed from buffer {}", bodyBuffer.toString());
-              }
-            }
-
-            // no need to support 304 in this place
-            if (!HttpStatusClass.SUCCESS.equals(HttpStatusClass.valueOf(response.statusCode()))) {
-              LOGGER.warn("get response for {} failed, {}:{}, {}",
-                  cls.getName(),
-                  response.statusCode(),
-                  response.statusMessage(),
-                  bodyBuffer.toString());
-              countDownLatch.countDown();
-              return;
-            }
-
-            try {
-              holder.value =
-                  JsonUtils.readValue(bodyBuffer.getBytes(), cls);
-            } catch (Exception e) {
-              holder.setStatusCode(0).setThrowable(e);
-              LOGGER.warn("read value failed and response message is {}",
-                  bodyBuffer.toString());
-            }
+            readResponseBody(response, bodyBuffer, cls, holder);
             countDownLatch.countDown();
           });
     };
   }
 
+  // same to syncHandler, but notify by future instead of blocking the caller
+  private <T> Handler<RestResponse> asyncHandler(CompletableFuture<Holder<T>> future, Class<T> cls,
+      Holder<T> holder) {
+    return restResponse -> {
+      RequestContext requestContext = restResponse.getRequestContext();
+      HttpClientResponse response = restResponse.getResponse();
+      if (response == null) {
+        // 请求失败，触发请求SC的其他实例
+        if (requestContext.getRetryTimes() <= ipPortManager.getMaxRetryTimes()) {
+          retry(requestContext, asyncHandler(future, cls, holder));
+        } else {
+          future.complete(holder);
+        }
+        return;
+      }
+      holder.setStatusCode(response.statusCode());
+      response.exceptionHandler(e -> {
+        LOGGER.error("error in processing response.", e);
+        future.complete(holder);
+      });
+      response.bodyHandler(
+          bodyBuffer -> {
+            readResponseBody(response, bodyBuffer, cls, holder);
+            future.complete(holder);
+          });
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> void readResponseBody(HttpClientResponse response, Buffer bodyBuffer, Class<T> cls, Holder<T> holder) {
+    if (cls.getName().equals(HttpClientResponse.class.getName())) {
+      holder.value = (T) response;
+      return;
+    }
+    if (cls.equals(String.class)) {
+      holder.setValue((T) bodyBuffer.toString());
+      return;
+    }
+
+    // no need to generate warn log when schema or service not exist
+    if (HttpStatusClass.CLIENT_ERROR.equals(HttpStatusClass.valueOf(response.statusCode()))) {
+      try {
+        Map<String, String> bufferMap = JsonUtils.readValue(bodyBuffer.getBytes(), Map.class);
+        if (bufferMap.containsKey(ERROR_CODE)) {
+          String errorCode = bufferMap.get(ERROR_CODE);
+          if (errorCode.equals(ERR_SERVICE_NOT_EXISTS) || errorCode.equals(ERR_SCHEMA_NOT_EXISTS)) {
+            return;
+          }
+        }
+      } catch (IOException e) {
+        LOGGER.warn("read value failed from buffer {}", bodyBuffer.toString());
+      }
+    }
+
+    // no need to support 304 in this place
+    if (!HttpStatusClass.SUCCESS.equals(HttpStatusClass.valueOf(response.statusCode()))) {
+      LOGGER.warn("get response for {} failed, {}:{}, {}",
+          cls.getName(),
+          response.statusCode(),
+          response.statusMessage(),
+          bodyBuffer.toString());
+      return;
+    }
+
+    try {
+      holder.value =
+          JsonUtils.readValue(bodyBuffer.getBytes(), cls);
+    } catch (Exception e) {
+      holder.setStatusCode(0).setThrowable(e);
+      LOGGER.warn("read value failed and response message is {}",
+          bodyBuffer.toString());
+    }
+  }
+
   static class ResponseWrapper {
     HttpClientResponse response;
 
@@ -258,39 +294,69 @@ public final class ServiceRegistryClientImpl implements ServiceRegistryClient {
       });
       response.bodyHandler(
           bodyBuffer -> {
-            try {
-              mInstances.setRevision(response.getHeader("X-Resource-Revision"));
-              switch (response.statusCode()) {
-                case 304:
-                  mInstances.setNeedRefresh(false);
-                  break;
-                case 200:
-                  mInstances
-                      .setInstancesResponse(JsonUtils.readValue(bodyBuffer.getBytes(), FindInstancesResponse.class));
-                  mInstances.setNeedRefresh(true);
-                  break;
-                case 400: {
-                  @SuppressWarnings("unchecked")
-                  Map<String, Object> error = JsonUtils.readValue(bodyBuffer.getBytes(), Map.class);
-                  if ("400012".equals(error.get("errorCode"))) {
-                    mInstances.setMicroserviceNotExist(true);
-                    mInstances.setNeedRefresh(false);
-                  }
-                  LOGGER.warn("failed to findInstances: " + bodyBuffer.toString());
-                }
-                break;
-                default:
-                  LOGGER.warn("failed to findInstances: " + bodyBuffer.toString());
-                  break;
-              }
-            } catch (Exception e) {
-              LOGGER.warn("read value failed and response message is {}", bodyBuffer.toString());
-            }
+            readInstancesBody(response, bodyBuffer, mInstances);
             countDownLatch.countDown();
           });
     };
   }
 
+  private Handler<RestResponse> asyncHandlerForInstances(CompletableFuture<MicroserviceInstances> future,
+      MicroserviceInstances mInstances) {
+    return restResponse -> {
+      RequestContext requestContext = restResponse.getRequestContext();
+      HttpClientResponse response = restResponse.getResponse();
+      if (response == null) {
+        // 请求失败，触发请求SC的其他实例
+        if (requestContext.getRetryTimes() <= ipPortManager.getMaxRetryTimes()) {
+          retry(requestContext, asyncHandlerForInstances(future, mInstances));
+        } else {
+          future.complete(mInstances);
+        }
+        return;
+      }
+      response.exceptionHandler(e -> {
+        LOGGER.warn("failed to findInstances.", e);
+        future.complete(mInstances);
+      });
+      response.bodyHandler(
+          bodyBuffer -> {
+            readInstancesBody(response, bodyBuffer, mInstances);
+            future.complete(mInstances);
+          });
+    };
+  }
+
+  private void readInstancesBody(HttpClientResponse response, Buffer bodyBuffer, MicroserviceInstances mInstances) {
+    try {
+      mInstances.setRevision(response.getHeader("X-Resource-Revision"));
+      switch (response.statusCode()) {
+        case 304:
+          mInstances.setNeedRefresh(false);
+          break;
+        case 200:
+          mInstances
+              .setInstancesResponse(JsonUtils.readValue(bodyBuffer.getBytes(), FindInstancesResponse.class));
+          mInstances.setNeedRefresh(true);
+          break;
+        case 400: {
+          @SuppressWarnings("unchecked")
+          Map<String, Object> error = JsonUtils.readValue(bodyBuffer.getBytes(), Map.class);
+          if ("400012".equals(error.get("errorCode"))) {
+            mInstances.setMicroserviceNotExist(true);
+            mInstances.setNeedRefresh(false);
+          }
+          LOGGER.warn("failed to findInstances: " + bodyBuffer.toString());
+        }
+        break;
+        default:
+          LOGGER.warn("failed to findInstances: " + bodyBuffer.toString());
+          break;
+      }
+    } catch (Exception e) {
+      LOGGER.warn("read value failed and response message is {}", bodyBuffer.toString());
+    }
+  }
+
   @Override
   public List<Microservice> getAllMicroservices() {
     Holder<GetAllServicesResponse> holder = new Holder<>();
@@ -531,6 +597,34 @@ public final class ServiceRegistryClientImpl implements ServiceRegistryClient {
     return null;
   }
 
+  @Override
+  public CompletableFuture<String> registerMicroserviceAsync(Microservice microservice) {
+    try {
+      IpPort ipPort = ipPortManager.getAvailableAddress();
+      CreateServiceRequest request = new CreateServiceRequest();
+      request.setService(microservice);
+      byte[] body = JsonUtils.writeValueAsBytes(request);
+
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("register microservice: {}", new String(body, Charset.defaultCharset()));
+      }
+
+      CompletableFuture<Holder<CreateServiceResponse>> future = new CompletableFuture<>();
+      restClientUtil.post(ipPort,
+          Const.REGISTRY_API.MICROSERVICE_OPERATION_ALL,
+          new RequestParam().setBody(body),
+          asyncHandler(future, CreateServiceResponse.class, new Holder<>()));
+      return future.thenApply(holder -> holder.value == null ? null : holder.value.getServiceId());
+    } catch (Exception e) {
+      LOGGER.error("register microservice {}/{}/{} failed",
+          microservice.getAppId(),
+          microservice.getServiceName(),
+          microservice.getVersion(),
+          e);
+    }
+    return CompletableFuture.completedFuture(null);
+  }
+
   @Override
   public Microservice getMicroservice(String microserviceId) {
     return doGetMicroservice(microserviceId, false);
@@ -594,6 +688,30 @@ public final class ServiceRegistryClientImpl implements ServiceRegistryClient {
     return null;
   }
 
+  @Override
+  public CompletableFuture<String> registerMicroserviceInstanceAsync(MicroserviceInstance instance) {
+    try {
+      IpPort ipPort = ipPortManager.getAvailableAddress();
+      RegisterInstanceRequest request = new RegisterInstanceRequest();
+      request.setInstance(instance);
+      byte[] body = JsonUtils.writeValueAsBytes(request);
+
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("register microservice: {}", new String(body, Charset.defaultCharset()));
+      }
+
+      CompletableFuture<Holder<RegisterInstanceResponse>> future = new CompletableFuture<>();
+      restClientUtil.post(ipPort,
+          String.format(Const.REGISTRY_API.MICROSERVICE_INSTANCE_OPERATION_ALL, instance.getServiceId()),
+          new RequestParam().setBody(body),
+          asyncHandler(future, RegisterInstanceResponse.class, new Holder<>()));
+      return future.thenApply(holder -> holder.value == null ? null : holder.value.getInstanceId());
+    } catch (Exception e) {
+      LOGGER.error("register microservice instance {} failed", instance.getServiceId(), e);
+    }
+    return CompletableFuture.completedFuture(null);
+  }
+
   @Override
   public List<MicroserviceInstance> getMicroserviceInstance(String consumerId, String providerId) {
     Holder<GetInstancesResponse> holder = new Holder<>();
@@ -655,16 +773,7 @@ public final class ServiceRegistryClientImpl implements ServiceRegistryClient {
 
     try {
       countDownLatch.await();
-      if (holder.value != null) {
-        HeartbeatResponse response = new HeartbeatResponse();
-        response.setMessage(holder.value.statusMessage());
-        if (holder.value.statusCode() == Status.OK.getStatusCode()) {
-          response.setOk(true);
-          return response;
-        }
-        LOGGER.warn(holder.value.statusMessage());
-        return response;
-      }
+      return toHeartbeatResponse(holder);
     } catch (Exception e) {
       LOGGER.error("update microservice instance {}/{} heartbeat failed",
           microserviceId,
@@ -674,6 +783,41 @@ public final class ServiceRegistryClientImpl implements ServiceRegistryClient {
     return null;
   }
 
+  @Override
+  public CompletableFuture<HeartbeatResponse> heartbeatAsync(String microserviceId, String microserviceInstanceId) {
+    CompletableFuture<Holder<HttpClientResponse>> future = new CompletableFuture<>();
+    try {
+      IpPort ipPort = ipPortManager.getAvailableAddress();
+      restClientUtil.put(ipPort,
+          String.format(Const.REGISTRY_API.MICROSERVICE_HEARTBEAT, microserviceId, microserviceInstanceId),
+          new RequestParam().setTimeout(ServiceRegistryConfig.INSTANCE.getHeartBeatRequestTimeout()),
+          asyncHandler(future, HttpClientResponse.class, new Holder<>()));
+    } catch (Throwable e) {
+      // caller only handles the future
+      LOGGER.error("update microservice instance {}/{} heartbeat failed",
+          microserviceId,
+          microserviceInstanceId,
+          e);
+      future.completeExceptionally(e);
+    }
+    return future.thenApply(this::toHeartbeatResponse);
+  }
+
+  private HeartbeatResponse toHeartbeatResponse(Holder<HttpClientResponse> holder) {
+    if (holder.value == null) {
+      return null;
+    }
+
+    HeartbeatResponse response = new HeartbeatResponse();
+    response.setMessage(holder.value.statusMessage());
+    if (holder.value.statusCode() == Status.OK.getStatusCode()) {
+      response.setOk(true);
+      return response;
+    }
+    LOGGER.warn(holder.value.statusMessage());
+    return response;
+  }
+
   public void watch(String selfMicroserviceId, AsyncResultCallback<MicroserviceInstanceChangedEvent> callback) {
     watch(selfMicroserviceId, callback, v -> {
     }, v -> {
@@ -751,7 +895,135 @@ public final class ServiceRegistryClientImpl implements ServiceRegistryClient {
     IpPort ipPort = ipPortManager.getAvailableAddress();
 
     CountDownLatch countDownLatch = new CountDownLatch(1);
+    restClientUtil.get(ipPort,
+        Const.REGISTRY_API.MICROSERVICE_INSTANCES,
+        createFindInstancesParam(consumerId, appId, serviceName, versionRule, revision),
+        syncHandlerForInstances(countDownLatch, microserviceInstances));
+    try {
+      countDownLatch.await();
+      return checkFindInstancesResult(microserviceInstances);
+    } catch (Exception e) {
+      LOGGER.error("find microservice instance {}/{}/{} failed",
+          appId,
+          serviceName,
+          versionRule,
+          e);
+    }
+    return null;
+  }
+
+  @Override
+  public CompletableFuture<MicroserviceInstances> findServiceInstancesAsync(String consumerId, String appId,
+      String serviceName, String versionRule, String revision) {
+    MicroserviceInstances microserviceInstances = new MicroserviceInstances();
+    CompletableFuture<MicroserviceInstances> future = new CompletableFuture<>();
+    try {
+      IpPort ipPort = ipPortManager.getAvailableAddress();
+      restClientUtil.get(ipPort,
+          Const.REGISTRY_API.MICROSERVICE_INSTANCES,
+          createFindInstancesParam(consumerId, appId, serviceName, versionRule, revision),
+          asyncHandlerForInstances(future, microserviceInstances));
+    } catch (Throwable e) {
+      // caller only handles the future
+      LOGGER.error("find microservice instance {}/{}/{} failed",
+          appId,
+          serviceName,
+          versionRule,
+          e);
+      future.completeExceptionally(e);
+    }
+    return future.thenApply(this::checkFindInstancesResult);
+  }
+
+  @Override
+  public CompletableFuture<List<MicroserviceInstances>> batchFindServiceInstancesAsync(String consumerId,
+      List<FindService> services) {
+    if (Const.REGISTRY_API.MICROSERVICE_INSTANCES_BATCH == null) {
+      return ServiceRegistryClient.super.batchFindServiceInstancesAsync(consumerId, services);
+    }
+
+    CompletableFuture<Holder<BatchFindInstancesResponse>> future = new CompletableFuture<>();
+    try {
+      BatchFindInstancesRequest request = new BatchFindInstancesRequest();
+      request.setServices(services);
+      byte[] body = JsonUtils.writeValueAsBytes(request);
+
+      RequestParam requestParam = new RequestParam().addQueryParam("type", "query")
+          .addQueryParam("global", "true")
+          .setBody(body);
+      if (consumerId != null) {
+        requestParam.addHeader("X-ConsumerId", consumerId);
+      }
+
+      IpPort ipPort = ipPortManager.getAvailableAddress();
+      restClientUtil.post(ipPort,
+          Const.REGISTRY_API.MICROSERVICE_INSTANCES_BATCH,
+          requestParam,
+          asyncHandler(future, BatchFindInstancesResponse.class, new Holder<>()));
+    } catch (Throwable e) {
+      // caller only handles the future
+      future.completeExceptionally(e);
+    }
+
+    return future.handle((holder, e) -> {
+      if (e != null) {
+        LOGGER.error("batch find instances of {} microservices failed", services.size(), e);
+        return null;
+      }
+      if (holder.value == null || holder.value.getServices() == null) {
+        return null;
+      }
+      return toBatchFindResult(services, holder.value.getServices());
+    });
+  }
+
+  @VisibleForTesting
+  List<MicroserviceInstances> toBatchFindResult(List<FindService> services, BatchFindResult batchFindResult) {
+    // failed or not returned microservices keep null
+    List<MicroserviceInstances> result = new ArrayList<>(Collections.nCopies(services.size(), null));
+    if (batchFindResult.getUpdated() != null) {
+      for (FindResult findResult : batchFindResult.getUpdated()) {
+        FindInstancesResponse instancesResponse = new FindInstancesResponse();
+        instancesResponse.setInstances(
+            findResult.getInstances() == null ? new ArrayList<>() : findResult.getInstances());
+
+        MicroserviceInstances microserviceInstances = new MicroserviceInstances();
+        microserviceInstances.setRevision(findResult.getRev());
+        microserviceInstances.setInstancesResponse(instancesResponse);
+        microserviceInstances.setNeedRefresh(true);
+        result.set(findResult.getIndex(), microserviceInstances);
+      }
+    }
+    if (batchFindResult.getNotModified() != null) {
+      for (Integer index : batchFindResult.getNotModified()) {
+        MicroserviceInstances microserviceInstances = new MicroserviceInstances();
+        microserviceInstances.setRevision(services.get(index).getRev());
+        microserviceInstances.setNeedRefresh(false);
+        result.set(index, microserviceInstances);
+      }
+    }
+    if (batchFindResult.getFailed() != null) {
+      for (FindFailedResult failedResult : batchFindResult.getFailed()) {
+        Object errorCode = failedResult.getError() == null ? null : failedResult.getError().get(ERROR_CODE);
+        if (!ERR_SERVICE_NOT_EXISTS.equals(errorCode)) {
+          LOGGER.warn("failed to batch find instances, indexes={}, error={}",
+              failedResult.getIndexes(), failedResult.getError());
+          continue;
+        }
+
+        for (Integer index : failedResult.getIndexes()) {
+          MicroserviceInstances microserviceInstances = new MicroserviceInstances();
+          microserviceInstances.setMicroserviceNotExist(true);
+          microserviceInstances.setNeedRefresh(false);
+          result.set(index, microserviceInstances);
+        }
+      }
+    }
+    return result;
+  }
 
+  private RequestParam createFindInstancesParam(String consumerId, String appId, String serviceName,
+      String versionRule, String revision) {
     RequestParam requestParam = new RequestParam().addQueryParam("appId", appId)
         .addQueryParam("serviceName", serviceName)
         .addQueryParam("global", "true")
@@ -765,32 +1037,21 @@ public final class ServiceRegistryClientImpl implements ServiceRegistryClient {
     if (revision != null) {
       requestParam.addQueryParam("rev", revision);
     }
+    return requestParam;
+  }
 
-    restClientUtil.get(ipPort,
-        Const.REGISTRY_API.MICROSERVICE_INSTANCES,
-        requestParam,
-        syncHandlerForInstances(countDownLatch, microserviceInstances));
-    try {
-      countDownLatch.await();
-      if (!microserviceInstances.isNeedRefresh()) {
-        return microserviceInstances;
-      }
-      if (microserviceInstances.getInstancesResponse() == null) {
-        return null; // error
-      }
-      List<MicroserviceInstance> list = microserviceInstances.getInstancesResponse().getInstances();
-      if (list == null) {
-        microserviceInstances.getInstancesResponse().setInstances(new ArrayList<>());
-      }
+  private MicroserviceInstances checkFindInstancesResult(MicroserviceInstances microserviceInstances) {
+    if (!microserviceInstances.isNeedRefresh()) {
       return microserviceInstances;
-    } catch (Exception e) {
-      LOGGER.error("find microservice instance {}/{}/{} failed",
-          appId,
-          serviceName,
-          versionRule,
-          e);
     }
-    return null;
+    if (microserviceInstances.getInstancesResponse() == null) {
+      return null; // error
+    }
+    List<MicroserviceInstance> list = microserviceInstances.getInstancesResponse().getInstances();
+    if (list == null) {
+      microserviceInstances.getInstancesResponse().setInstances(new ArrayList<>());
+    }
+    return microserviceInstances;
   }
 
   private void watchErrorHandler(Throwable e, String selfMicroserviceId,
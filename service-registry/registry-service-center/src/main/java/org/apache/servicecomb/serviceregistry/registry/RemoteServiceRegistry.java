@@ -81,6 +81,7 @@ public class RemoteServiceRegistry extends AbstractServiceRegistry {
   public void run() {
     super.run();
 
+    serviceCenterTask.setExecutor(taskPool);
     taskPool.scheduleAtFixedRate(serviceCenterTask,
         serviceRegistryConfig.getHeartbeatInterval(),
         serviceRegistryConfig.getHeartbeatInterval(),
@@ -22,6 +22,7 @@ import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.servicecomb.foundation.common.utils.SPIServiceUtils;
 import org.apache.servicecomb.registry.api.event.MicroserviceInstanceChangedEvent;
@@ -30,6 +31,8 @@ import org.apache.servicecomb.registry.api.registry.MicroserviceInstance;
 import org.apache.servicecomb.registry.api.registry.MicroserviceInstances;
 import org.apache.servicecomb.registry.consumer.MicroserviceInstancePing;
 import org.apache.servicecomb.registry.definition.DefinitionConst;
+import org.apache.servicecomb.serviceregistry.api.request.DependencyKey;
+import org.apache.servicecomb.serviceregistry.api.request.FindService;
 import org.apache.servicecomb.serviceregistry.client.ServiceRegistryClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -83,8 +86,34 @@ public class RefreshableMicroserviceCache implements MicroserviceCache {
   }
 
   void pullInstance(String revisionId) {
-    MicroserviceInstances serviceInstances = pullInstanceFromServiceCenter(revisionId);
+    onInstancesPulled(pullInstanceFromServiceCenter(revisionId));
+  }
+
+  /**
+   * send pull request without waiting for the response, the result must be applied by
+   * {@link #applyPulledInstances(CompletableFuture)}, so that caches of many microservices can be
+   * refreshed concurrently, and instances are still set in the refreshing thread instead of network thread
+   */
+  CompletableFuture<MicroserviceInstances> pullInstanceAsync() {
+    try {
+      return pullInstanceFromServiceCenterAsync(revisionId);
+    } catch (Throwable e) {
+      CompletableFuture<MicroserviceInstances> future = new CompletableFuture<>();
+      future.completeExceptionally(e);
+      return future;
+    }
+  }
+
+  void applyPulledInstances(CompletableFuture<MicroserviceInstances> pulled) {
+    try {
+      onInstancesPulled(pulled.join());
+    } catch (Throwable e) {
+      LOGGER.error("unknown error occurs while pulling instances", e);
+      setStatus(MicroserviceCacheStatus.UNKNOWN_ERROR);
+    }
+  }
 
+  private void onInstancesPulled(MicroserviceInstances serviceInstances) {
     if (serviceInstances == null) {
       LOGGER.error("Can not find any instances from service center due to previous errors. service={}/{}/{}",
           key.getAppId(),
@@ -128,6 +157,24 @@ public class RefreshableMicroserviceCache implements MicroserviceCache {
         key.getAppId(), key.getServiceName(), key.getVersionRule(), revisionId);
   }
 
+  CompletableFuture<MicroserviceInstances> pullInstanceFromServiceCenterAsync(String revisionId) {
+    return srClient.findServiceInstancesAsync(consumerService.getServiceId(),
+        key.getAppId(), key.getServiceName(), key.getVersionRule(), revisionId);
+  }
+
+  FindService createFindService() {
+    DependencyKey service = new DependencyKey();
+    service.setEnvironment(key.getEnv());
+    service.setAppId(key.getAppId());
+    service.setServiceName(key.getServiceName());
+    service.setVersion(key.getVersionRule());
+
+    FindService findService = new FindService();
+    findService.setService(service);
+    findService.setRev(revisionId);
+    return findService;
+  }
+
   private void safeSetInstances(List<MicroserviceInstance> pulledInstances, String rev) {
     try {
       synchronized (SET_OPERATION_LOCK) {
@@ -17,10 +17,13 @@
 
 package org.apache.servicecomb.serviceregistry.registry.cache;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -28,6 +31,8 @@ import java.util.stream.Collectors;
 import org.apache.servicecomb.foundation.common.concurrent.ConcurrentHashMapEx;
 import org.apache.servicecomb.registry.api.event.MicroserviceInstanceChangedEvent;
 import org.apache.servicecomb.registry.api.registry.Microservice;
+import org.apache.servicecomb.registry.api.registry.MicroserviceInstances;
+import org.apache.servicecomb.serviceregistry.api.request.FindService;
 import org.apache.servicecomb.serviceregistry.client.ServiceRegistryClient;
 import org.apache.servicecomb.serviceregistry.registry.cache.MicroserviceCache.MicroserviceCacheStatus;
 import org.slf4j.Logger;
@@ -47,6 +52,9 @@ public class RefreshableServiceRegistryCache implements ServiceRegistryCache {
 
   boolean emptyInstanceProtectionEnabled = false;
 
+  // max microservices count in one batch find request
+  int batchFindSize = 100;
+
   Consumer<List<MicroserviceCache>> cacheRefreshedWatcher;
 
   ReentrantLock refreshLock = new ReentrantLock();
@@ -73,13 +81,59 @@ public class RefreshableServiceRegistryCache implements ServiceRegistryCache {
   }
 
   private List<MicroserviceCache> refreshInnerState() {
-    return microserviceCache.values().stream()
-        .peek(cache -> cache.refresh())
+    // send all pull requests before waiting any of them
+    List<RefreshableMicroserviceCache> caches = new ArrayList<>(microserviceCache.values());
+    Map<RefreshableMicroserviceCache, CompletableFuture<MicroserviceInstances>> pulling = new LinkedHashMap<>();
+    for (int idx = 0; idx < caches.size(); idx += batchFindSize) {
+      batchPull(caches.subList(idx, Math.min(idx + batchFindSize, caches.size())), pulling);
+    }
+
+    return pulling.entrySet().stream()
+        .peek(entry -> entry.getKey().applyPulledInstances(entry.getValue()))
+        .map(Entry::getKey)
         .filter(this::isRefreshedMicroserviceCache)
         .peek(this::removeCacheIfServiceNotFound)
         .collect(Collectors.toList());
   }
 
+  /**
+   * pull a batch of caches by one request, revisions are sent together, so only changed ones contain instances.
+   * if the batch request failed, pull them one by one concurrently.
+   */
+  private void batchPull(List<RefreshableMicroserviceCache> caches,
+      Map<RefreshableMicroserviceCache, CompletableFuture<MicroserviceInstances>> pulling) {
+    if (caches.size() == 1) {
+      pulling.put(caches.get(0), caches.get(0).pullInstanceAsync());
+      return;
+    }
+
+    CompletableFuture<List<MicroserviceInstances>> batchFuture;
+    try {
+      List<FindService> services = caches.stream()
+          .map(RefreshableMicroserviceCache::createFindService)
+          .collect(Collectors.toList());
+      batchFuture = srClient.batchFindServiceInstancesAsync(consumerService.getServiceId(), services)
+          .exceptionally(e -> {
+            LOGGER.error("failed to batch find instances, pull them one by one", e);
+            return null;
+          });
+    } catch (Throwable e) {
+      LOGGER.error("failed to batch find instances, pull them one by one", e);
+      batchFuture = CompletableFuture.completedFuture(null);
+    }
+
+    for (int idx = 0; idx < caches.size(); idx++) {
+      RefreshableMicroserviceCache cache = caches.get(idx);
+      int resultIdx = idx;
+      pulling.put(cache, batchFuture.thenCompose(result -> {
+        if (result == null || result.size() != caches.size()) {
+          return cache.pullInstanceAsync();
+        }
+        return CompletableFuture.completedFuture(result.get(resultIdx));
+      }));
+    }
+  }
+
   private boolean isRefreshedMicroserviceCache(MicroserviceCache microserviceCache) {
     return MicroserviceCacheStatus.REFRESHED.equals(microserviceCache.getStatus())
         || MicroserviceCacheStatus.SERVICE_NOT_FOUND.equals(microserviceCache.getStatus());
@@ -120,6 +174,11 @@ public class RefreshableServiceRegistryCache implements ServiceRegistryCache {
         emptyInstanceProtectionEnabled);
   }
 
+  public RefreshableServiceRegistryCache setBatchFindSize(int batchFindSize) {
+    this.batchFindSize = batchFindSize;
+    return this;
+  }
+
   public RefreshableServiceRegistryCache setEmptyInstanceProtectionEnabled(boolean emptyInstanceProtectionEnabled) {
     this.emptyInstanceProtectionEnabled = emptyInstanceProtectionEnabled;
     return this;
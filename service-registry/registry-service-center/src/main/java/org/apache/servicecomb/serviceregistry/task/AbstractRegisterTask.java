@@ -16,6 +16,9 @@
  */
 package org.apache.servicecomb.serviceregistry.task;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 import org.apache.servicecomb.registry.api.registry.Microservice;
 import org.apache.servicecomb.serviceregistry.client.ServiceRegistryClient;
 
@@ -38,11 +41,31 @@ public abstract class AbstractRegisterTask extends AbstractTask {
       return;
     }
 
-    if (doRegister()) {
+    onRegisterResult(doRegister());
+  }
+
+  @Override
+  protected CompletableFuture<Void> doRunAsync(Executor executor) {
+    if (registered) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    return doRegisterAsync(executor).thenAccept(this::onRegisterResult);
+  }
+
+  private void onRegisterResult(boolean success) {
+    if (success) {
       registered = true;
       taskStatus = TaskStatus.FINISHED;
     }
   }
 
   protected abstract boolean doRegister();
+
+  /**
+   * register in the caller thread by default
+   */
+  protected CompletableFuture<Boolean> doRegisterAsync(Executor executor) {
+    return CompletableFuture.completedFuture(doRegister());
+  }
 }
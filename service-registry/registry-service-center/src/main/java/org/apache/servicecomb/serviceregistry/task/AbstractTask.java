@@ -16,6 +16,9 @@
  */
 package org.apache.servicecomb.serviceregistry.task;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 import org.apache.servicecomb.registry.api.registry.Microservice;
 import org.apache.servicecomb.serviceregistry.client.ServiceRegistryClient;
 
@@ -55,12 +58,34 @@ public abstract class AbstractTask implements Runnable {
     }
   }
 
+  /**
+   * same to {@link #run()}, but not wait for service center in the caller thread<br>
+   * the returned future completes in the executor after the task event posted, so subscribers and following tasks
+   * never run in the event loop
+   */
+  public CompletableFuture<Void> runAsync(Executor executor) {
+    if (taskStatus != TaskStatus.READY) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    return doRunAsync(executor)
+        .thenRunAsync(() -> eventBus.post(this), executor);
+  }
+
   public TaskStatus getTaskStatus() {
     return this.taskStatus;
   }
 
   abstract protected void doRun();
 
+  /**
+   * run the task in the caller thread by default, override it if service center can be invoked asynchronously
+   */
+  protected CompletableFuture<Void> doRunAsync(Executor executor) {
+    doRun();
+    return CompletableFuture.completedFuture(null);
+  }
+
   protected boolean isSameMicroservice(Microservice otherMicroservice) {
     return microservice.getServiceName().equals(otherMicroservice.getServiceName());
   }
@@ -18,6 +18,8 @@ package org.apache.servicecomb.serviceregistry.task;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class CompositeTask implements Runnable {
   private List<Runnable> taskList = new ArrayList<>();
@@ -35,4 +37,24 @@ public class CompositeTask implements Runnable {
       task.run();
     }
   }
+
+  /**
+   * run tasks one by one like {@link #run()}, next task starts after previous one finished
+   */
+  public CompletableFuture<Void> runAsync(Executor executor) {
+    CompletableFuture<Void> future = CompletableFuture.completedFuture(null);
+    for (Runnable task : taskList) {
+      future = future.thenCompose(v -> runAsync(task, executor));
+    }
+    return future;
+  }
+
+  private CompletableFuture<Void> runAsync(Runnable task, Executor executor) {
+    if (task instanceof AbstractTask) {
+      return ((AbstractTask) task).runAsync(executor);
+    }
+
+    task.run();
+    return CompletableFuture.completedFuture(null);
+  }
 }
@@ -16,6 +16,9 @@
  */
 package org.apache.servicecomb.serviceregistry.task;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 import org.apache.servicecomb.registry.api.registry.Microservice;
 import org.apache.servicecomb.registry.api.registry.MicroserviceInstance;
 import org.apache.servicecomb.serviceregistry.api.response.HeartbeatResponse;
@@ -60,12 +63,21 @@ public class MicroserviceInstanceHeartbeatTask extends AbstractTask {
   @Override
   public void doRun() {
     // will always run heartbeat when it is ready
-    heartbeatResult = heartbeat();
+    heartbeatResult = heartbeat(
+        srClient.heartbeat(microserviceInstance.getServiceId(), microserviceInstance.getInstanceId()));
+  }
+
+  @Override
+  protected CompletableFuture<Void> doRunAsync(Executor executor) {
+    // failure already logged by client, treat it as disconnected like the sync api
+    return srClient.heartbeatAsync(microserviceInstance.getServiceId(), microserviceInstance.getInstanceId())
+        .handleAsync((response, e) -> {
+          heartbeatResult = heartbeat(e == null ? response : null);
+          return null;
+        }, executor);
   }
 
-  private HeartbeatResult heartbeat() {
-    HeartbeatResponse response =
-        srClient.heartbeat(microserviceInstance.getServiceId(), microserviceInstance.getInstanceId());
+  private HeartbeatResult heartbeat(HeartbeatResponse response) {
     if (response == null) {
       LOGGER.error("Disconnected from service center and heartbeat failed for microservice instance={}/{}",
           microserviceInstance.getServiceId(),
@@ -16,6 +16,9 @@
  */
 package org.apache.servicecomb.serviceregistry.task;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 import org.apache.servicecomb.registry.RegistrationManager;
 import org.apache.servicecomb.serviceregistry.adapter.EnvAdapterManager;
 import org.apache.servicecomb.registry.api.registry.Microservice;
@@ -57,6 +60,17 @@ public class MicroserviceInstanceRegisterTask extends AbstractRegisterTask {
 
   @Override
   protected boolean doRegister() {
+    return onRegistered(srClient.registerMicroserviceInstance(prepareInstance()));
+  }
+
+  @Override
+  protected CompletableFuture<Boolean> doRegisterAsync(Executor executor) {
+    // failure already logged by client, treat it as not registered like the sync api
+    return srClient.registerMicroserviceInstanceAsync(prepareInstance())
+        .handleAsync((instanceId, e) -> onRegistered(e == null ? instanceId : null), executor);
+  }
+
+  private MicroserviceInstance prepareInstance() {
     LOGGER.info("running microservice instance register task.");
     String hostName = "";
     if (serviceRegistryConfig.isPreferIpAddress()) {
@@ -69,7 +83,10 @@ public class MicroserviceInstanceRegisterTask extends AbstractRegisterTask {
     microserviceInstance.getHealthCheck().setTimes(serviceRegistryConfig.getResendHeartBeatTimes());
 
     EnvAdapterManager.INSTANCE.processInstanceWithAdapters(microserviceInstance);
-    String instanceId = srClient.registerMicroserviceInstance(microserviceInstance);
+    return microserviceInstance;
+  }
+
+  private boolean onRegistered(String instanceId) {
     MicroserviceInstance temIns = srClient.findServiceInstance(microserviceInstance.getServiceId(), instanceId);
     if (temIns != null) {
       microserviceInstance.setTimestamp(temIns.getTimestamp());
@@ -16,6 +16,9 @@
  */
 package org.apache.servicecomb.serviceregistry.task;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import org.apache.servicecomb.serviceregistry.event.ExceptionEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +40,12 @@ public class ServiceCenterTask implements Runnable {
 
   private ServiceCenterTaskMonitor serviceCenterTaskMonitor = new ServiceCenterTaskMonitor();
 
+  // null means run the tasks in the caller thread, waiting for service center
+  private Executor executor;
+
+  // not start a new cycle before previous one finished, same to the caller thread mode
+  private final AtomicBoolean running = new AtomicBoolean();
+
   public ServiceCenterTask(EventBus eventBus, int interval,
       MicroserviceServiceCenterTask microserviceServiceCenterTask) {
     this.eventBus = eventBus;
@@ -79,12 +88,24 @@ public class ServiceCenterTask implements Runnable {
     }
   }
 
+  /**
+   * invoke service center asynchronously in {@link #run()}, the executor runs the tasks after responses received
+   */
+  public void setExecutor(Executor executor) {
+    this.executor = executor;
+  }
+
   public void init() {
     microserviceServiceCenterTask.run();
   }
 
   @Override
   public void run() {
+    if (executor != null) {
+      runAsync();
+      return;
+    }
+
     try {
       serviceCenterTaskMonitor.beginCycle(interval);
       microserviceServiceCenterTask.run();
@@ -94,6 +115,28 @@ public class ServiceCenterTask implements Runnable {
     }
   }
 
+  private void runAsync() {
+    if (!running.compareAndSet(false, true)) {
+      LOGGER.warn("previous sc task cycle not finished, skip this cycle.");
+      return;
+    }
+
+    try {
+      serviceCenterTaskMonitor.beginCycle(interval);
+      microserviceServiceCenterTask.runAsync(executor)
+          .whenComplete((v, e) -> {
+            if (e != null) {
+              LOGGER.error("unexpected exception caught from service center task. ", e);
+            }
+            serviceCenterTaskMonitor.endCycle();
+            running.set(false);
+          });
+    } catch (Throwable e) {
+      running.set(false);
+      LOGGER.error("unexpected exception caught from service center task. ", e);
+    }
+  }
+
   @VisibleForTesting
   public boolean isRegisterInstanceSuccess() {
     return this.registerInstanceSuccess;
@@ -21,9 +21,12 @@ import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -38,15 +41,21 @@ import org.apache.servicecomb.foundation.test.scaffolding.config.ArchaiusUtils;
 import org.apache.servicecomb.foundation.vertx.client.http.HttpClients;
 import org.apache.servicecomb.registry.api.registry.Microservice;
 import org.apache.servicecomb.registry.api.registry.MicroserviceFactory;
+import org.apache.servicecomb.registry.api.registry.MicroserviceInstance;
 import org.apache.servicecomb.registry.api.registry.MicroserviceInstances;
 import org.apache.servicecomb.registry.definition.DefinitionConst;
 import org.apache.servicecomb.serviceregistry.RegistryUtils;
 import org.apache.servicecomb.serviceregistry.api.registry.ServiceCenterConfig;
+import org.apache.servicecomb.serviceregistry.api.request.FindService;
 import org.apache.servicecomb.serviceregistry.api.registry.ServiceCenterInfo;
+import org.apache.servicecomb.serviceregistry.api.response.BatchFindResult;
+import org.apache.servicecomb.serviceregistry.api.response.FindFailedResult;
+import org.apache.servicecomb.serviceregistry.api.response.FindResult;
 import org.apache.servicecomb.serviceregistry.api.response.GetExistenceResponse;
 import org.apache.servicecomb.serviceregistry.api.response.GetSchemaResponse;
 import org.apache.servicecomb.serviceregistry.api.response.GetSchemasResponse;
 import org.apache.servicecomb.serviceregistry.api.response.GetServiceResponse;
+import org.apache.servicecomb.serviceregistry.api.response.HeartbeatResponse;
 import org.apache.servicecomb.serviceregistry.client.ClientException;
 import org.apache.servicecomb.serviceregistry.client.http.ServiceRegistryClientImpl.ResponseWrapper;
 import org.apache.servicecomb.serviceregistry.config.ServiceRegistryConfig;
@@ -516,6 +525,189 @@ public class TestServiceRegistryClientImpl {
     Assert.assertFalse(microserviceInstances.isNeedRefresh());
   }
 
+  @Test
+  public void findServiceInstancesAsync_microserviceNotExist() {
+    HttpClientResponse response = new MockUp<HttpClientResponse>() {
+      @Mock
+      int statusCode() {
+        return 400;
+      }
+
+      @Mock
+      HttpClientResponse bodyHandler(Handler<Buffer> bodyHandler) {
+        Buffer bodyBuffer = Buffer.buffer("{\"errorCode\":\"400012\"}");
+        bodyHandler.handle(bodyBuffer);
+        return null;
+      }
+    }.getMockInstance();
+    RestResponse restResponse = new RestResponse(null, response);
+    new MockUp<RestClientUtil>() {
+      @Mock
+      void httpDo(RequestContext requestContext, Handler<RestResponse> responseHandler) {
+        Assert.assertEquals("appId=appId&global=true&serviceName=serviceName&version=0.0.0.0%2B",
+            requestContext.getParams().getQueryParams());
+        restResponse.setRequestContext(requestContext);
+        responseHandler.handle(restResponse);
+      }
+    };
+    MicroserviceInstances microserviceInstances = oClient
+        .findServiceInstancesAsync("consumerId", "appId", "serviceName", DefinitionConst.VERSION_RULE_ALL, null)
+        .join();
+
+    Assert.assertTrue(microserviceInstances.isMicroserviceNotExist());
+    Assert.assertFalse(microserviceInstances.isNeedRefresh());
+  }
+
+  @Test
+  public void findServiceInstancesAsync_sendFailed() {
+    new MockUp<RestClientUtil>() {
+      @Mock
+      void httpDo(RequestContext requestContext, Handler<RestResponse> responseHandler) {
+        throw new IllegalStateException("send failed");
+      }
+    };
+
+    CompletableFuture<MicroserviceInstances> future = oClient
+        .findServiceInstancesAsync("consumerId", "appId", "serviceName", DefinitionConst.VERSION_RULE_ALL, null);
+    Assert.assertTrue(future.isCompletedExceptionally());
+  }
+
+  private FindService createFindService(String rev) {
+    FindService findService = new FindService();
+    findService.setRev(rev);
+    return findService;
+  }
+
+  private FindFailedResult createFailedResult(String errorCode, Integer... indexes) {
+    FindFailedResult failedResult = new FindFailedResult();
+    failedResult.setIndexes(Arrays.asList(indexes));
+    Map<String, Object> error = new HashMap<>();
+    error.put("errorCode", errorCode);
+    failedResult.setError(error);
+    return failedResult;
+  }
+
+  @Test
+  public void toBatchFindResult() {
+    List<FindService> services = Arrays.asList(createFindService("r0"), createFindService("r1"),
+        createFindService("r2"), createFindService("r3"), createFindService("r4"));
+
+    FindResult updated = new FindResult();
+    updated.setIndex(2);
+    updated.setRev("r2-new");
+    updated.setInstances(Collections.singletonList(new MicroserviceInstance()));
+
+    BatchFindResult batchFindResult = new BatchFindResult();
+    batchFindResult.setUpdated(Collections.singletonList(updated));
+    batchFindResult.setNotModified(Collections.singletonList(0));
+    batchFindResult.setFailed(Arrays.asList(createFailedResult("400012", 3), createFailedResult("500", 4)));
+
+    List<MicroserviceInstances> result = oClient.toBatchFindResult(services, batchFindResult);
+    Assert.assertEquals(5, result.size());
+
+    Assert.assertFalse(result.get(0).isNeedRefresh());
+    Assert.assertEquals("r0", result.get(0).getRevision());
+
+    // not returned by service center
+    Assert.assertNull(result.get(1));
+
+    Assert.assertTrue(result.get(2).isNeedRefresh());
+    Assert.assertEquals("r2-new", result.get(2).getRevision());
+    Assert.assertEquals(1, result.get(2).getInstancesResponse().getInstances().size());
+
+    Assert.assertTrue(result.get(3).isMicroserviceNotExist());
+    Assert.assertFalse(result.get(3).isNeedRefresh());
+
+    // other errors are retried by pulling one by one
+    Assert.assertNull(result.get(4));
+  }
+
+  @Test
+  public void batchFindServiceInstancesAsync() {
+    HttpClientResponse response = new MockUp<HttpClientResponse>() {
+      @Mock
+      int statusCode() {
+        return 200;
+      }
+
+      @Mock
+      HttpClientResponse bodyHandler(Handler<Buffer> bodyHandler) {
+        bodyHandler.handle(Buffer.buffer(
+            "{\"services\":{\"notModified\":[0],\"updated\":[{\"index\":1,\"rev\":\"r1-new\"}]}}"));
+        return null;
+      }
+    }.getMockInstance();
+    RestResponse restResponse = new RestResponse(null, response);
+    new MockUp<RestClientUtil>() {
+      @Mock
+      void httpDo(RequestContext requestContext, Handler<RestResponse> responseHandler) {
+        restResponse.setRequestContext(requestContext);
+        responseHandler.handle(restResponse);
+      }
+    };
+
+    List<MicroserviceInstances> result = oClient
+        .batchFindServiceInstancesAsync("consumerId", Arrays.asList(createFindService("r0"), createFindService("r1")))
+        .join();
+    Assert.assertEquals(2, result.size());
+    Assert.assertFalse(result.get(0).isNeedRefresh());
+    Assert.assertTrue(result.get(1).isNeedRefresh());
+    Assert.assertEquals("r1-new", result.get(1).getRevision());
+  }
+
+  @Test
+  public void batchFindServiceInstancesAsync_sendFailed() {
+    new MockUp<RestClientUtil>() {
+      @Mock
+      void httpDo(RequestContext requestContext, Handler<RestResponse> responseHandler) {
+        throw new IllegalStateException("send failed");
+      }
+    };
+
+    // caller pulls them one by one
+    Assert.assertNull(oClient.batchFindServiceInstancesAsync("consumerId",
+        Arrays.asList(createFindService("r0"), createFindService("r1"))).join());
+  }
+
+  @Test
+  public void heartbeatAsync() {
+    HttpClientResponse response = new MockUp<HttpClientResponse>() {
+      @Mock
+      int statusCode() {
+        return 200;
+      }
+
+      @Mock
+      HttpClientResponse bodyHandler(Handler<Buffer> bodyHandler) {
+        bodyHandler.handle(Buffer.buffer());
+        return null;
+      }
+    }.getMockInstance();
+    RestResponse restResponse = new RestResponse(null, response);
+    new MockUp<RestClientUtil>() {
+      @Mock
+      void httpDo(RequestContext requestContext, Handler<RestResponse> responseHandler) {
+        restResponse.setRequestContext(requestContext);
+        responseHandler.handle(restResponse);
+      }
+    };
+
+    Assert.assertTrue(oClient.heartbeatAsync("microserviceId", "microserviceInstanceId").join().isOk());
+  }
+
+  @Test
+  public void heartbeatAsync_sendFailed() {
+    new MockUp<RestClientUtil>() {
+      @Mock
+      void httpDo(RequestContext requestContext, Handler<RestResponse> responseHandler) {
+        throw new IllegalStateException("send failed");
+      }
+    };
+
+    CompletableFuture<HeartbeatResponse> future = oClient.heartbeatAsync("microserviceId", "microserviceInstanceId");
+    Assert.assertTrue(future.isCompletedExceptionally());
+  }
+
   @Test
   public void testGetServiceCenterInfoSuccess() {
     ServiceCenterInfo serviceCenterInfo = new ServiceCenterInfo();
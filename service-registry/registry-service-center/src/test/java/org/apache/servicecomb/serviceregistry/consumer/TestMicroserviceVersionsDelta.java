@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.serviceregistry.consumer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.servicecomb.config.ConfigUtil;
+import org.apache.servicecomb.foundation.test.scaffolding.config.ArchaiusUtils;
+import org.apache.servicecomb.registry.api.event.MicroserviceInstancesUpdatedEvent;
+import org.apache.servicecomb.registry.api.registry.MicroserviceInstance;
+import org.apache.servicecomb.registry.api.registry.MicroserviceInstanceStatus;
+import org.apache.servicecomb.registry.consumer.MicroserviceVersionRule;
+import org.apache.servicecomb.registry.consumer.MicroserviceVersionRuleData;
+import org.apache.servicecomb.serviceregistry.MockMicroserviceVersions;
+import org.hamcrest.Matchers;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.eventbus.Subscribe;
+
+public class TestMicroserviceVersionsDelta {
+  MockMicroserviceVersions mockMicroserviceVersions;
+
+  List<MicroserviceInstancesUpdatedEvent> events = new ArrayList<>();
+
+  @Before
+  public void setup() {
+    ConfigUtil.installDynamicConfig();
+    mockMicroserviceVersions = new MockMicroserviceVersions();
+    mockMicroserviceVersions.getAppManager().getEventBus().register(this);
+  }
+
+  @AfterClass
+  public static void classTeardown() {
+    ArchaiusUtils.resetConfig();
+  }
+
+  @Subscribe
+  public void onInstancesUpdated(MicroserviceInstancesUpdatedEvent event) {
+    events.add(event);
+  }
+
+  @Test
+  public void sameInstances_notUpdate() {
+    MicroserviceVersionRule rule = mockMicroserviceVersions.getOrCreateMicroserviceVersionRule("1.0.0+");
+    mockMicroserviceVersions.update_all();
+    MicroserviceVersionRuleData data = rule.getData();
+
+    mockMicroserviceVersions.update(mockMicroserviceVersions.findInstances("1.0.0", "2.0.0", "3.0.0", "4.0.0"));
+
+    Assert.assertSame(data, rule.getData());
+    Assert.assertEquals(1, events.size());
+  }
+
+  @Test
+  public void notAffectedRule_notUpdate() {
+    MicroserviceVersionRule rule1 = mockMicroserviceVersions.getOrCreateMicroserviceVersionRule("1.0.0");
+    MicroserviceVersionRule rule2 = mockMicroserviceVersions.getOrCreateMicroserviceVersionRule("2.0.0");
+    mockMicroserviceVersions.update_all();
+    MicroserviceVersionRuleData data1 = rule1.getData();
+    MicroserviceVersionRuleData data2 = rule2.getData();
+
+    mockMicroserviceVersions.update(mockMicroserviceVersions.findInstances("1.0.0", "3.0.0", "4.0.0"));
+
+    Assert.assertSame(data1, rule1.getData());
+    Assert.assertNotSame(data2, rule2.getData());
+    Assert.assertTrue(rule2.getInstances().isEmpty());
+
+    Assert.assertEquals(2, events.size());
+    MicroserviceInstancesUpdatedEvent event = events.get(1);
+    Assert.assertThat(event.getDelta().getServiceIds(), Matchers.contains("sid-2.0.0.0"));
+    Assert.assertThat(event.getDelta().getRemoved(),
+        Matchers.containsInAnyOrder(mockMicroserviceVersions.findInstances("2.0.0").toArray()));
+    Assert.assertTrue(event.getDelta().getAdded().isEmpty());
+  }
+
+  @Test
+  public void updatedInstance() {
+    MicroserviceVersionRule rule = mockMicroserviceVersions.getOrCreateMicroserviceVersionRule("2.0.0");
+    mockMicroserviceVersions.update_all();
+
+    List<MicroserviceInstance> instances = new ArrayList<>();
+    for (MicroserviceInstance instance : mockMicroserviceVersions.findInstances("1.0.0", "2.0.0", "3.0.0", "4.0.0")) {
+      if (instance.getInstanceId().equals("iid-2.0.0.0-0")) {
+        MicroserviceInstance changed = new MicroserviceInstance();
+        changed.setServiceId(instance.getServiceId());
+        changed.setInstanceId(instance.getInstanceId());
+        changed.setStatus(MicroserviceInstanceStatus.DOWN);
+        instance = changed;
+      }
+      instances.add(instance);
+    }
+    mockMicroserviceVersions.update(instances);
+
+    Assert.assertEquals(MicroserviceInstanceStatus.DOWN, rule.getInstances().get("iid-2.0.0.0-0").getStatus());
+    MicroserviceInstancesUpdatedEvent event = events.get(1);
+    Assert.assertEquals(1, event.getDelta().getUpdated().size());
+    Assert.assertTrue(event.getDelta().getAdded().isEmpty());
+    Assert.assertTrue(event.getDelta().getRemoved().isEmpty());
+  }
+}
@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.net.ServerSocket;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 import org.apache.servicecomb.registry.api.registry.MicroserviceInstance;
 import org.apache.servicecomb.registry.consumer.SimpleMicroserviceInstancePing;
@@ -44,4 +45,19 @@ public class TestSimpleMicroserviceInstancePing {
     ss.close();
     Assert.assertFalse(ping.ping(instance));
   }
+
+  @Test
+  public void testPingAsync() throws IOException, ExecutionException, InterruptedException {
+    SimpleMicroserviceInstancePing ping = new SimpleMicroserviceInstancePing();
+    MicroserviceInstance instance = new MicroserviceInstance();
+    List<String> endpoints = new ArrayList<>();
+    ServerSocket ss = new ServerSocket(35678);
+
+    endpoints.add("http://localhost:35678");
+    instance.setEndpoints(endpoints);
+    Assert.assertTrue(ping.pingAsync(instance).get());
+    Assert.assertFalse(ping.pingAsync(new MicroserviceInstance()).get());
+    ss.close();
+    Assert.assertFalse(ping.pingAsync(instance).get());
+  }
 }
@@ -18,18 +18,23 @@
 package org.apache.servicecomb.serviceregistry.registry.cache;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 import org.apache.servicecomb.foundation.common.Holder;
 import org.apache.servicecomb.registry.api.registry.FindInstancesResponse;
 import org.apache.servicecomb.registry.api.registry.Microservice;
 import org.apache.servicecomb.registry.api.registry.MicroserviceInstances;
+import org.apache.servicecomb.serviceregistry.api.request.FindService;
+import org.apache.servicecomb.serviceregistry.client.ServiceRegistryClient;
 import org.apache.servicecomb.serviceregistry.registry.cache.MicroserviceCache.MicroserviceCacheStatus;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.Mockito;
 
 public class RefreshableServiceRegistryCacheTest {
 
@@ -60,6 +65,11 @@ public class RefreshableServiceRegistryCacheTest {
           MicroserviceInstances pullInstanceFromServiceCenter(String revisionId) {
             return pullInstanceFromServiceCenterLogic.value.apply(revisionId);
           }
+
+          @Override
+          CompletableFuture<MicroserviceInstances> pullInstanceFromServiceCenterAsync(String revisionId) {
+            return CompletableFuture.completedFuture(pullInstanceFromServiceCenterLogic.value.apply(revisionId));
+          }
         };
       }
     };
@@ -88,7 +98,7 @@ public class RefreshableServiceRegistryCacheTest {
         MicroserviceCacheKey.builder().serviceName("svc").appId("appId").env("env").build(),
         null, false) {
       @Override
-      public void refresh() {
+      void applyPulledInstances(CompletableFuture<MicroserviceInstances> pulled) {
         this.status = MicroserviceCacheStatus.REFRESHED;
       }
     };
@@ -101,7 +111,7 @@ public class RefreshableServiceRegistryCacheTest {
         MicroserviceCacheKey.builder().serviceName("svc3").appId("appId").env("env").build(),
         null, false) {
       @Override
-      public void refresh() {
+      void applyPulledInstances(CompletableFuture<MicroserviceInstances> pulled) {
         this.status = MicroserviceCacheStatus.SERVICE_NOT_FOUND;
       }
     };
@@ -123,6 +133,35 @@ public class RefreshableServiceRegistryCacheTest {
     Assert.assertSame(microserviceCache2, serviceRegistryCache.microserviceCache.get(microserviceCache2.getKey()));
   }
 
+  @Test
+  public void refreshCache_batch() {
+    ServiceRegistryClient srClient = Mockito.mock(ServiceRegistryClient.class);
+    serviceRegistryCache = new RefreshableServiceRegistryCache(consumerService, srClient);
+    MicroserviceCacheKey key1 = MicroserviceCacheKey.builder().serviceName("svc").appId("appId").env("env").build();
+    MicroserviceCacheKey key2 = MicroserviceCacheKey.builder().serviceName("svc2").appId("appId").env("env").build();
+    serviceRegistryCache.microserviceCache.put(key1, serviceRegistryCache.createMicroserviceCache(key1));
+    serviceRegistryCache.microserviceCache.put(key2, serviceRegistryCache.createMicroserviceCache(key2));
+
+    MicroserviceInstances changed = pullInstanceFromServiceCenterLogic.value.apply("2");
+    MicroserviceInstances notChanged = new MicroserviceInstances();
+    notChanged.setNeedRefresh(false);
+    Mockito.when(srClient.batchFindServiceInstancesAsync(Mockito.eq("testConsumer"),
+        Mockito.anyListOf(FindService.class)))
+        .thenReturn(CompletableFuture.completedFuture(Arrays.asList(changed, notChanged)));
+
+    List<MicroserviceCache> refreshedCaches = new ArrayList<>();
+    serviceRegistryCache.setCacheRefreshedWatcher(refreshedCaches::addAll);
+    serviceRegistryCache.refreshCache();
+
+    Mockito.verify(srClient, Mockito.never())
+        .findServiceInstances(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+    Assert.assertEquals(1, refreshedCaches.size());
+    Assert.assertEquals(key1, refreshedCaches.get(0).getKey());
+    Assert.assertEquals("2", refreshedCaches.get(0).getRevisionId());
+    Assert.assertEquals(MicroserviceCacheStatus.NO_CHANGE,
+        serviceRegistryCache.microserviceCache.get(key2).getStatus());
+  }
+
   @Test
   public void findServiceCache_normal() {
     mockServiceRegistryHolder().value = MicroserviceCacheStatus.REFRESHED;
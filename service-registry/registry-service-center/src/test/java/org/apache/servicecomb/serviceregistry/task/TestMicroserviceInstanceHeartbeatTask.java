@@ -18,6 +18,7 @@ package org.apache.servicecomb.serviceregistry.task;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.servicecomb.registry.api.registry.Microservice;
 import org.apache.servicecomb.registry.api.registry.MicroserviceInstance;
@@ -185,4 +186,55 @@ public class TestMicroserviceInstanceHeartbeatTask {
     Assert.assertEquals(false, heartbeatTask.isNeedRegisterInstance());
     Assert.assertEquals(1, heartbeatTaskList.size());
   }
+
+  @Test
+  public void testHeartbeatAsyncSuccess(@Mocked ServiceRegistryClient srClient,
+      @Mocked MicroserviceWatchTask watchTask) {
+    HeartbeatResponse response = new HeartbeatResponse();
+    response.setOk(true);
+    response.setMessage("OK");
+
+    new Expectations() {
+      {
+        srClient.heartbeatAsync(anyString, anyString);
+        result = CompletableFuture.completedFuture(response);
+        watchTask.getMicroservice();
+        result = microservice;
+      }
+    };
+
+    MicroserviceInstanceHeartbeatTask heartbeatTask =
+        new MicroserviceInstanceHeartbeatTask(eventBus, srClient, microservice);
+    watchTask.taskStatus = TaskStatus.READY;
+    eventBus.post(watchTask);
+
+    heartbeatTask.runAsync(Runnable::run).join();
+    Assert.assertEquals(HeartbeatResult.SUCCESS, heartbeatTask.getHeartbeatResult());
+    Assert.assertEquals(1, heartbeatTaskList.size());
+  }
+
+  @Test
+  public void testHeartbeatAsyncFailed(@Mocked ServiceRegistryClient srClient,
+      @Mocked MicroserviceWatchTask watchTask) {
+    CompletableFuture<HeartbeatResponse> future = new CompletableFuture<>();
+    future.completeExceptionally(new IllegalStateException("no address"));
+
+    new Expectations() {
+      {
+        srClient.heartbeatAsync(anyString, anyString);
+        result = future;
+        watchTask.getMicroservice();
+        result = microservice;
+      }
+    };
+
+    MicroserviceInstanceHeartbeatTask heartbeatTask =
+        new MicroserviceInstanceHeartbeatTask(eventBus, srClient, microservice);
+    watchTask.taskStatus = TaskStatus.READY;
+    eventBus.post(watchTask);
+
+    heartbeatTask.runAsync(Runnable::run).join();
+    Assert.assertEquals(HeartbeatResult.DISCONNECTED, heartbeatTask.getHeartbeatResult());
+    Assert.assertEquals(1, heartbeatTaskList.size());
+  }
 }
@@ -18,6 +18,7 @@ package org.apache.servicecomb.serviceregistry.task;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.servicecomb.config.ConfigUtil;
 import org.apache.servicecomb.foundation.test.scaffolding.config.ArchaiusUtils;
@@ -129,6 +130,34 @@ public class TestMicroserviceInstanceRegisterTask {
     Assert.assertEquals(1, taskList.size());
   }
 
+  @Test
+  public void registerIpSuccessAsync() {
+    MicroserviceInstance instance = microservice.getInstance();
+    new Expectations(RegistrationManager.class) {
+      {
+        RegistrationManager.getPublishAddress();
+        result = "127.0.0.1";
+      }
+    };
+    new Expectations(RegistryUtils.class) {
+      {
+        serviceRegistryConfig.isPreferIpAddress();
+        result = true;
+        srClient.registerMicroserviceInstanceAsync(instance);
+        result = CompletableFuture.completedFuture("instanceId");
+      }
+    };
+    MicroserviceInstanceRegisterTask registerTask =
+        new MicroserviceInstanceRegisterTask(eventBus, serviceRegistryConfig, srClient, microservice);
+    registerTask.taskStatus = TaskStatus.READY;
+    registerTask.runAsync(Runnable::run).join();
+
+    Assert.assertEquals(true, registerTask.isRegistered());
+    Assert.assertEquals("127.0.0.1", instance.getHostName());
+    Assert.assertEquals("instanceId", instance.getInstanceId());
+    Assert.assertEquals(1, taskList.size());
+  }
+
   @Test
   public void registerHostSuccess() {
     MicroserviceInstance instance = microservice.getInstance();
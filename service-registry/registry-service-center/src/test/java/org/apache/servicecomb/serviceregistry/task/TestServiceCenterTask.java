@@ -16,6 +16,9 @@
  */
 package org.apache.servicecomb.serviceregistry.task;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 import org.apache.servicecomb.foundation.test.scaffolding.config.ArchaiusUtils;
 import org.apache.servicecomb.serviceregistry.config.ServiceRegistryConfig;
 import org.junit.AfterClass;
@@ -28,6 +31,7 @@ import com.google.common.eventbus.EventBus;
 
 import mockit.Expectations;
 import mockit.Mocked;
+import mockit.Verifications;
 
 public class TestServiceCenterTask {
   private EventBus eventBus = new EventBus();
@@ -91,4 +95,31 @@ public class TestServiceCenterTask {
     eventBus.post(heartBeatEvent);
     Assert.assertTrue(serviceCenterTask.isRegisterInstanceSuccess());
   }
+
+  @Test
+  public void testRunAsyncNotOverlap() {
+    CompletableFuture<Void> cycle = new CompletableFuture<>();
+    Executor executor = Runnable::run;
+    new Expectations() {
+      {
+        microserviceServiceCenterTask.runAsync(executor);
+        returns(cycle, CompletableFuture.completedFuture(null));
+      }
+    };
+    serviceCenterTask.setExecutor(executor);
+
+    serviceCenterTask.run();
+    // previous cycle still waiting for service center
+    serviceCenterTask.run();
+
+    cycle.complete(null);
+    serviceCenterTask.run();
+
+    new Verifications() {
+      {
+        microserviceServiceCenterTask.runAsync(executor);
+        times = 2;
+      }
+    };
+  }
 }
@@ -16,14 +16,21 @@
  */
 package org.apache.servicecomb.transport.highway;
 
+import javax.ws.rs.core.Response.Status;
+
 import org.apache.servicecomb.core.Const;
 import org.apache.servicecomb.foundation.vertx.client.tcp.AbstractTcpClientPackage;
 import org.apache.servicecomb.foundation.vertx.client.tcp.NetClientWrapper;
 import org.apache.servicecomb.foundation.vertx.client.tcp.TcpClientConnection;
 import org.apache.servicecomb.foundation.vertx.tcp.TcpOutputStream;
+import org.apache.servicecomb.swagger.invocation.exception.CommonExceptionData;
+import org.apache.servicecomb.swagger.invocation.exception.InvocationException;
+import org.apache.servicecomb.transport.highway.compress.HighwayCompressorContext;
+import org.apache.servicecomb.transport.highway.compress.HighwayCompressors;
 import org.apache.servicecomb.transport.highway.message.LoginRequest;
 import org.apache.servicecomb.transport.highway.message.LoginResponse;
 import org.apache.servicecomb.transport.highway.message.RequestHeader;
+import org.apache.servicecomb.transport.highway.message.ResponseHeader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,19 +40,37 @@ import io.vertx.core.buffer.Buffer;
 public class HighwayClientConnection extends TcpClientConnection {
   private static final Logger LOGGER = LoggerFactory.getLogger(HighwayClientConnection.class);
 
+  // negotiated in login, null if not supported by local or remote
+  private volatile OperationIds operationIds;
+
+  // negotiated in login, null if not compress
+  private volatile HighwayCompressorContext compressorContext;
+
   public HighwayClientConnection(Context context, NetClientWrapper netClientWrapper, String endpoint) {
     super(context, netClientWrapper, endpoint);
     setLocalSupportLogin(true);
   }
 
+  public OperationIds getOperationIds() {
+    return operationIds;
+  }
+
+  public HighwayCompressorContext getCompressorContext() {
+    return compressorContext;
+  }
+
   @Override
   protected TcpOutputStream createLogin() {
     try {
+      operationIds = null;
+
       RequestHeader header = new RequestHeader();
       header.setMsgType(MsgType.LOGIN);
+      header.setFlags(HighwayConfig.isOperationIdEnabled() ? MsgFlags.OPERATION_ID : 0);
 
       LoginRequest login = new LoginRequest();
       login.setProtocol(Const.HIGHWAY);
+      login.setZipName(HighwayConfig.getCompressNames());
 
       HighwayOutputStream os = new HighwayOutputStream(AbstractTcpClientPackage.getAndIncRequestId());
       os.write(header, LoginRequest.getRootSerializer(), login);
@@ -55,10 +80,57 @@ public class HighwayClientConnection extends TcpClientConnection {
     }
   }
 
+  @Override
+  protected void onDisconnected(Throwable e) {
+    super.onDisconnected(e);
+
+    // requests of the closed socket already failed, negotiate a new context in the next login
+    HighwayCompressorContext compressor = compressorContext;
+    compressorContext = null;
+    if (compressor != null) {
+      compressor.close();
+    }
+  }
+
+  @Override
+  protected Throwable createWriteQueueFullException() {
+    return new InvocationException(Status.SERVICE_UNAVAILABLE,
+        new CommonExceptionData(String.format("highway write queue of connection is full, bytes=%d.",
+            getWriteQueueBytes())));
+  }
+
+  @Override
+  protected TcpOutputStream createStream(AbstractTcpClientPackage tcpClientPackage) {
+    return ((HighwayClientPackage) tcpClientPackage).createStream(operationIds, compressorContext);
+  }
+
+  @Override
+  protected void onReply(long msgId, Buffer headerBuffer, Buffer bodyBuffer) {
+    HighwayCompressorContext compressor = compressorContext;
+    if (compressor != null) {
+      try {
+        ResponseHeader header = ResponseHeader.readObject(headerBuffer);
+        if (MsgFlags.isCompressed(header.getFlags())) {
+          bodyBuffer = compressor.decompress(bodyBuffer);
+        }
+      } catch (Throwable e) {
+        // decode response will fail and report the error to invoker
+        LOGGER.error("decompress response body error, msgId={}, zipName={}.", msgId, zipName, e);
+      }
+    }
+
+    super.onReply(msgId, headerBuffer, bodyBuffer);
+  }
+
   @Override
   protected boolean onLoginResponse(Buffer bodyBuffer) {
     try {
       LoginResponse response = LoginResponse.readObject(bodyBuffer);
+      if (response.getOperationIds() != null && !response.getOperationIds().isEmpty()) {
+        operationIds = new OperationIds(response.getOperationIdsVersion(), response.getOperationIds());
+      }
+      setZipName(response.getZipName());
+      compressorContext = HighwayCompressors.createContext(response.getZipName());
       return true;
     } catch (Throwable e) {
       LOGGER.error("decode login response failed.", e);
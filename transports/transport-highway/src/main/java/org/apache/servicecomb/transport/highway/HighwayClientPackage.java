@@ -20,6 +20,7 @@ import org.apache.servicecomb.codec.protobuf.definition.OperationProtobuf;
 import org.apache.servicecomb.core.Invocation;
 import org.apache.servicecomb.foundation.vertx.client.tcp.AbstractTcpClientPackage;
 import org.apache.servicecomb.foundation.vertx.tcp.TcpOutputStream;
+import org.apache.servicecomb.transport.highway.compress.HighwayCompressorContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,8 +39,12 @@ public class HighwayClientPackage extends AbstractTcpClientPackage {
 
   @Override
   public TcpOutputStream createStream() {
+    return createStream(null, null);
+  }
+
+  public TcpOutputStream createStream(OperationIds operationIds, HighwayCompressorContext compressor) {
     try {
-      return HighwayCodec.encodeRequest(msgId, invocation, operationProtobuf);
+      return HighwayCodec.encodeRequest(msgId, invocation, operationProtobuf, operationIds, compressor);
     } catch (Exception e) {
       String msg = String.format("encode request failed. appid=%s, qualifiedName=%s",
           invocation.getAppId(),
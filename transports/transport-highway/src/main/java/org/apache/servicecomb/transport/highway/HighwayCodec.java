@@ -21,20 +21,30 @@ import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
 
+import javax.ws.rs.core.Response.Status;
+
 import org.apache.servicecomb.codec.protobuf.definition.OperationProtobuf;
 import org.apache.servicecomb.codec.protobuf.definition.RequestRootDeserializer;
 import org.apache.servicecomb.codec.protobuf.definition.ResponseRootDeserializer;
 import org.apache.servicecomb.codec.protobuf.definition.ResponseRootSerializer;
 import org.apache.servicecomb.core.Invocation;
+import org.apache.servicecomb.core.definition.MicroserviceMeta;
+import org.apache.servicecomb.core.definition.OperationMeta;
+import org.apache.servicecomb.core.definition.SchemaMeta;
 import org.apache.servicecomb.foundation.vertx.client.tcp.TcpData;
+import org.apache.servicecomb.foundation.vertx.tcp.TcpConnection;
 import org.apache.servicecomb.foundation.vertx.tcp.TcpOutputStream;
 import org.apache.servicecomb.swagger.invocation.Response;
+import org.apache.servicecomb.swagger.invocation.exception.CommonExceptionData;
+import org.apache.servicecomb.swagger.invocation.exception.InvocationException;
+import org.apache.servicecomb.transport.highway.compress.HighwayCompressorContext;
 import org.apache.servicecomb.transport.highway.message.RequestHeader;
 import org.apache.servicecomb.transport.highway.message.ResponseHeader;
 
 import com.fasterxml.jackson.databind.JavaType;
 import com.google.common.base.Defaults;
 
+import io.netty.buffer.ByteBuf;
 import io.swagger.models.parameters.Parameter;
 import io.vertx.core.buffer.Buffer;
 
@@ -44,17 +54,44 @@ public final class HighwayCodec {
 
   public static TcpOutputStream encodeRequest(long msgId, Invocation invocation,
       OperationProtobuf operationProtobuf) throws Exception {
+    return encodeRequest(msgId, invocation, operationProtobuf, null);
+  }
+
+  public static TcpOutputStream encodeRequest(long msgId, Invocation invocation,
+      OperationProtobuf operationProtobuf, OperationIds operationIds) throws Exception {
+    return encodeRequest(msgId, invocation, operationProtobuf, operationIds, null);
+  }
+
+  /**
+   * @param operationIds negotiated in login, null if not supported by the connection
+   * @param compressor negotiated in login, null if not supported by the connection
+   */
+  public static TcpOutputStream encodeRequest(long msgId, Invocation invocation,
+      OperationProtobuf operationProtobuf, OperationIds operationIds, HighwayCompressorContext compressor)
+      throws Exception {
     // 写header
     RequestHeader header = new RequestHeader();
     header.setMsgType(MsgType.REQUEST);
-    header.setFlags(0);
-    header.setDestMicroservice(invocation.getMicroserviceName());
-    header.setSchemaId(invocation.getSchemaId());
-    header.setOperationName(invocation.getOperationName());
+    Integer operationId = operationIds == null ? null : operationIds.findId(invocation.getOperationMeta());
+    if (operationId != null) {
+      header.setFlags(MsgFlags.OPERATION_ID);
+      header.setOperationId(operationId);
+      header.setOperationIdsVersion(operationIds.getVersion());
+    } else {
+      header.setFlags(0);
+      header.setDestMicroservice(invocation.getMicroserviceName());
+      header.setSchemaId(invocation.getSchemaId());
+      header.setOperationName(invocation.getOperationName());
+    }
     header.setContext(invocation.getContext());
 
-    HighwayOutputStream os = new HighwayOutputStream(msgId);
-    os.write(header, operationProtobuf.getRequestRootSerializer(), invocation.getSwaggerArguments());
+    HighwayOutputStream os = new HighwayOutputStream(msgId, HighwayConfig.isPooledBuffer());
+    try {
+      os.write(header, operationProtobuf.getRequestRootSerializer(), invocation.getSwaggerArguments(), compressor);
+    } catch (Throwable e) {
+      os.close();
+      throw e;
+    }
     return os;
   }
 
@@ -77,8 +114,23 @@ public final class HighwayCodec {
 
   public static void decodeRequest(Invocation invocation, RequestHeader header, OperationProtobuf operationProtobuf,
       Buffer bodyBuffer) throws Exception {
+    decodeRequest(invocation, header, operationProtobuf, bodyBuffer, null);
+  }
+
+  /**
+   * @param compressor negotiated in login, null if not supported by the connection
+   */
+  public static void decodeRequest(Invocation invocation, RequestHeader header, OperationProtobuf operationProtobuf,
+      Buffer bodyBuffer, HighwayCompressorContext compressor) throws Exception {
+    if (MsgFlags.isCompressed(header.getFlags())) {
+      if (compressor == null) {
+        throw new IllegalStateException("compressor is not negotiated.");
+      }
+      bodyBuffer = compressor.decompress(bodyBuffer);
+    }
+
     RequestRootDeserializer<Object> requestDeserializer = operationProtobuf.getRequestRootDeserializer();
-    Map<String, Object> swaggerArguments = requestDeserializer.deserialize(bodyBuffer.getBytes());
+    Map<String, Object> swaggerArguments = requestDeserializer.deserialize(bodyBuffer.getByteBuf());
     addPrimitiveTypeDefaultValues(invocation, swaggerArguments);
     invocation.setSwaggerArguments(swaggerArguments);
   }
@@ -87,14 +139,54 @@ public final class HighwayCodec {
     return RequestHeader.readObject(headerBuffer);
   }
 
-  public static Buffer encodeResponse(long msgId, ResponseHeader header, ResponseRootSerializer bodySchema,
+  public static OperationMeta ensureFindOperation(MicroserviceMeta microserviceMeta, RequestHeader header) {
+    if (MsgFlags.isOperationId(header.getFlags())) {
+      return ProducerOperationIds.getOrCreate(microserviceMeta)
+          .ensureFindOperation(header.getOperationId(), header.getOperationIdsVersion());
+    }
+
+    SchemaMeta schemaMeta = microserviceMeta.ensureFindSchemaMeta(header.getSchemaId());
+    return schemaMeta.ensureFindOperation(header.getOperationName());
+  }
+
+  /**
+   * if pooled buffer is enabled, the result is a pooled direct buffer, must be written by
+   * {@link org.apache.servicecomb.foundation.vertx.tcp.TcpConnection#write(ByteBuf)} or be released by caller
+   */
+  public static ByteBuf encodeResponse(long msgId, ResponseHeader header, ResponseRootSerializer bodySchema,
       Object body) throws Exception {
-    try (HighwayOutputStream os = new HighwayOutputStream(msgId)) {
-      os.write(header, bodySchema, body);
-      return os.getBuffer();
+    return encodeResponse(msgId, header, bodySchema, body, null);
+  }
+
+  public static ByteBuf encodeResponse(long msgId, ResponseHeader header, ResponseRootSerializer bodySchema,
+      Object body, HighwayCompressorContext compressor) throws Exception {
+    try (HighwayOutputStream os = new HighwayOutputStream(msgId, HighwayConfig.isPooledBuffer())) {
+      os.write(header, bodySchema, body, compressor);
+      return os.detachByteBuf();
     }
   }
 
+  public static HighwayCompressorContext findCompressor(TcpConnection connection) {
+    if (connection instanceof HighwayServerConnection) {
+      return ((HighwayServerConnection) connection).getCompressorContext();
+    }
+    return null;
+  }
+
+  /**
+   * when bytes waiting to be written exceed the high watermark, replace the response with a small error response,
+   * fail fast and avoid accumulating more bytes in memory
+   */
+  public static Response checkWritable(TcpConnection connection, Response response) {
+    if (connection == null || connection.isWritable()) {
+      return response;
+    }
+
+    return Response.createFail(new InvocationException(Status.SERVICE_UNAVAILABLE,
+        new CommonExceptionData(String.format("highway write queue of connection is full, bytes=%d.",
+            connection.getWriteQueueBytes()))));
+  }
+
   public static Response decodeResponse(Invocation invocation, OperationProtobuf operationProtobuf, TcpData tcpData)
       throws Exception {
     ResponseHeader header = ResponseHeader.readObject(tcpData.getHeaderBuffer());
@@ -106,7 +198,7 @@ public final class HighwayCodec {
         .findResponseRootDeserializer(header.getStatusCode());
     JavaType type = invocation.findResponseType(header.getStatusCode());
     Object body = bodySchema
-        .deserialize(tcpData.getBodyBuffer().getBytes(), type);
+        .deserialize(tcpData.getBodyBuffer().getByteBuf(), type);
 
     Response response = Response.create(header.getStatusCode(), header.getReasonPhrase()
         , defaultPrimitiveValue(body, type));
@@ -17,6 +17,7 @@
 
 package org.apache.servicecomb.transport.highway;
 
+import org.apache.servicecomb.foundation.vertx.client.tcp.TcpClientConfig;
 import org.apache.servicecomb.transport.common.TransportConfigUtils;
 
 import com.netflix.config.DynamicPropertyFactory;
@@ -38,6 +39,75 @@ public final class HighwayConfig {
         "servicecomb.highway.server.thread-count");
   }
 
+  /**
+   * encode highway request and response to pooled direct buffer, instead of a new heap buffer for every message
+   */
+  public static boolean isPooledBuffer() {
+    return DynamicPropertyFactory.getInstance().getBooleanProperty("servicecomb.highway.pooledBuffer", false).get();
+  }
+
+  /**
+   * negotiate numeric operation ids in login, after that request header carry the id instead of
+   * destMicroservice/schemaId/operationName
+   */
+  public static boolean isOperationIdEnabled() {
+    return DynamicPropertyFactory.getInstance().getBooleanProperty("servicecomb.highway.operationId.enabled", true)
+        .get();
+  }
+
+  /**
+   * compressors names, separated by comma<br>
+   * for client, they are requested in login by preference order<br>
+   * for server, they are allowed to be chosen<br>
+   * empty means not compress
+   */
+  public static String getCompressNames() {
+    return DynamicPropertyFactory.getInstance().getStringProperty("servicecomb.highway.compress.names", "").get();
+  }
+
+  /**
+   * only compress body which size is not smaller than this value
+   */
+  public static int getCompressMinSize() {
+    return DynamicPropertyFactory.getInstance().getIntProperty("servicecomb.highway.compress.minSize", 4096).get();
+  }
+
+  /**
+   * connections to the same provider instance in every client verticle, new request is sent by the one
+   * with the least pending requests
+   */
+  public static int getClientConnectionsPerEndpoint() {
+    return DynamicPropertyFactory.getInstance()
+        .getIntProperty("servicecomb.highway.client.connectionsPerEndpoint",
+            TcpClientConfig.DEFAULT_CONNECTIONS_PER_ENDPOINT)
+        .get();
+  }
+
+  /**
+   * when bytes waiting to be written of a connection exceed this value, client fail new requests immediately or wait,
+   * server replace responses with a small error response, 0 means not limit
+   */
+  public static long getWriteHighWatermark() {
+    return DynamicPropertyFactory.getInstance()
+        .getLongProperty("servicecomb.highway.write.highWatermark", 64 * 1024 * 1024).get();
+  }
+
+  /**
+   * after not writable, connection become writable again when bytes waiting to be written drop to this value
+   */
+  public static long getWriteLowWatermark() {
+    return DynamicPropertyFactory.getInstance()
+        .getLongProperty("servicecomb.highway.write.lowWatermark", 32 * 1024 * 1024).get();
+  }
+
+  /**
+   * when connection is not writable, true means client requests wait until writable or timeout
+   */
+  public static boolean isClientWaitWritable() {
+    return DynamicPropertyFactory.getInstance()
+        .getBooleanProperty("servicecomb.highway.client.waitWritable", false).get();
+  }
+
   public static int getClientThreadCount() {
     return TransportConfigUtils.readVerticleCount(
         "servicecomb.highway.client.verticle-count",
@@ -20,6 +20,7 @@ import org.apache.servicecomb.codec.protobuf.definition.RequestRootSerializer;
 import org.apache.servicecomb.codec.protobuf.definition.ResponseRootSerializer;
 import org.apache.servicecomb.foundation.protobuf.RootSerializer;
 import org.apache.servicecomb.foundation.vertx.tcp.TcpOutputStream;
+import org.apache.servicecomb.transport.highway.compress.HighwayCompressorContext;
 import org.apache.servicecomb.transport.highway.message.RequestHeader;
 import org.apache.servicecomb.transport.highway.message.ResponseHeader;
 
@@ -28,13 +29,81 @@ public class HighwayOutputStream extends TcpOutputStream {
     super(msgId);
   }
 
+  public HighwayOutputStream(long msgId, boolean pooled) {
+    super(msgId, pooled);
+  }
+
   public void write(RequestHeader header, RequestRootSerializer requestRootSerializer, Object body) throws Exception {
-    write(RequestHeader.getRootSerializer().serialize(header), requestRootSerializer.serialize(body));
+    write(header, requestRootSerializer, body, null);
+  }
+
+  public void write(RequestHeader header, RequestRootSerializer requestRootSerializer, Object body,
+      HighwayCompressorContext compressor) throws Exception {
+    int lengthIndex = startWrite();
+    RequestHeader.getRootSerializer().serialize(this, header);
+    int bodyIndex = writerIndex();
+    requestRootSerializer.serialize(this, body);
+
+    byte[] compressed = compressBody(compressor, bodyIndex);
+    if (compressed != null) {
+      header.setFlags(header.getFlags() | MsgFlags.COMPRESSED);
+      rewrite(lengthIndex, RequestHeader.getRootSerializer(), header, compressed);
+      return;
+    }
+    finishWrite(lengthIndex, bodyIndex);
   }
 
   public void write(ResponseHeader header, ResponseRootSerializer responseRootSerializer, Object body)
       throws Exception {
-    write(ResponseHeader.getRootSerializer().serialize(header), responseRootSerializer.serialize(body));
+    write(header, responseRootSerializer, body, null);
+  }
+
+  public void write(ResponseHeader header, ResponseRootSerializer responseRootSerializer, Object body,
+      HighwayCompressorContext compressor) throws Exception {
+    int lengthIndex = startWrite();
+    ResponseHeader.getRootSerializer().serialize(this, header);
+    int bodyIndex = writerIndex();
+    responseRootSerializer.serialize(this, body);
+
+    byte[] compressed = compressBody(compressor, bodyIndex);
+    if (compressed != null) {
+      header.setFlags(header.getFlags() | MsgFlags.COMPRESSED);
+      rewrite(lengthIndex, ResponseHeader.getRootSerializer(), header, compressed);
+      return;
+    }
+    finishWrite(lengthIndex, bodyIndex);
+  }
+
+  private byte[] compressBody(HighwayCompressorContext compressor, int bodyIndex) {
+    int bodyLength = writerIndex() - bodyIndex;
+    if (compressor == null || bodyLength < HighwayConfig.getCompressMinSize()) {
+      return null;
+    }
+
+    return compressor.compress(byteBuf, bodyIndex, bodyLength);
+  }
+
+  // header flags changed, so write header again, and replace body with the compressed data
+  private void rewrite(int lengthIndex, RootSerializer headerSerializer, Object header, byte[] compressed)
+      throws Exception {
+    byteBuf.writerIndex(lengthIndex + 8);
+    headerSerializer.serialize(this, header);
+    int bodyIndex = writerIndex();
+    write(compressed);
+    finishWrite(lengthIndex, bodyIndex);
+  }
+
+  // serialize header and body directly to this stream, lengths are unknown now, reserve the space and write them later
+  private int startWrite() {
+    int lengthIndex = writerIndex();
+    writeLength(0, 0);
+    return lengthIndex;
+  }
+
+  private void finishWrite(int lengthIndex, int bodyIndex) {
+    int headerIndex = lengthIndex + 8;
+    writeInt(lengthIndex, writerIndex() - headerIndex);
+    writeInt(lengthIndex + 4, bodyIndex - headerIndex);
   }
 
   public void write(RequestHeader header, RootSerializer bodySerializer, Object body) throws Exception {
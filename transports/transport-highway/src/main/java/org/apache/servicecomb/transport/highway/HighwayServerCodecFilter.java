@@ -32,7 +32,7 @@ import org.apache.servicecomb.swagger.invocation.Response;
 import org.apache.servicecomb.transport.highway.message.ResponseHeader;
 import org.springframework.stereotype.Component;
 
-import io.vertx.core.buffer.Buffer;
+import io.netty.buffer.ByteBuf;
 
 @Component
 public class HighwayServerCodecFilter implements ProducerFilter {
@@ -59,7 +59,8 @@ public class HighwayServerCodecFilter implements ProducerFilter {
       HighwayCodec.decodeRequest(invocation,
           transportContext.getHeader(),
           transportContext.getOperationProtobuf(),
-          transportContext.getBodyBuffer());
+          transportContext.getBodyBuffer(),
+          HighwayCodec.findCompressor(transportContext.getConnection()));
       return CompletableFuture.completedFuture(invocation);
     } catch (Exception e) {
       return AsyncUtils.completeExceptionally(e);
@@ -67,6 +68,8 @@ public class HighwayServerCodecFilter implements ProducerFilter {
   }
 
   protected CompletableFuture<Response> encodeResponse(Invocation invocation, Response response) {
+    HighwayTransportContext transportContext = invocation.getTransportContext();
+    response = HighwayCodec.checkWritable(transportContext.getConnection(), response);
     invocation.onEncodeResponseStart(response);
 
     ResponseHeader header = new ResponseHeader();
@@ -75,15 +78,15 @@ public class HighwayServerCodecFilter implements ProducerFilter {
     header.setContext(invocation.getContext());
     header.fromMultiMap(response.getHeaders());
 
-    HighwayTransportContext transportContext = invocation.getTransportContext();
     long msgId = transportContext.getMsgId();
     OperationProtobuf operationProtobuf = transportContext.getOperationProtobuf();
     ResponseRootSerializer bodySchema = operationProtobuf.findResponseRootSerializer(response.getStatusCode());
 
     try {
-      Buffer respBuffer = HighwayCodec.encodeResponse(
-          msgId, header, bodySchema, response.getResult());
-      transportContext.setResponseBuffer(respBuffer);
+      ByteBuf respBuffer = HighwayCodec.encodeResponse(
+          msgId, header, bodySchema, response.getResult(),
+          HighwayCodec.findCompressor(transportContext.getConnection()));
+      transportContext.setResponseByteBuf(respBuffer);
 
       return CompletableFuture.completedFuture(response);
     } catch (Exception e) {
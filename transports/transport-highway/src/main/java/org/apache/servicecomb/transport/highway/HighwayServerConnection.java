@@ -27,12 +27,13 @@ import org.apache.servicecomb.core.Invocation;
 import org.apache.servicecomb.core.SCBEngine;
 import org.apache.servicecomb.core.definition.MicroserviceMeta;
 import org.apache.servicecomb.core.definition.OperationMeta;
-import org.apache.servicecomb.core.definition.SchemaMeta;
 import org.apache.servicecomb.core.invocation.InvocationCreator;
 import org.apache.servicecomb.core.invocation.InvocationFactory;
 import org.apache.servicecomb.foundation.vertx.server.TcpBufferHandler;
 import org.apache.servicecomb.foundation.vertx.server.TcpParser;
 import org.apache.servicecomb.foundation.vertx.server.TcpServerConnection;
+import org.apache.servicecomb.transport.highway.compress.HighwayCompressorContext;
+import org.apache.servicecomb.transport.highway.compress.HighwayCompressors;
 import org.apache.servicecomb.transport.highway.message.LoginRequest;
 import org.apache.servicecomb.transport.highway.message.LoginResponse;
 import org.apache.servicecomb.transport.highway.message.RequestHeader;
@@ -48,13 +49,21 @@ public class HighwayServerConnection extends TcpServerConnection implements TcpB
 
   private final Endpoint endpoint;
 
+  // negotiated in login, null if not compress
+  private volatile HighwayCompressorContext compressorContext;
+
   public HighwayServerConnection(Endpoint endpoint) {
     this.endpoint = endpoint;
   }
 
+  public HighwayCompressorContext getCompressorContext() {
+    return compressorContext;
+  }
+
   @Override
   public void init(NetSocket netSocket) {
     splitter = new TcpParser(this);
+    setWriteWatermark(HighwayConfig.getWriteHighWatermark(), HighwayConfig.getWriteLowWatermark());
     super.init(netSocket);
   }
 
@@ -103,9 +112,12 @@ public class HighwayServerConnection extends TcpServerConnection implements TcpB
       return;
     }
 
+    String zipName = null;
     if (request != null) {
       this.setProtocol(request.getProtocol());
-      this.setZipName(request.getZipName());
+      zipName = HighwayCompressors.negotiate(request.getZipName(), HighwayConfig.getCompressNames());
+      this.setZipName(zipName);
+      this.compressorContext = HighwayCompressors.createContext(zipName);
     }
 
     try (HighwayOutputStream os = new HighwayOutputStream(msgId)) {
@@ -113,6 +125,13 @@ public class HighwayServerConnection extends TcpServerConnection implements TcpB
       responseHeader.setStatusCode(Status.OK.getStatusCode());
 
       LoginResponse response = new LoginResponse();
+      response.setZipName(zipName);
+      if (MsgFlags.isOperationId(header.getFlags()) && HighwayConfig.isOperationIdEnabled()) {
+        ProducerOperationIds operationIds = ProducerOperationIds
+            .getOrCreate(SCBEngine.getInstance().getProducerMicroserviceMeta());
+        response.setOperationIds(operationIds.getIds());
+        response.setOperationIdsVersion(operationIds.getVersion());
+      }
 
       os.write(ResponseHeader.getRootSerializer(),
           responseHeader,
@@ -124,6 +143,7 @@ public class HighwayServerConnection extends TcpServerConnection implements TcpB
     }
   }
 
+  // compressed body is decompressed when decoding request in executor, not in event loop
   protected void onRequest(long msgId, RequestHeader header, Buffer bodyBuffer) {
     if (SCBEngine.getInstance().isFilterChainEnabled()) {
       InvocationCreator creator = () -> createInvocation(msgId, header, bodyBuffer);
@@ -138,10 +158,20 @@ public class HighwayServerConnection extends TcpServerConnection implements TcpB
     }
   }
 
+  @Override
+  protected void onClosed() {
+    super.onClosed();
+
+    HighwayCompressorContext compressor = compressorContext;
+    compressorContext = null;
+    if (compressor != null) {
+      compressor.close();
+    }
+  }
+
   public CompletableFuture<Invocation> createInvocation(long msgId, RequestHeader header, Buffer bodyBuffer) {
     MicroserviceMeta microserviceMeta = SCBEngine.getInstance().getProducerMicroserviceMeta();
-    SchemaMeta schemaMeta = microserviceMeta.ensureFindSchemaMeta(header.getSchemaId());
-    OperationMeta operationMeta = schemaMeta.ensureFindOperation(header.getOperationName());
+    OperationMeta operationMeta = HighwayCodec.ensureFindOperation(microserviceMeta, header);
 
     Invocation invocation = InvocationFactory.forProvider(endpoint,
         operationMeta,
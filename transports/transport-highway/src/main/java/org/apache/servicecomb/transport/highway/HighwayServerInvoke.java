@@ -32,7 +32,7 @@ import org.apache.servicecomb.core.Invocation;
 import org.apache.servicecomb.core.SCBEngine;
 import org.apache.servicecomb.core.definition.MicroserviceMeta;
 import org.apache.servicecomb.core.definition.OperationMeta;
-import org.apache.servicecomb.core.definition.SchemaMeta;
+import org.apache.servicecomb.core.executor.AdaptiveConcurrencyLimiters;
 import org.apache.servicecomb.core.invocation.InvocationFactory;
 import org.apache.servicecomb.foundation.common.Holder;
 import org.apache.servicecomb.foundation.vertx.tcp.TcpConnection;
@@ -43,6 +43,7 @@ import org.apache.servicecomb.transport.highway.message.ResponseHeader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.netty.buffer.ByteBuf;
 import io.vertx.core.buffer.Buffer;
 
 public class HighwayServerInvoke {
@@ -95,8 +96,7 @@ public class HighwayServerInvoke {
     this.header = header;
 
     MicroserviceMeta microserviceMeta = SCBEngine.getInstance().getProducerMicroserviceMeta();
-    SchemaMeta schemaMeta = microserviceMeta.ensureFindSchemaMeta(header.getSchemaId());
-    this.operationMeta = schemaMeta.ensureFindOperation(header.getOperationName());
+    this.operationMeta = HighwayCodec.ensureFindOperation(microserviceMeta, header);
     this.bodyBuffer = bodyBuffer;
   }
 
@@ -125,7 +125,8 @@ public class HighwayServerInvoke {
     invocation.onExecuteStart();
 
     invocation.getInvocationStageTrace().startServerFiltersRequest();
-    HighwayCodec.decodeRequest(invocation, header, operationProtobuf, bodyBuffer);
+    HighwayCodec.decodeRequest(invocation, header, operationProtobuf, bodyBuffer,
+        HighwayCodec.findCompressor(connection));
     invocation.getHandlerContext().put(Const.REMOTE_ADDRESS, this.connection.getNetSocket().remoteAddress());
 
     invocation.onStartHandlersRequest();
@@ -134,6 +135,7 @@ public class HighwayServerInvoke {
 
   private void sendResponse(Map<String, String> context, Response response) {
     invocation.getInvocationStageTrace().finishHandlersResponse();
+    response = HighwayCodec.checkWritable(connection, response);
 
     ResponseHeader header = new ResponseHeader();
     header.setStatusCode(response.getStatusCode());
@@ -148,9 +150,10 @@ public class HighwayServerInvoke {
     }
 
     try {
-      Buffer respBuffer = HighwayCodec.encodeResponse(msgId, header, bodySchema, body);
+      ByteBuf respBuffer = HighwayCodec.encodeResponse(msgId, header, bodySchema, body,
+          HighwayCodec.findCompressor(connection));
       invocation.getInvocationStageTrace().finishServerFiltersResponse();
-      connection.write(respBuffer.getByteBuf());
+      connection.write(respBuffer);
     } catch (Exception e) {
       // keep highway performance and simple, this encoding/decoding error not need handle by client
       String msg = String.format("encode response failed, %s, msgId=%d",
@@ -190,6 +193,7 @@ public class HighwayServerInvoke {
         return;
       }
 
+      AdaptiveConcurrencyLimiters.acquire(invocation, operationMeta.getExecutor());
       operationMeta.getExecutor().execute(this::runInExecutor);
     } catch (Throwable e) {
       if (e instanceof RejectedExecutionException) {
@@ -21,6 +21,7 @@ import org.apache.servicecomb.foundation.vertx.tcp.TcpConnection;
 import org.apache.servicecomb.swagger.invocation.context.VertxTransportContext;
 import org.apache.servicecomb.transport.highway.message.RequestHeader;
 
+import io.netty.buffer.ByteBuf;
 import io.vertx.core.Context;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
@@ -38,7 +39,7 @@ public class HighwayTransportContext implements VertxTransportContext {
 
   private OperationProtobuf operationProtobuf;
 
-  private Buffer responseBuffer;
+  private ByteBuf responseByteBuf;
 
   public HighwayTransportContext() {
     this.vertxContext = Vertx.currentContext();
@@ -95,12 +96,12 @@ public class HighwayTransportContext implements VertxTransportContext {
     return this;
   }
 
-  public Buffer getResponseBuffer() {
-    return responseBuffer;
+  public ByteBuf getResponseByteBuf() {
+    return responseByteBuf;
   }
 
-  public HighwayTransportContext setResponseBuffer(Buffer responseBuffer) {
-    this.responseBuffer = responseBuffer;
+  public HighwayTransportContext setResponseByteBuf(ByteBuf responseByteBuf) {
+    this.responseByteBuf = responseByteBuf;
     return this;
   }
 }
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.transport.highway;
+
+/**
+ * bits of RequestHeader.flags
+ */
+public final class MsgFlags {
+  // in login request: client support operation id
+  // in normal request: header carry operationId instead of destMicroservice/schemaId/operationName
+  public static final int OPERATION_ID = 1;
+
+  // body compressed by the compressor negotiated in login
+  public static final int COMPRESSED = 1 << 1;
+
+  private MsgFlags() {
+  }
+
+  public static boolean isOperationId(int flags) {
+    return (flags & OPERATION_ID) != 0;
+  }
+
+  public static boolean isCompressed(int flags) {
+    return (flags & COMPRESSED) != 0;
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.transport.highway;
+
+import java.util.Map;
+
+import org.apache.servicecomb.core.definition.OperationMeta;
+
+/**
+ * numeric operation ids negotiated in highway login, belongs to one connection<br>
+ * after login, request header only carry the id, instead of destMicroservice/schemaId/operationName
+ */
+public class OperationIds {
+  // identify the id table, avoid to invoke wrong operation when server restart with different operations
+  protected final int version;
+
+  // schemaQualifiedName -> id
+  protected final Map<String, Integer> ids;
+
+  public OperationIds(int version, Map<String, Integer> ids) {
+    this.version = version;
+    this.ids = ids;
+  }
+
+  public int getVersion() {
+    return version;
+  }
+
+  public Map<String, Integer> getIds() {
+    return ids;
+  }
+
+  public Integer findId(OperationMeta operationMeta) {
+    return ids.get(operationMeta.getSchemaQualifiedName());
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.transport.highway;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.servicecomb.core.definition.MicroserviceMeta;
+import org.apache.servicecomb.core.definition.OperationMeta;
+
+/**
+ * operation id table of producer, created once and sent to all clients in login response
+ */
+public class ProducerOperationIds extends OperationIds {
+  private static volatile ProducerOperationIds instance;
+
+  private final MicroserviceMeta microserviceMeta;
+
+  private final OperationMeta[] operations;
+
+  public static ProducerOperationIds getOrCreate(MicroserviceMeta microserviceMeta) {
+    ProducerOperationIds operationIds = instance;
+    if (operationIds == null || operationIds.microserviceMeta != microserviceMeta) {
+      operationIds = new ProducerOperationIds(microserviceMeta);
+      instance = operationIds;
+    }
+    return operationIds;
+  }
+
+  private ProducerOperationIds(MicroserviceMeta microserviceMeta, List<OperationMeta> operations) {
+    super(computeVersion(operations), new HashMap<>());
+    this.microserviceMeta = microserviceMeta;
+    this.operations = operations.toArray(new OperationMeta[0]);
+    for (int idx = 0; idx < this.operations.length; idx++) {
+      ids.put(this.operations[idx].getSchemaQualifiedName(), idx);
+    }
+  }
+
+  public ProducerOperationIds(MicroserviceMeta microserviceMeta) {
+    this(microserviceMeta, microserviceMeta.getOperations().stream()
+        .sorted(Comparator.comparing(OperationMeta::getSchemaQualifiedName))
+        .collect(Collectors.toList()));
+  }
+
+  private static int computeVersion(List<OperationMeta> operations) {
+    int hash = 1;
+    for (OperationMeta operationMeta : operations) {
+      hash = 31 * hash + operationMeta.getSchemaQualifiedName().hashCode();
+    }
+    // negative int32 always be encoded to 10 bytes
+    return hash & Integer.MAX_VALUE;
+  }
+
+  public OperationMeta ensureFindOperation(int operationId, int operationIdsVersion) {
+    if (operationIdsVersion != version || operationId < 0 || operationId >= operations.length) {
+      throw new IllegalStateException(String.format(
+          "failed to find OperationMeta by operationId, microserviceName=%s, operationId=%d, version=%d/%d.",
+          microserviceMeta.getMicroserviceName(), operationId, operationIdsVersion, version));
+    }
+
+    return operations[operationId];
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.transport.highway.compress;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.apache.servicecomb.foundation.vertx.server.TcpParser;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * built-in compressor based on jdk, not need any third party dependency<br>
+ * format: 4 bytes of raw length + deflate data
+ */
+public class DeflateCompressor implements HighwayCompressor {
+  public static final String NAME = "deflate";
+
+  @Override
+  public int getOrder() {
+    return Integer.MAX_VALUE;
+  }
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public HighwayCompressorContext createContext() {
+    return new DeflateContext();
+  }
+
+  /**
+   * a small pool of idle instances, concurrent callers take their own instance instead of waiting for each other<br>
+   * instances taken when the context is closed are ended when they are given back, so close never frees a native
+   * stream that is still in use
+   */
+  static class Pool<T> {
+    private final BlockingQueue<T> idle;
+
+    private final Supplier<T> factory;
+
+    private final Consumer<T> reset;
+
+    private final Consumer<T> end;
+
+    private volatile boolean closed;
+
+    Pool(int maxIdle, Supplier<T> factory, Consumer<T> reset, Consumer<T> end) {
+      this.idle = new ArrayBlockingQueue<>(maxIdle);
+      this.factory = factory;
+      this.reset = reset;
+      this.end = end;
+    }
+
+    T take() {
+      if (closed) {
+        throw new IllegalStateException("highway compressor context is closed.");
+      }
+      T instance = idle.poll();
+      return instance != null ? instance : factory.get();
+    }
+
+    void giveBack(T instance) {
+      if (closed) {
+        end.accept(instance);
+        return;
+      }
+
+      reset.accept(instance);
+      if (!idle.offer(instance)) {
+        end.accept(instance);
+        return;
+      }
+
+      if (closed) {
+        // closed during offer, maybe idle instances already drained
+        endIdle();
+      }
+    }
+
+    void close() {
+      closed = true;
+      endIdle();
+    }
+
+    private void endIdle() {
+      for (T instance = idle.poll(); instance != null; instance = idle.poll()) {
+        end.accept(instance);
+      }
+    }
+  }
+
+  static class DeflateContext implements HighwayCompressorContext {
+    static final int MAX_IDLE = 4;
+
+    private final Pool<Deflater> deflaters = new Pool<>(MAX_IDLE, () -> new Deflater(Deflater.BEST_SPEED),
+        Deflater::reset, Deflater::end);
+
+    private final Pool<Inflater> inflaters = new Pool<>(MAX_IDLE, Inflater::new, Inflater::reset, Inflater::end);
+
+    @Override
+    public byte[] compress(ByteBuf src, int index, int length) {
+      byte[] input;
+      int offset;
+      if (src.hasArray()) {
+        input = src.array();
+        offset = src.arrayOffset() + index;
+      } else {
+        input = ByteBufUtil.getBytes(src, index, length, false);
+        offset = 0;
+      }
+
+      // output never bigger than input, otherwise not worth to compress
+      byte[] output = new byte[length];
+      int outputLength = 4;
+      Deflater deflater = deflaters.take();
+      try {
+        deflater.setInput(input, offset, length);
+        deflater.finish();
+        while (!deflater.finished() && outputLength < output.length) {
+          outputLength += deflater.deflate(output, outputLength, output.length - outputLength);
+        }
+        if (!deflater.finished()) {
+          return null;
+        }
+      } finally {
+        deflaters.giveBack(deflater);
+      }
+
+      output[0] = (byte) (length >>> 24);
+      output[1] = (byte) (length >>> 16);
+      output[2] = (byte) (length >>> 8);
+      output[3] = (byte) length;
+      byte[] result = new byte[outputLength];
+      System.arraycopy(output, 0, result, 0, outputLength);
+      return result;
+    }
+
+    @Override
+    public Buffer decompress(Buffer src) {
+      int rawLength = src.getInt(0);
+      if (rawLength < 0 || rawLength > TcpParser.TCP_MAX_REQUEST_LENGTH) {
+        throw new IllegalStateException(
+            String.format("failed to decompress highway body, invalid length %d.", rawLength));
+      }
+      byte[] input = src.getBytes(4, src.length());
+      byte[] output = new byte[rawLength];
+      int outputLength = 0;
+      Inflater inflater = inflaters.take();
+      try {
+        inflater.setInput(input);
+        while (outputLength < rawLength) {
+          int count = inflater.inflate(output, outputLength, rawLength - outputLength);
+          if (count == 0 && (inflater.finished() || inflater.needsInput())) {
+            break;
+          }
+          outputLength += count;
+        }
+        if (outputLength == rawLength && !inflater.finished() && inflater.inflate(new byte[1]) > 0) {
+          // more than declared
+          outputLength++;
+        }
+      } catch (DataFormatException e) {
+        throw new IllegalStateException("failed to decompress highway body.", e);
+      } finally {
+        inflaters.giveBack(inflater);
+      }
+
+      if (outputLength != rawLength) {
+        throw new IllegalStateException(
+            String.format("failed to decompress highway body, expect length %d, but got %d.", rawLength,
+                outputLength));
+      }
+      return Buffer.buffer(output);
+    }
+
+    @Override
+    public void close() {
+      deflaters.close();
+      inflaters.close();
+    }
+  }
+}
@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.transport.highway.compress;
+
+import io.netty.buffer.ByteBuf;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * per connection compressor context<br>
+ * client encode requests in the invoker threads and server decode requests in the executors, so implementations
+ * must be thread safe, and must not free resources still used by other threads when closed
+ */
+public interface HighwayCompressorContext {
+  /**
+   * @return null if the data can not be compressed to a smaller size
+   */
+  byte[] compress(ByteBuf src, int index, int length);
+
+  Buffer decompress(Buffer src);
+
+  /**
+   * invoked when the connection closed, compress or decompress after close will throw exception
+   */
+  void close();
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.transport.highway.compress;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.servicecomb.foundation.common.utils.SPIServiceUtils;
+
+public final class HighwayCompressors {
+  private static final Map<String, HighwayCompressor> COMPRESSORS = SPIServiceUtils
+      .getPriorityHighestServices(HighwayCompressor::getName, HighwayCompressor.class)
+      .stream()
+      .collect(Collectors.toMap(HighwayCompressor::getName, Function.identity()));
+
+  private HighwayCompressors() {
+  }
+
+  public static HighwayCompressor findCompressor(String name) {
+    return name == null ? null : COMPRESSORS.get(name);
+  }
+
+  /**
+   * @param requested names requested by client, separated by comma, ordered by preference
+   * @param allowed names allowed by server, separated by comma
+   * @return the first requested name that is allowed and supported, null if not found
+   */
+  public static String negotiate(String requested, String allowed) {
+    if (StringUtils.isEmpty(requested) || StringUtils.isEmpty(allowed)) {
+      return null;
+    }
+
+    String[] allowedNames = StringUtils.split(allowed, ", ");
+    for (String name : StringUtils.split(requested, ", ")) {
+      if (StringUtils.equalsAny(name, allowedNames) && COMPRESSORS.containsKey(name)) {
+        return name;
+      }
+    }
+    return null;
+  }
+
+  public static HighwayCompressorContext createContext(String name) {
+    HighwayCompressor compressor = findCompressor(name);
+    return compressor == null ? null : compressor.createContext();
+  }
+}
@@ -37,7 +37,7 @@ public class LoginRequest {
   }
 
   public static LoginRequest readObject(Buffer bodyBuffer) throws Exception {
-    return rootDeserializer.deserialize(bodyBuffer.getBytes());
+    return rootDeserializer.deserialize(bodyBuffer.getByteBuf());
   }
 
   private String protocol;
@@ -16,6 +16,8 @@
  */
 package org.apache.servicecomb.transport.highway.message;
 
+import java.util.Map;
+
 import org.apache.servicecomb.foundation.protobuf.ProtoMapperFactory;
 import org.apache.servicecomb.foundation.protobuf.RootDeserializer;
 import org.apache.servicecomb.foundation.protobuf.RootSerializer;
@@ -37,7 +39,7 @@ public class LoginResponse {
   }
 
   public static LoginResponse readObject(Buffer bodyBuffer) throws Exception {
-    return rootDeserializer.deserialize(bodyBuffer.getBytes());
+    return rootDeserializer.deserialize(bodyBuffer.getByteBuf());
   }
 
   private String protocol;
@@ -45,6 +47,12 @@ public class LoginResponse {
   // 压缩算法名字
   private String zipName;
 
+  // schemaQualifiedName -> operationId
+  // only exists when client and server both support MsgFlags.OPERATION_ID
+  private Map<String, Integer> operationIds;
+
+  private int operationIdsVersion;
+
   public String getProtocol() {
     return protocol;
   }
@@ -60,4 +68,20 @@ public class LoginResponse {
   public void setZipName(String zipName) {
     this.zipName = zipName;
   }
+
+  public Map<String, Integer> getOperationIds() {
+    return operationIds;
+  }
+
+  public void setOperationIds(Map<String, Integer> operationIds) {
+    this.operationIds = operationIds;
+  }
+
+  public int getOperationIdsVersion() {
+    return operationIdsVersion;
+  }
+
+  public void setOperationIdsVersion(int operationIdsVersion) {
+    this.operationIdsVersion = operationIdsVersion;
+  }
 }
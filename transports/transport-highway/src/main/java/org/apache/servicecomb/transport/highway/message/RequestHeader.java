@@ -40,7 +40,7 @@ public class RequestHeader {
   }
 
   public static RequestHeader readObject(Buffer bodyBuffer) throws Exception {
-    return rootDeserializer.deserialize(bodyBuffer.getBytes());
+    return rootDeserializer.deserialize(bodyBuffer.getByteBuf());
   }
 
   private int msgType;
@@ -57,6 +57,11 @@ public class RequestHeader {
 
   private Map<String, String> context;
 
+  // only valid when flags contains MsgFlags.OPERATION_ID
+  private int operationId;
+
+  private int operationIdsVersion;
+
   public int getMsgType() {
     return msgType;
   }
@@ -104,4 +109,20 @@ public class RequestHeader {
   public void setContext(Map<String, String> context) {
     this.context = context;
   }
+
+  public int getOperationId() {
+    return operationId;
+  }
+
+  public void setOperationId(int operationId) {
+    this.operationId = operationId;
+  }
+
+  public int getOperationIdsVersion() {
+    return operationIdsVersion;
+  }
+
+  public void setOperationIdsVersion(int operationIdsVersion) {
+    this.operationIdsVersion = operationIdsVersion;
+  }
 }
@@ -43,7 +43,7 @@ public class ResponseHeader {
   }
 
   public static ResponseHeader readObject(Buffer bodyBuffer) throws Exception {
-    return rootDeserializer.deserialize(bodyBuffer.getBytes());
+    return rootDeserializer.deserialize(bodyBuffer.getByteBuf());
   }
 
   // 运行时必须的数据，比如body是否压缩
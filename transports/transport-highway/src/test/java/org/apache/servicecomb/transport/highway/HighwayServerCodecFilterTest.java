@@ -36,6 +36,7 @@ import org.apache.servicecomb.core.invocation.InvocationFactory;
 import org.apache.servicecomb.foundation.test.scaffolding.config.ArchaiusUtils;
 import org.apache.servicecomb.foundation.test.scaffolding.exception.RuntimeExceptionWithoutStackTrace;
 import org.apache.servicecomb.swagger.invocation.Response;
+import org.apache.servicecomb.transport.highway.compress.HighwayCompressorContext;
 import org.apache.servicecomb.transport.highway.message.RequestHeader;
 import org.apache.servicecomb.transport.highway.message.ResponseHeader;
 import org.junit.AfterClass;
@@ -43,6 +44,7 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import io.netty.buffer.ByteBuf;
 import io.vertx.core.MultiMap;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.Json;
@@ -92,6 +94,13 @@ public class HighwayServerCodecFilterTest {
   @Before
   public void setUp() {
     invocation = InvocationFactory.forProvider(endpoint, operationMeta, null);
+    new Expectations() {
+      {
+        transportContext.getConnection();
+        result = null;
+        minTimes = 0;
+      }
+    };
   }
 
   private void mockDecodeRequestFail() throws Exception {
@@ -103,7 +112,8 @@ public class HighwayServerCodecFilterTest {
     };
     new Expectations(HighwayCodec.class) {
       {
-        HighwayCodec.decodeRequest(invocation, (RequestHeader) any, (OperationProtobuf) any, (Buffer) any);
+        HighwayCodec.decodeRequest(invocation, (RequestHeader) any, (OperationProtobuf) any, (Buffer) any,
+            (HighwayCompressorContext) any);
         result = new RuntimeExceptionWithoutStackTrace("encode request failed");
       }
     };
@@ -166,8 +176,8 @@ public class HighwayServerCodecFilterTest {
 
     new Verifications() {
       {
-        Buffer captureBuffer;
-        transportContext.setResponseBuffer(captureBuffer = withCapture());
+        ByteBuf captureBuffer;
+        transportContext.setResponseByteBuf(captureBuffer = withCapture());
         assertThat(captureBuffer).isNotNull();
       }
     };
@@ -18,6 +18,7 @@
 package org.apache.servicecomb.transport.highway;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -30,6 +31,8 @@ import org.apache.servicecomb.core.Invocation;
 import org.apache.servicecomb.core.definition.MicroserviceMeta;
 import org.apache.servicecomb.core.definition.OperationMeta;
 import org.apache.servicecomb.core.definition.SchemaMeta;
+import org.apache.servicecomb.foundation.common.Holder;
+import org.apache.servicecomb.foundation.test.scaffolding.config.ArchaiusUtils;
 import org.apache.servicecomb.foundation.vertx.server.TcpParser;
 import org.apache.servicecomb.foundation.vertx.tcp.TcpOutputStream;
 import org.apache.servicecomb.transport.highway.message.RequestHeader;
@@ -41,6 +44,7 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.vertx.core.buffer.Buffer;
 import mockit.Mocked;
 
@@ -137,6 +141,19 @@ public class TestHighwayCodec {
     Assert.assertEquals("test1", invocation.getContext("X-B3-traceId"));
   }
 
+  @Test
+  public void decodeRequest_compressorNotNegotiated() throws Exception {
+    RequestHeader header = new RequestHeader();
+    header.setFlags(MsgFlags.COMPRESSED);
+
+    try {
+      HighwayCodec.decodeRequest(invocation, header, operationProtobuf, bodyBuffer, null);
+      Assert.fail("must throw exception");
+    } catch (IllegalStateException e) {
+      Assert.assertEquals("compressor is not negotiated.", e.getMessage());
+    }
+  }
+
   @Test
   public void testEncodeResponse() {
     boolean status = true;
@@ -171,6 +188,93 @@ public class TestHighwayCodec {
     Assert.assertTrue(status);
   }
 
+  @Test
+  public void testEncodeRequestToPooledBuffer() throws Exception {
+    ArchaiusUtils.setProperty("servicecomb.highway.pooledBuffer", true);
+    try {
+      commonMock();
+      Mockito.when(invocation.getSchemaId()).thenReturn("schema");
+      Mockito.when(invocation.getOperationName()).thenReturn("operation");
+
+      ByteBuf byteBuf = HighwayCodec.encodeRequest(1, invocation, operationProtobuf).detachByteBuf();
+      Assert.assertTrue(byteBuf.isDirect());
+
+      Holder<RequestHeader> holder = new Holder<>();
+      TcpParser parser = new TcpParser((msgId, headerBuffer, bodyBuffer) -> {
+        Assert.assertEquals(1, msgId);
+        Assert.assertEquals(0, bodyBuffer.length());
+        try {
+          holder.value = RequestHeader.readObject(headerBuffer);
+        } catch (Exception e) {
+          throw new IllegalStateException(e);
+        }
+      });
+      parser.handle(Buffer.buffer().appendBytes(ByteBufUtil.getBytes(byteBuf)));
+      byteBuf.release();
+
+      Assert.assertEquals("schema", holder.value.getSchemaId());
+      Assert.assertEquals("operation", holder.value.getOperationName());
+    } finally {
+      ArchaiusUtils.resetConfig();
+    }
+  }
+
+  @Test
+  public void testEncodeRequestWithOperationId() throws Exception {
+    commonMock();
+    Mockito.when(invocation.getOperationMeta()).thenReturn(operationMeta);
+    Mockito.when(operationMeta.getSchemaQualifiedName()).thenReturn("schema.operation");
+    Map<String, Integer> ids = new HashMap<>();
+    ids.put("schema.operation", 3);
+
+    ByteBuf byteBuf = HighwayCodec.encodeRequest(1, invocation, operationProtobuf, new OperationIds(10, ids))
+        .detachByteBuf();
+    Holder<RequestHeader> holder = new Holder<>();
+    TcpParser parser = new TcpParser((msgId, headerBuffer, bodyBuffer) -> {
+      try {
+        holder.value = RequestHeader.readObject(headerBuffer);
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    parser.handle(Buffer.buffer().appendBytes(ByteBufUtil.getBytes(byteBuf)));
+
+    Assert.assertTrue(MsgFlags.isOperationId(holder.value.getFlags()));
+    Assert.assertEquals(3, holder.value.getOperationId());
+    Assert.assertEquals(10, holder.value.getOperationIdsVersion());
+    Assert.assertNull(holder.value.getSchemaId());
+    Assert.assertNull(holder.value.getOperationName());
+  }
+
+  @Test
+  public void testEnsureFindOperationByOperationId() {
+    OperationMeta op1 = Mockito.mock(OperationMeta.class);
+    OperationMeta op2 = Mockito.mock(OperationMeta.class);
+    Mockito.when(op1.getSchemaQualifiedName()).thenReturn("schema.b");
+    Mockito.when(op2.getSchemaQualifiedName()).thenReturn("schema.a");
+    Mockito.when(microserviceMeta.getOperations()).thenReturn(Arrays.asList(op1, op2));
+    Mockito.when(microserviceMeta.getMicroserviceName()).thenReturn("ms");
+
+    ProducerOperationIds operationIds = ProducerOperationIds.getOrCreate(microserviceMeta);
+    Assert.assertSame(operationIds, ProducerOperationIds.getOrCreate(microserviceMeta));
+    Assert.assertEquals(0, (int) operationIds.findId(op2));
+    Assert.assertEquals(1, (int) operationIds.findId(op1));
+
+    RequestHeader header = new RequestHeader();
+    header.setFlags(MsgFlags.OPERATION_ID);
+    header.setOperationId(1);
+    header.setOperationIdsVersion(operationIds.getVersion());
+    Assert.assertSame(op1, HighwayCodec.ensureFindOperation(microserviceMeta, header));
+
+    header.setOperationIdsVersion(operationIds.getVersion() + 1);
+    try {
+      HighwayCodec.ensureFindOperation(microserviceMeta, header);
+      Assert.fail("must throw exception");
+    } catch (IllegalStateException e) {
+      Assert.assertTrue(e.getMessage().startsWith("failed to find OperationMeta by operationId"));
+    }
+  }
+
   private void commonMock() {
     Mockito.when(operationProtobuf.getRequestRootSerializer()).thenReturn(requestSerializer);
     Mockito.when(operationProtobuf.getRequestRootDeserializer()).thenReturn(requestRootDeserializer);
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.transport.highway.compress;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+
+public class TestHighwayCompressors {
+  @Test
+  public void negotiate() {
+    Assert.assertNull(HighwayCompressors.negotiate(null, "deflate"));
+    Assert.assertNull(HighwayCompressors.negotiate("deflate", ""));
+    Assert.assertNull(HighwayCompressors.negotiate("unknown", "unknown,deflate"));
+    Assert.assertEquals("deflate", HighwayCompressors.negotiate("unknown, deflate", "unknown,deflate"));
+  }
+
+  @Test
+  public void deflate_roundTrip() {
+    HighwayCompressorContext context = HighwayCompressors.createContext(DeflateCompressor.NAME);
+    byte[] raw = StringUtils.repeat("highway compress ", 100).getBytes(StandardCharsets.UTF_8);
+
+    ByteBuf heap = Unpooled.buffer().writeByte(0).writeBytes(raw);
+    byte[] compressed = context.compress(heap, 1, raw.length);
+    Assert.assertTrue(compressed.length < raw.length);
+    Assert.assertArrayEquals(raw, context.decompress(Buffer.buffer(compressed)).getBytes());
+
+    ByteBuf direct = Unpooled.directBuffer().writeBytes(raw);
+    compressed = context.compress(direct, 0, raw.length);
+    Assert.assertArrayEquals(raw, context.decompress(Buffer.buffer(compressed)).getBytes());
+    direct.release();
+
+    context.close();
+  }
+
+  @Test
+  public void deflate_notCompressible() {
+    HighwayCompressorContext context = HighwayCompressors.createContext(DeflateCompressor.NAME);
+    byte[] raw = {1, 2, 3};
+
+    Assert.assertNull(context.compress(Unpooled.wrappedBuffer(raw), 0, raw.length));
+    context.close();
+  }
+
+  private void checkDecompressFailed(HighwayCompressorContext context, byte[] compressed, int rawLength) {
+    Buffer buffer = Buffer.buffer(compressed);
+    buffer.setInt(0, rawLength);
+    try {
+      context.decompress(buffer);
+      Assert.fail("must throw exception");
+    } catch (IllegalStateException e) {
+      Assert.assertTrue(e.getMessage().startsWith("failed to decompress highway body"));
+    }
+  }
+
+  @Test
+  public void deflate_invalidRawLength() {
+    HighwayCompressorContext context = HighwayCompressors.createContext(DeflateCompressor.NAME);
+    byte[] raw = StringUtils.repeat("highway compress ", 100).getBytes(StandardCharsets.UTF_8);
+    byte[] compressed = context.compress(Unpooled.wrappedBuffer(raw), 0, raw.length);
+
+    checkDecompressFailed(context, compressed, -1);
+    checkDecompressFailed(context, compressed, Integer.MAX_VALUE);
+    checkDecompressFailed(context, compressed, raw.length - 1);
+    checkDecompressFailed(context, compressed, raw.length + 1);
+    Assert.assertArrayEquals(raw, context.decompress(Buffer.buffer(compressed)).getBytes());
+    context.close();
+  }
+
+  @Test
+  public void deflate_concurrent() throws Exception {
+    HighwayCompressorContext context = HighwayCompressors.createContext(DeflateCompressor.NAME);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<Future<Boolean>> futures = new ArrayList<>();
+    for (int idx = 0; idx < 100; idx++) {
+      byte[] raw = StringUtils.repeat("highway compress " + idx, 100).getBytes(StandardCharsets.UTF_8);
+      futures.add(executor.submit(() -> {
+        byte[] compressed = context.compress(Unpooled.wrappedBuffer(raw), 0, raw.length);
+        return Arrays.equals(raw, context.decompress(Buffer.buffer(compressed)).getBytes());
+      }));
+    }
+    for (Future<Boolean> future : futures) {
+      Assert.assertTrue(future.get());
+    }
+    executor.shutdown();
+    context.close();
+  }
+
+  @Test
+  public void pool_closeWhileInUse() {
+    List<String> ended = new ArrayList<>();
+    AtomicInteger created = new AtomicInteger();
+    DeflateCompressor.Pool<String> pool = new DeflateCompressor.Pool<>(1, () -> "i" + created.incrementAndGet(),
+        instance -> {
+        }, ended::add);
+
+    String idle = pool.take();
+    String inUse = pool.take();
+    pool.giveBack(idle);
+    Assert.assertSame(idle, pool.take());
+    pool.giveBack(idle);
+
+    pool.close();
+    Assert.assertEquals(Arrays.asList("i1"), ended);
+
+    // in use instance is ended after given back
+    pool.giveBack(inUse);
+    Assert.assertEquals(Arrays.asList("i1", "i2"), ended);
+
+    try {
+      pool.take();
+      Assert.fail("must throw exception");
+    } catch (IllegalStateException e) {
+      Assert.assertEquals("highway compressor context is closed.", e.getMessage());
+    }
+  }
+}
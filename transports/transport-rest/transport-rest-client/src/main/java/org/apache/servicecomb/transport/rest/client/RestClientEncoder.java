@@ -44,6 +44,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 
@@ -96,6 +97,7 @@ public class RestClientEncoder {
       swaggerArgumentsToRequest();
 
       writeCookies(requestParameters.getCookieMap());
+      writeAccept();
       writeScbHeaders();
       writeForm(requestParameters.getFormMap());
     }
@@ -121,6 +123,21 @@ public class RestClientEncoder {
       httpClientRequest.putHeader(HttpHeaders.COOKIE, builder.toString());
     }
 
+    // response content type is decided by producer, and RestClientDecoder decode by it
+    protected void writeAccept() {
+      String accept = invocation.getOperationMeta().getConfig().getRestAccept();
+      if (StringUtils.isEmpty(accept) || httpClientRequest.headers().contains(HttpHeaders.ACCEPT)) {
+        return;
+      }
+
+      // producer not declared, maybe not supported
+      if (transportContext.getRestOperationMeta().findProduceProcessor(accept) == null) {
+        return;
+      }
+
+      httpClientRequest.putHeader(HttpHeaders.ACCEPT, accept);
+    }
+
     protected void writeScbHeaders() throws JsonProcessingException {
       OperationConfig operationConfig = invocation.getOperationMeta().getConfig();
       if (invocation.isThirdPartyInvocation() && operationConfig.isClientRequestHeaderFilterEnabled()) {
@@ -101,7 +101,8 @@ public class DefaultHttpClientFilter implements HttpClientFilter {
     }
 
     try {
-      result = produceProcessor.decodeResponse(responseEx.getBodyBuffer(), responseType);
+      result = produceProcessor
+          .decodeResponse(invocation, responseEx.getStatus(), responseEx.getBodyBuffer(), responseType);
       Response response = Response.create(responseEx.getStatusType(), result);
       if (response.isFailed()) {
         LOGGER.warn("invoke operation [{}] failed, status={}", invocation.getMicroserviceQualifiedName(),